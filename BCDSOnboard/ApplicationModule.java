@@ -1,7 +1,10 @@
 package com.amazon.meridianservice.dagger.modules;
 
 import com.amazon.meridianservice.adapters.BusinessCreditDataServiceAdapter;
+import com.amazon.meridianservice.helper.BinaryMerchantSegmentCodec;
+import com.amazon.meridianservice.helper.MerchantSegmentCodec;
 import com.amazonaws.services.businesscreditdataservicelambda.BusinessCreditDataServiceLambda;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dagger.Module;
 import dagger.Provides;
 
@@ -21,4 +24,10 @@ public class ApplicationModule {
         return new BusinessCreditDataServiceAdapter(businessCreditDataServiceLambda, bcdsResponseS3Bucket);
     }
 
+    @Singleton
+    @Provides
+    public MerchantSegmentCodec providesMerchantSegmentCodec(final ObjectMapper objectMapper) {
+        return new BinaryMerchantSegmentCodec(objectMapper, true);
+    }
+
 }
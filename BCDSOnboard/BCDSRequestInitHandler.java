@@ -16,9 +16,10 @@ import lombok.extern.log4j.Log4j2;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import java.io.CharArrayWriter;
 import java.io.IOException;
-import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -26,11 +27,17 @@ import java.util.Map;
 
 import static com.amazon.meridianservice.constants.ModuleConstants.BCDS_REQUEST_S3_BUCKET;
 
+/**
+ * Publishes the merchants to onboard as a BCDS batch input CSV file and requests their batch credit data.
+ * The CSV rows are streamed to a temporary file which the S3 client uploads from disk, so the size of the file
+ * never bounds the memory of the lambda.
+ */
 @Log4j2
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP2"})
 public final class BCDSRequestInitHandler extends LambdaHandler<BCDSOnboardInitRequest,
         BCDSOnboardInitResponse> {
     private static final String[] REPORT_HEADINGS = {"merchant_id", "marketplace_id", "credit_bureau"};
+    private static final String BATCH_INPUT_CONTENT_TYPE = "text/csv";
 
     private final ObjectMapper objectMapper;
     private final S3Adapter s3Adapter;
@@ -70,30 +77,39 @@ public final class BCDSRequestInitHandler extends LambdaHandler<BCDSOnboardInitR
     private String publishS3MerchantIdInputData(final Map<String, List<String>> marketplaceIdMerchantIdsMap)
             throws IOException {
 
-        final Writer batchInput = new CharArrayWriter();
-        final CSVWriter csvWriter = new CSVWriter(batchInput, CSVWriter.DEFAULT_SEPARATOR, CSVWriter.NO_QUOTE_CHARACTER,
-                CSVWriter.NO_ESCAPE_CHARACTER);
-
+        final Path batchInputFile = Files.createTempFile("bcds-batch-input", ".csv");
         try {
-            csvWriter.writeNext(REPORT_HEADINGS);
-            marketplaceIdMerchantIdsMap.forEach((marketplaceId, merchantIds) ->
-                    writeBatchFileForMerchantIdMarketPlaceId(csvWriter, marketplaceId, merchantIds));
-        } catch (Exception e) {
-            throw new MeridianServiceNonRetryableException(
-                    "Error while creating the csv file for BCDS batch credit request", e);
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(batchInputFile, StandardCharsets.UTF_8),
+                    CSVWriter.DEFAULT_SEPARATOR, CSVWriter.NO_QUOTE_CHARACTER, CSVWriter.NO_ESCAPE_CHARACTER)) {
+                csvWriter.writeNext(REPORT_HEADINGS);
+                marketplaceIdMerchantIdsMap.forEach((marketplaceId, merchantIds) ->
+                        writeBatchFileForMerchantIdMarketPlaceId(csvWriter, marketplaceId, merchantIds));
+                csvWriter.flush();
+                if (csvWriter.checkError()) {
+                    throw new IOException("Error while writing the csv rows of the BCDS batch credit request");
+                }
+            }
+
+            final ZonedDateTime currentDateTime = ZonedDateTime.now();
+            final String s3Key = String.format("%s.csv", currentDateTime.format(
+                    DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss-SSS")));
+            // S3 failures are thrown by the adapter as retryable or non-retryable exceptions
+            s3Adapter.putFile(bcdsS3Bucket, s3Key, batchInputFile.toFile(), BATCH_INPUT_CONTENT_TYPE);
+
+            log.info("Successfully published the MerchantIds and MarketplaceIds in S3");
+
+            return s3Key;
         } finally {
-            batchInput.close();
-            csvWriter.close();
+            deleteBatchInputFile(batchInputFile);
         }
+    }
 
-        final ZonedDateTime currentDateTime = ZonedDateTime.now();
-        final String s3Key = String.format("%s.csv", currentDateTime.format(
-                DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss-SSS")));
-        s3Adapter.putObject(bcdsS3Bucket, s3Key, batchInput.toString(), "text/csv");
-
-        log.info("Successfully published the MerchantIds and MarketplaceIds in S3");
-
-        return s3Key;
+    private void deleteBatchInputFile(final Path batchInputFile) {
+        try {
+            Files.deleteIfExists(batchInputFile);
+        } catch (IOException e) {
+            log.warn("Unable to delete the temporary BCDS batch input file {}", batchInputFile, e);
+        }
     }
 
     private void writeBatchFileForMerchantIdMarketPlaceId(CSVWriter csvWriter,
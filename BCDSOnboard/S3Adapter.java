@@ -10,6 +10,8 @@ import com.amazonaws.services.s3.AmazonS3URI;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.util.IOUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
@@ -18,6 +20,8 @@ import lombok.extern.log4j.Log4j2;
 
 import javax.inject.Inject;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 @Log4j2
@@ -34,14 +38,7 @@ public class S3Adapter {
      * @param object the object to be written to s3
      */
     public void putObject(@NonNull final String s3Uri, @NonNull final Object object) {
-        final AmazonS3URI amazonS3URI;
-        try {
-            amazonS3URI = new AmazonS3URI(s3Uri);
-        } catch (RuntimeException e) {
-            final String errorMessage = String.format("Invalid S3 file location: %s", s3Uri);
-            log.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage, e);
-        }
+        final AmazonS3URI amazonS3URI = getAmazonS3URI(s3Uri);
 
         String stringToWrite;
         try {
@@ -96,4 +93,87 @@ public class S3Adapter {
         }
     }
 
+    /**
+     * Write bytes to s3 uri.
+     *
+     * @param s3Uri       target s3 uri where the bytes are stored
+     * @param content     the bytes to be written to s3
+     * @param contentType type of the content, may be null
+     */
+    public void putBytes(@NonNull final String s3Uri, @NonNull final byte[] content, final String contentType) {
+        final AmazonS3URI amazonS3URI = getAmazonS3URI(s3Uri);
+
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(content.length);
+
+        try {
+            amazonS3.putObject(new PutObjectRequest(amazonS3URI.getBucket(), amazonS3URI.getKey(),
+                    new ByteArrayInputStream(content), metadata));
+        } catch (AmazonS3Exception e) {
+            String message = "Failed to put the S3 object at " + s3Uri;
+            throw ExceptionHandler.handleAwsSdkServiceException(message, e);
+        } catch (AmazonClientException e) {
+            String message = "Failed to put the S3 object at " + s3Uri;
+            throw new MeridianServiceNonRetryableException(message, e);
+        }
+    }
+
+    /**
+     * Read the bytes stored at s3 uri.
+     *
+     * @param s3Uri s3 uri of the object
+     * @return the object content
+     */
+    public byte[] getBytes(@NonNull final String s3Uri) {
+        final AmazonS3URI amazonS3URI = getAmazonS3URI(s3Uri);
+
+        try (S3Object s3Object = amazonS3.getObject(amazonS3URI.getBucket(), amazonS3URI.getKey())) {
+            return IOUtils.toByteArray(s3Object.getObjectContent());
+        } catch (AmazonS3Exception e) {
+            String message = "Failed to get the S3 object at " + s3Uri;
+            throw ExceptionHandler.handleAwsSdkServiceException(message, e);
+        } catch (AmazonClientException | IOException e) {
+            String message = "Failed to get the S3 object at " + s3Uri;
+            throw new MeridianServiceNonRetryableException(message, e);
+        }
+    }
+
+    private static AmazonS3URI getAmazonS3URI(final String s3Uri) {
+        try {
+            return new AmazonS3URI(s3Uri);
+        } catch (RuntimeException e) {
+            final String errorMessage = String.format("Invalid S3 file location: %s", s3Uri);
+            log.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Write the content of a file to S3 bucket. The content is streamed from the file by the S3 client, it is
+     * never held in memory.
+     *
+     * @param s3BucketName target S3 bucket name
+     * @param s3Key        file name as S3 key
+     * @param file         file holding the content to be stored in S3
+     * @param contentType  type of the file like JSON, CSV etc
+     */
+    public void putFile(@NonNull final String s3BucketName, @NonNull final String s3Key, @NonNull final File file,
+                        final String contentType) {
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+
+        try {
+            log.info("Calling S3 client to put file of length " + file.length() + " at s3 key : " + s3Key
+                    + "from bucket : " + s3BucketName);
+
+            amazonS3.putObject(new PutObjectRequest(s3BucketName, s3Key, file).withMetadata(metadata));
+        } catch (AmazonS3Exception e) {
+            String message = "Failed to put the S3 object which contains the file content.";
+            throw ExceptionHandler.handleAwsSdkServiceException(message, e);
+        } catch (AmazonClientException e) {
+            String message = "Failed to put the S3 object which contains the file content.";
+            throw new MeridianServiceNonRetryableException(message, e);
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.amazon.meridianservice.helper;
+
+import com.amazon.meridianservice.exceptions.MeridianServiceNonRetryableException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary encoding of the pending merchants segments, optionally gzip compressed.
+ *
+ * Layout : the magic bytes, a flags byte, then the marketplace count followed by every marketplace as its id and
+ * its merchant count and ids. Every marketplaceId is written once for all of its merchants, and counts and string
+ * lengths are unsigned varints. Content without the magic bytes is decoded as the JSON written previously.
+ * A compressed payload is inflated before it is decoded, so every count and string length is checked against the
+ * bytes left in the payload and a corrupted segment fails to decode instead of allocating an arbitrary size.
+ */
+public class BinaryMerchantSegmentCodec implements MerchantSegmentCodec {
+
+    private static final byte[] MAGIC = {'M', 'S', 'C', '1'};
+
+    private static final int GZIP_FLAG = 1;
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean compressionEnabled;
+
+    public BinaryMerchantSegmentCodec(@NonNull final ObjectMapper objectMapper, final boolean compressionEnabled) {
+        this.objectMapper = objectMapper;
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(@NonNull final Map<String, List<String>> marketplaceIdMerchantIdsMap) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(MAGIC, 0, MAGIC.length);
+        content.write(compressionEnabled ? GZIP_FLAG : 0);
+
+        try (OutputStream payload = compressionEnabled ? new GZIPOutputStream(content) : content) {
+            writeVarint(payload, marketplaceIdMerchantIdsMap.size());
+            for (Map.Entry<String, List<String>> entry : marketplaceIdMerchantIdsMap.entrySet()) {
+                writeString(payload, entry.getKey());
+                writeVarint(payload, entry.getValue().size());
+                for (String merchantId : entry.getValue()) {
+                    writeString(payload, merchantId);
+                }
+            }
+        } catch (IOException e) {
+            throw new MeridianServiceNonRetryableException("Unable to encode the merchants segment", e);
+        }
+        return content.toByteArray();
+    }
+
+    @Override
+    public Map<String, List<String>> decode(@NonNull final byte[] content) {
+        try {
+            if (!hasMagic(content)) {
+                return objectMapper.readValue(content, new TypeReference<Map<String, List<String>>>() { });
+            }
+
+            ByteArrayInputStream payload = new ByteArrayInputStream(content, MAGIC.length + 1,
+                    content.length - MAGIC.length - 1);
+            if ((content[MAGIC.length] & GZIP_FLAG) != 0) {
+                payload = new ByteArrayInputStream(inflate(payload));
+            }
+            try (DataInputStream input = new DataInputStream(payload)) {
+                int marketplaceCount = readLength(payload);
+                Map<String, List<String>> marketplaceIdMerchantIdsMap = new HashMap<>(marketplaceCount * 2);
+                for (int marketplace = 0; marketplace < marketplaceCount; marketplace++) {
+                    String marketplaceId = readString(input, payload);
+                    int merchantCount = readLength(payload);
+                    List<String> merchantIds = new ArrayList<>(merchantCount);
+                    for (int merchant = 0; merchant < merchantCount; merchant++) {
+                        merchantIds.add(readString(input, payload));
+                    }
+                    marketplaceIdMerchantIdsMap.put(marketplaceId, merchantIds);
+                }
+                return marketplaceIdMerchantIdsMap;
+            }
+        } catch (IOException e) {
+            throw new MeridianServiceNonRetryableException("Unable to decode the merchants segment", e);
+        }
+    }
+
+    private static boolean hasMagic(final byte[] content) {
+        if (content.length <= MAGIC.length) {
+            return false;
+        }
+        for (int index = 0; index < MAGIC.length; index++) {
+            if (content[index] != MAGIC[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(final OutputStream output, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input, final ByteArrayInputStream payload)
+            throws IOException {
+        byte[] bytes = new byte[readLength(payload)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count or a string length, which can never exceed the bytes left in the payload as every counted
+     * entry and every string byte takes at least one byte.
+     */
+    private static int readLength(final ByteArrayInputStream payload) throws IOException {
+        int length = readVarint(payload);
+        if (length < 0 || length > payload.available()) {
+            throw new IOException(String.format("Malformed length %d in merchants segment with %d bytes left",
+                    length, payload.available()));
+        }
+        return length;
+    }
+
+    private static byte[] inflate(final InputStream compressedPayload) throws IOException {
+        try (InputStream input = new GZIPInputStream(compressedPayload)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static void writeVarint(final OutputStream output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.write(remaining);
+    }
+
+    private static int readVarint(final InputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int read = input.read();
+            if (read == -1) {
+                throw new EOFException("Truncated merchants segment");
+            }
+            value |= (read & 0x7F) << shift;
+            if ((read & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in merchants segment");
+    }
+}
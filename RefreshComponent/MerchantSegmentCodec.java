@@ -0,0 +1,30 @@
+package com.amazon.meridianservice.helper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoding of the pending merchants segments of a merchant data refresh.
+ */
+public interface MerchantSegmentCodec {
+
+    /**
+     * Content type of the encoded segments.
+     * @return the content type
+     */
+    String getContentType();
+
+    /**
+     * Encodes a segment.
+     * @param marketplaceIdMerchantIdsMap merchants of the segment
+     * @return the encoded segment
+     */
+    byte[] encode(Map<String, List<String>> marketplaceIdMerchantIdsMap);
+
+    /**
+     * Decodes a segment written by this codec or by a previous one.
+     * @param content the encoded segment
+     * @return merchants of the segment
+     */
+    Map<String, List<String>> decode(byte[] content);
+}
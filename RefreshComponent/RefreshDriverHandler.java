@@ -2,8 +2,10 @@ package com.amazon.meridianservice.handler;
 
 import com.amazon.meridianservice.adapters.S3Adapter;
 import com.amazon.meridianservice.exceptions.MeridianServiceEntityNotFoundException;
+import com.amazon.meridianservice.helper.MerchantSegmentCodec;
 import com.amazon.meridianservice.helper.RefreshDriverHelper;
 import com.amazon.meridianservice.model.common.RefreshBatch;
+import com.amazon.meridianservice.model.common.RefreshState;
 import com.amazon.meridianservice.model.common.WorkflowType;
 import com.amazon.meridianservice.model.lambda.RefreshDriver.RefreshDriverRequest;
 import com.amazon.meridianservice.model.lambda.RefreshDriver.RefreshDriverResponse;
@@ -25,12 +27,14 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.amazon.meridianservice.Constants.ONBOARDED_MERCHANT_INFO_FILE_NAME;
 import static com.amazon.meridianservice.constants.ModuleConstants.ONBOARDED_MERCHANT_INFO_S3_BUCKET;
@@ -50,6 +54,9 @@ public class RefreshDriverHandler extends AbstractLambdaHandler<RefreshDriverReq
     private static final String TEMP_FOLDER_FOR_PROCESSING = "temp";
 
     private static final String FOLDER_FOR_FAILURE_FILE = "failed";
+
+    private static final String REFRESH_STATE_FILE_NAME = "state";
+
     private final S3Adapter s3Adapter;
 
     private final String refreshDriverProcessingBucket;
@@ -58,17 +65,21 @@ public class RefreshDriverHandler extends AbstractLambdaHandler<RefreshDriverReq
 
     private final Map<String, String> refreshWorkflowSettings;
 
+    private final MerchantSegmentCodec merchantSegmentCodec;
+
     @Inject
     public RefreshDriverHandler(@NonNull final ObjectMapper objectMapper, @NonNull final S3Adapter s3Adapter,
                                 @Named(REFRESH_WORKFLOW_SETTINGS) final Map<String, String> refreshWorkflowSettings,
                                 @Named(REFRESH_DRIVER_PROCESSING_S3_BUCKET) final String refreshDriverProcessingBucket,
-                                @Named(ONBOARDED_MERCHANT_INFO_S3_BUCKET) final String onboardedMerchantInfoBucket) {
+                                @Named(ONBOARDED_MERCHANT_INFO_S3_BUCKET) final String onboardedMerchantInfoBucket,
+                                @NonNull final MerchantSegmentCodec merchantSegmentCodec) {
 
         super(objectMapper, RefreshDriverRequest.class, RefreshDriverResponse.class);
         this.s3Adapter = s3Adapter;
         this.refreshDriverProcessingBucket = refreshDriverProcessingBucket;
         this.onboardedMerchantInfoBucket = onboardedMerchantInfoBucket;
         this.refreshWorkflowSettings = refreshWorkflowSettings;
+        this.merchantSegmentCodec = merchantSegmentCodec;
     }
 
     @Override
@@ -88,29 +99,19 @@ public class RefreshDriverHandler extends AbstractLambdaHandler<RefreshDriverReq
         Map<WorkflowType, Map<String, List<String>>> merchantsToBeProcessed =
                 getMerchantsAndActionsToBeProcessed(input.getInputFile());
 
-        String pendingMerchantsInputFilePath = S3Util.getS3Uri(refreshDriverProcessingBucket,
+        String segmentFolder = S3Util.getS3Uri(refreshDriverProcessingBucket,
                 String.format("%s/%s", TEMP_FOLDER_FOR_PROCESSING, UUID.randomUUID()));
 
-        log.info("File used for processing pending merchants : {}", pendingMerchantsInputFilePath);
+        log.info("Folder used for processing pending merchants : {}", segmentFolder);
 
         String failureFilePath = S3Util.getS3Uri(refreshDriverProcessingBucket,
                 String.format("%s/%s", FOLDER_FOR_FAILURE_FILE, Instant.now().toString()));
 
         log.info("Failure file : {}", failureFilePath);
 
-        RefreshBatch merchantsActiveBatch =
-                RefreshDriverHelper.getMerchantBatch(merchantsToBeProcessed);
+        RefreshState refreshState = writeRefreshSegments(segmentFolder, merchantsToBeProcessed);
 
-        s3Adapter.putObject(pendingMerchantsInputFilePath, merchantsActiveBatch.getPendingMerchantsToBeProcessed());
-
-        return RefreshDriverResponse.builder()
-                .failureFile(failureFilePath)
-                .inputFile(pendingMerchantsInputFilePath)
-                .marketplaceIdMerchantIdsMap(merchantsActiveBatch.getMarketplaceIdMerchantIdsMap())
-                .status(getStatus(Collections.emptyMap(), null,
-                        merchantsActiveBatch.getMarketplaceIdMerchantIdsMap()))
-                .workflowType(merchantsActiveBatch.getWorkflowType())
-                .build();
+        return dispatchNextBatch(refreshState, failureFilePath, Collections.emptyMap(), null);
     }
 
     private RefreshDriverResponse continueRefresh(RefreshDriverRequest input) {
@@ -118,6 +119,28 @@ public class RefreshDriverHandler extends AbstractLambdaHandler<RefreshDriverReq
         Map<String, List<String>> failedMerchantsMap = input.getFailedMarketplaceIdMerchantIdsMap();
         updateFailureFile(failedMerchantsMap, input.getFailureFile());
 
+        if (!isRefreshStateFile(input.getInputFile())) {
+            return continueLegacyRefresh(input, failedMerchantsMap);
+        }
+
+        RefreshState refreshState = s3Adapter.getObject(input.getInputFile(), new TypeReference<RefreshState>() { });
+
+        int failedMerchantCount = MapUtils.isEmpty(failedMerchantsMap) ? 0
+                : failedMerchantsMap.values().stream().mapToInt(List::size).sum();
+        refreshState.setSegmentsPerBatch(RefreshDriverHelper.getAdaptiveSegmentsPerBatch(
+                refreshState.getSegmentsPerBatch(), refreshState.getLastBatchMerchantCount(), failedMerchantCount,
+                Instant.now().toEpochMilli() - refreshState.getLastBatchDispatchedAtMillis()));
+
+        return dispatchNextBatch(refreshState, input.getFailureFile(), failedMerchantsMap, input.getStatus());
+    }
+
+    /**
+     * Continues a refresh initiated before the pending merchants were segmented, whose input file holds every
+     * pending merchant.
+     */
+    private RefreshDriverResponse continueLegacyRefresh(RefreshDriverRequest input,
+                                                        Map<String, List<String>> failedMerchantsMap) {
+
         Map<WorkflowType, Map<String, List<String>>> merchantsToBeRefreshed = s3Adapter.getObject(
                 input.getInputFile(), new TypeReference<Map<WorkflowType, Map<String, List<String>>>>() { });
 
@@ -134,6 +157,92 @@ public class RefreshDriverHandler extends AbstractLambdaHandler<RefreshDriverReq
                 .build();
     }
 
+    /**
+     * Writes the pending merchants of every workflow as segments. Segments are never rewritten afterwards.
+     * @param segmentFolder s3 uri of the folder for the segments
+     * @param merchantsToBeProcessed Map with Key as Workflow type and value as MarketplaceIdMerchantIdsMap
+     * @return the state of the refresh, with no segment processed yet
+     */
+    private RefreshState writeRefreshSegments(String segmentFolder,
+                                              Map<WorkflowType, Map<String, List<String>>> merchantsToBeProcessed) {
+        List<RefreshState.WorkflowSegments> workflowSegments = new ArrayList<>();
+        merchantsToBeProcessed.forEach((workflowType, marketplaceIdMerchantIdsMap) -> {
+            AtomicInteger segmentIndex = new AtomicInteger();
+            int segmentCount = RefreshDriverHelper.splitIntoSegments(marketplaceIdMerchantIdsMap, segment ->
+                    s3Adapter.putBytes(getSegmentPath(segmentFolder, workflowType, segmentIndex.getAndIncrement()),
+                            merchantSegmentCodec.encode(segment), merchantSegmentCodec.getContentType()));
+            log.info("WorkflowType - {}. Pending merchants written in {} segments", workflowType, segmentCount);
+            workflowSegments.add(new RefreshState.WorkflowSegments(workflowType, segmentCount));
+        });
+
+        return RefreshState.builder()
+                .segmentFolder(segmentFolder)
+                .workflowSegments(workflowSegments)
+                .segmentsPerBatch(RefreshDriverHelper.INITIAL_SEGMENTS_PER_BATCH)
+                .build();
+    }
+
+    /**
+     * Reads the next batch from the segments, advances the state past it and saves the state.
+     * A batch is made of up to segmentsPerBatch segments of the workflow being processed.
+     */
+    private RefreshDriverResponse dispatchNextBatch(RefreshState refreshState, String failureFilePath,
+                                                    Map<String, List<String>> failedMerchantsMap,
+                                                    Status previousStatus) {
+        List<RefreshState.WorkflowSegments> workflowSegments = refreshState.getWorkflowSegments();
+        while (refreshState.getWorkflowIndex() < workflowSegments.size()
+                && refreshState.getNextSegmentIndex()
+                >= workflowSegments.get(refreshState.getWorkflowIndex()).getSegmentCount()) {
+            refreshState.setWorkflowIndex(refreshState.getWorkflowIndex() + 1);
+            refreshState.setNextSegmentIndex(0);
+        }
+
+        WorkflowType workflowType = null;
+        Map<String, List<String>> marketplaceIdMerchantIdsMap = new HashMap<>();
+        int merchantCount = 0;
+        if (refreshState.getWorkflowIndex() < workflowSegments.size()) {
+            RefreshState.WorkflowSegments currentWorkflow = workflowSegments.get(refreshState.getWorkflowIndex());
+            workflowType = currentWorkflow.getWorkflowType();
+            int lastSegmentIndex = Math.min(currentWorkflow.getSegmentCount(),
+                    refreshState.getNextSegmentIndex() + refreshState.getSegmentsPerBatch());
+            for (int segmentIndex = refreshState.getNextSegmentIndex(); segmentIndex < lastSegmentIndex;
+                 segmentIndex++) {
+                Map<String, List<String>> segment = merchantSegmentCodec.decode(s3Adapter.getBytes(
+                        getSegmentPath(refreshState.getSegmentFolder(), workflowType, segmentIndex)));
+                for (Map.Entry<String, List<String>> entry : segment.entrySet()) {
+                    marketplaceIdMerchantIdsMap.computeIfAbsent(entry.getKey(), v -> new ArrayList<>())
+                            .addAll(entry.getValue());
+                    merchantCount += entry.getValue().size();
+                }
+            }
+            refreshState.setNextSegmentIndex(lastSegmentIndex);
+            log.info("WorkflowType - {}. Segments processed : {} of {} - To be processed in next batch : {}",
+                    workflowType, lastSegmentIndex, currentWorkflow.getSegmentCount(), merchantCount);
+        }
+
+        refreshState.setLastBatchMerchantCount(merchantCount);
+        refreshState.setLastBatchDispatchedAtMillis(Instant.now().toEpochMilli());
+        String refreshStateFilePath = String.format("%s/%s", refreshState.getSegmentFolder(),
+                REFRESH_STATE_FILE_NAME);
+        s3Adapter.putObject(refreshStateFilePath, refreshState);
+
+        return RefreshDriverResponse.builder()
+                .failureFile(failureFilePath)
+                .inputFile(refreshStateFilePath)
+                .marketplaceIdMerchantIdsMap(marketplaceIdMerchantIdsMap)
+                .status(getStatus(failedMerchantsMap, previousStatus, marketplaceIdMerchantIdsMap))
+                .workflowType(workflowType)
+                .build();
+    }
+
+    private static boolean isRefreshStateFile(String inputFilePath) {
+        return inputFilePath.endsWith("/" + REFRESH_STATE_FILE_NAME);
+    }
+
+    private static String getSegmentPath(String segmentFolder, WorkflowType workflowType, int segmentIndex) {
+        return String.format("%s/%s/%06d", segmentFolder, workflowType.name(), segmentIndex);
+    }
+
     /**
      * This method fetch the active Merchants list and classify them different categories and return a map.
      * @param inputFilePath s3 path of active merchants
@@ -11,11 +11,13 @@ import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -26,6 +28,22 @@ public final class RefreshDriverHelper {
 
     private static final int MERCHANT_BATCH_SIZE = 2000;
 
+    /**
+     * Number of merchants in a pending merchants segment, a batch is made of whole segments of one workflow
+     */
+    private static final int MERCHANT_SEGMENT_SIZE = 1000;
+
+    public static final int INITIAL_SEGMENTS_PER_BATCH = 2;
+
+    private static final int MIN_SEGMENTS_PER_BATCH = 1;
+
+    //Bounded so the merchants of a batch stay well within the step function payload limit
+    private static final int MAX_SEGMENTS_PER_BATCH = 5;
+
+    private static final double MAX_BATCH_FAILURE_RATE = 0.05;
+
+    private static final long TARGET_BATCH_DURATION_MILLIS = Duration.ofMinutes(15).toMillis();
+
     private RefreshDriverHelper() {
 
     }
@@ -157,6 +175,64 @@ public final class RefreshDriverHelper {
                 .build();
     }
 
+    /**
+     * This method splits the merchants of one workflow into segments of MERCHANT_SEGMENT_SIZE merchants,
+     * keeping the marketplace grouping.
+     * @param marketplaceIdMerchantIdsMap merchants to be processed for one WorkflowType
+     * @param segmentConsumer receives every segment as a MarketplaceIdMerchantIdsMap, in order
+     * @return number of segments
+     */
+    public static int splitIntoSegments(Map<String, List<String>> marketplaceIdMerchantIdsMap,
+                                        Consumer<Map<String, List<String>>> segmentConsumer) {
+        int segmentCount = 0;
+        int segmentMerchantCount = 0;
+        Map<String, List<String>> segment = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : marketplaceIdMerchantIdsMap.entrySet()) {
+            for (String merchantId : entry.getValue()) {
+                segment.computeIfAbsent(entry.getKey(), v -> new ArrayList<>()).add(merchantId);
+                if (++segmentMerchantCount == MERCHANT_SEGMENT_SIZE) {
+                    segmentConsumer.accept(segment);
+                    segmentCount++;
+                    segmentMerchantCount = 0;
+                    segment = new HashMap<>();
+                }
+            }
+        }
+        if (segmentMerchantCount > 0) {
+            segmentConsumer.accept(segment);
+            segmentCount++;
+        }
+        return segmentCount;
+    }
+
+    /**
+     * This method sizes the next batch from the outcome of the previous one.
+     * The batch shrinks when too many merchants failed or the downstream workflow took longer than the target,
+     * and grows when every merchant succeeded well within the target.
+     * @param segmentsPerBatch segments dispatched in the previous batch
+     * @param batchMerchantCount merchants dispatched in the previous batch
+     * @param failedMerchantCount merchants of the previous batch which failed
+     * @param batchDurationMillis time the downstream workflow took to process the previous batch
+     * @return segments to dispatch in the next batch
+     */
+    public static int getAdaptiveSegmentsPerBatch(int segmentsPerBatch, int batchMerchantCount,
+                                                  int failedMerchantCount, long batchDurationMillis) {
+        double failureRate = batchMerchantCount > 0 ? (double) failedMerchantCount / batchMerchantCount : 0;
+
+        int nextSegmentsPerBatch = segmentsPerBatch;
+        if (failureRate > MAX_BATCH_FAILURE_RATE || batchDurationMillis > TARGET_BATCH_DURATION_MILLIS) {
+            nextSegmentsPerBatch = segmentsPerBatch / 2;
+        } else if (failedMerchantCount == 0 && batchDurationMillis < TARGET_BATCH_DURATION_MILLIS / 2) {
+            nextSegmentsPerBatch = segmentsPerBatch + 1;
+        }
+        nextSegmentsPerBatch = Math.max(MIN_SEGMENTS_PER_BATCH, Math.min(MAX_SEGMENTS_PER_BATCH,
+                nextSegmentsPerBatch));
+
+        log.info("Batch of {} merchants took {} ms with failure rate {}. Segments per batch : {} -> {}",
+                batchMerchantCount, batchDurationMillis, failureRate, segmentsPerBatch, nextSegmentsPerBatch);
+        return nextSegmentsPerBatch;
+    }
+
     private static WorkflowType getFirstWorkflowTypeFromMap(
             Map<WorkflowType, Map<String, List<String>>> workflowTypeMerchantIdMap) {
         return workflowTypeMerchantIdMap.entrySet().iterator().next().getKey();
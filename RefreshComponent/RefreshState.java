@@ -0,0 +1,68 @@
+package com.amazon.meridianservice.model.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress of a merchant data refresh whose pending merchants are stored as append-only S3 segments.
+ * The segments are written once when the refresh is initiated, only this small state is rewritten per batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Builder
+public class RefreshState {
+
+    /**
+     * S3 uri of the folder holding the segments, one sub folder per WorkflowType
+     */
+    private String segmentFolder;
+
+    /**
+     * Segment counts of the workflows in processing order
+     */
+    private List<WorkflowSegments> workflowSegments;
+
+    /**
+     * Index in workflowSegments of the workflow being processed
+     */
+    private int workflowIndex;
+
+    /**
+     * Index of the next segment to process in the workflow being processed
+     */
+    private int nextSegmentIndex;
+
+    /**
+     * Number of segments dispatched in the next batch, adapted to the outcome of the previous batches
+     */
+    private int segmentsPerBatch;
+
+    /**
+     * Number of merchants dispatched in the last batch
+     */
+    private int lastBatchMerchantCount;
+
+    /**
+     * Time the last batch was dispatched at in milliseconds
+     */
+    private long lastBatchDispatchedAtMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @Builder
+    public static class WorkflowSegments {
+
+        private WorkflowType workflowType;
+
+        private int segmentCount;
+    }
+}
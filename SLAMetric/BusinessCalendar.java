@@ -0,0 +1,89 @@
+package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils;
+
+import lombok.NonNull;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Business calendar answering the business time between two timestamps in constant time.
+ *
+ * The calendar indexes a range of UTC days with the prefix sums of their business milliseconds, so the business
+ * time between two timestamps is the difference of two lookups whatever the number of days between them.
+ * Timestamps outside of the indexed range are still supported by walking the missing days.
+ */
+public class BusinessCalendar {
+
+    private static final long MILLIS_PER_DAY = DAYS.getDuration().toMillis();
+
+    private final Predicate<LocalDate> isBusinessDay;
+    private final long firstEpochDay;
+
+    /**
+     * businessMillisBefore[i] is the business milliseconds from the first indexed day up to indexed day i excluded.
+     */
+    private final long[] businessMillisBefore;
+
+    /**
+     * Indexes the days between the two timestamps.
+     * @param startTimeStamp start of the indexed range in milliseconds
+     * @param endTimeStamp end of the indexed range in milliseconds
+     * @param isBusinessDay whether a day counts in business time
+     */
+    public BusinessCalendar(final long startTimeStamp,
+                            final long endTimeStamp,
+                            @NonNull final Predicate<LocalDate> isBusinessDay) {
+        this.isBusinessDay = isBusinessDay;
+        this.firstEpochDay = Math.floorDiv(startTimeStamp, MILLIS_PER_DAY);
+        final int indexedDays = (int) Math.max(0L, Math.floorDiv(endTimeStamp, MILLIS_PER_DAY) - firstEpochDay) + 1;
+        this.businessMillisBefore = new long[indexedDays + 1];
+        for (int day = 0; day < indexedDays; day++) {
+            businessMillisBefore[day + 1] = businessMillisBefore[day] + businessMillisOfDay(firstEpochDay + day);
+        }
+    }
+
+    /**
+     * Returns the business milliseconds between two timestamps, negative if the end is before the start.
+     * @param startTimeStamp start time in milliseconds
+     * @param endTimeStamp end time in milliseconds
+     * @return duration in milliseconds
+     */
+    public long getBusinessMillisBetween(final long startTimeStamp, final long endTimeStamp) {
+        return businessMillisBefore(endTimeStamp) - businessMillisBefore(startTimeStamp);
+    }
+
+    /**
+     * Business milliseconds from the start of the first indexed day up to the timestamp.
+     */
+    private long businessMillisBefore(final long timeStamp) {
+        final long epochDay = Math.floorDiv(timeStamp, MILLIS_PER_DAY);
+        final long timeOfDay = isBusinessDay(epochDay) ? timeStamp - epochDay * MILLIS_PER_DAY : 0L;
+        final long dayIndex = epochDay - firstEpochDay;
+        if (dayIndex < 0) {
+            long businessMillis = 0L;
+            for (long day = epochDay; day < firstEpochDay; day++) {
+                businessMillis -= businessMillisOfDay(day);
+            }
+            return businessMillis + timeOfDay;
+        }
+        final int lastIndex = businessMillisBefore.length - 1;
+        if (dayIndex > lastIndex) {
+            long businessMillis = businessMillisBefore[lastIndex];
+            for (long day = firstEpochDay + lastIndex; day < epochDay; day++) {
+                businessMillis += businessMillisOfDay(day);
+            }
+            return businessMillis + timeOfDay;
+        }
+        return businessMillisBefore[(int) dayIndex] + timeOfDay;
+    }
+
+    private long businessMillisOfDay(final long epochDay) {
+        return isBusinessDay(epochDay) ? MILLIS_PER_DAY : 0L;
+    }
+
+    private boolean isBusinessDay(final long epochDay) {
+        return isBusinessDay.test(LocalDate.ofEpochDay(epochDay));
+    }
+}
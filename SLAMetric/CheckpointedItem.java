@@ -0,0 +1,29 @@
+package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pojo for the key attributes of an in review UrlInvestigation item saved in a {@link MetricCheckpoint}, along with
+ * the review start time which tells whether the reloaded item is still in the same review.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckpointedItem {
+
+    @JsonProperty("investigationId")
+    private String investigationId;
+
+    @JsonProperty("subInvestigationType")
+    private String subInvestigationType;
+
+    @JsonProperty("reviewStartTime")
+    private Long reviewStartTime;
+}
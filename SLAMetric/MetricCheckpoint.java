@@ -0,0 +1,34 @@
+package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pojo for the state of the SLA metrics of an investigation type saved between two runs.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricCheckpoint {
+
+    /**
+     * Review start time in milliseconds up to which the UrlInvestigation table was read
+     */
+    @JsonProperty("queriedUntil")
+    private Long queriedUntil;
+
+    /**
+     * Items which were still in review, keyed by the start of their review day in milliseconds
+     */
+    @JsonProperty("inReviewItemsByDay")
+    private Map<Long, List<CheckpointedItem>> inReviewItemsByDay;
+}
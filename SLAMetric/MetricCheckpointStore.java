@@ -0,0 +1,78 @@
+package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor;
+
+import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.constants.UrlInvestigationMetricEvent;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model.MetricCheckpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Stores the {@link MetricCheckpoint} of every investigation type in S3.
+ *
+ * A checkpoint which cannot be read is ignored so the run falls back to querying the whole period, and a checkpoint
+ * which cannot be written leaves the previous one in place, which stays valid. When the incremental mode is
+ * disabled no checkpoint is ever read nor written.
+ */
+@Log4j2
+public class MetricCheckpointStore {
+
+    private static final String CHECKPOINT_KEY_FORMAT = "checkpoints/%s.json";
+    private static final String CHECKPOINT_CONTENT_TYPE = "application/json";
+
+    private final S3Adapter s3Adapter;
+    private final String s3BucketName;
+    private final ObjectMapper mapper;
+    private final boolean enabled;
+
+    public MetricCheckpointStore(@NonNull final S3Adapter s3Adapter,
+                                 @NonNull final String s3BucketName,
+                                 @NonNull final ObjectMapper mapper,
+                                 final boolean enabled) {
+        this.s3Adapter = s3Adapter;
+        this.s3BucketName = s3BucketName;
+        this.mapper = mapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads the checkpoint of the investigation type.
+     * @param event UrlInvestigationMetricEvent
+     * @return the checkpoint, or null if disabled, absent or unreadable
+     */
+    public MetricCheckpoint load(@NonNull final UrlInvestigationMetricEvent event) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            final MetricCheckpoint checkpoint = mapper.readValue(
+                    s3Adapter.getRecordsAsBytes(s3BucketName, getS3Key(event)), MetricCheckpoint.class);
+            log.info("Loaded the {} checkpoint queried until {}", event, checkpoint.getQueriedUntil());
+            return checkpoint;
+        } catch (Exception e) {
+            log.warn("Could not load the {} checkpoint, the whole period will be queried", event, e);
+            return null;
+        }
+    }
+
+    /**
+     * Saves the checkpoint of the investigation type, replacing the previous one.
+     * @param event UrlInvestigationMetricEvent
+     * @param checkpoint the checkpoint
+     */
+    public void save(@NonNull final UrlInvestigationMetricEvent event, @NonNull final MetricCheckpoint checkpoint) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            s3Adapter.putObject(s3BucketName, getS3Key(event), mapper.writeValueAsString(checkpoint),
+                    CHECKPOINT_CONTENT_TYPE);
+        } catch (Exception e) {
+            log.warn("Could not save the {} checkpoint, the previous one is kept", event, e);
+        }
+    }
+
+    private static String getS3Key(final UrlInvestigationMetricEvent event) {
+        return String.format(CHECKPOINT_KEY_FORMAT, event.name());
+    }
+}
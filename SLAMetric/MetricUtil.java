@@ -2,29 +2,32 @@ package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils;
 
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.constants.UrlInvestigationMetricEvent;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model.TimeRange;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
-import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
-import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.apache.commons.lang3.math.NumberUtils.INTEGER_ZERO;
 
 /**
  * Utility class for Investigation Metrics
  */
-@Log4j2
 @UtilityClass
 public class MetricUtil {
 
@@ -84,49 +87,63 @@ public class MetricUtil {
     public Long getBusinessDaysDuration(@NonNull final Long startTimeStamp,
                                                @NonNull final Long endTimeStamp,
                                                @NonNull final UrlInvestigationMetricEvent event) {
-        Long durationBetweenTimes = 0L;
-
-        LocalDateTime startTime = Instant.ofEpochMilli(startTimeStamp).atZone(UTC).toLocalDateTime();
-        LocalDateTime endTime = Instant.ofEpochMilli(endTimeStamp).atZone(UTC).toLocalDateTime();
+        return getBusinessCalendar(event, startTimeStamp, endTimeStamp, Collections.emptySet())
+                .getBusinessMillisBetween(startTimeStamp, endTimeStamp);
+    }
 
-        LocalDateTime startDay = startTime.truncatedTo(DAYS);
-        LocalDateTime endDay = endTime.truncatedTo(DAYS);
+    /**
+     * Returns the business calendar of the investigation type, indexing the days between two timestamps.
+     * Durations of all the items of a run should be computed with a single calendar covering the queried period.
+     * @param event UrlInvestigationEvent
+     * @param startTimeStamp start of the indexed period in milliseconds
+     * @param endTimeStamp end of the indexed period in milliseconds
+     * @param holidays days which are not business days for the investigation types observing weekends
+     * @return the business calendar
+     */
+    public BusinessCalendar getBusinessCalendar(@NonNull final UrlInvestigationMetricEvent event,
+                                                @NonNull final Long startTimeStamp,
+                                                @NonNull final Long endTimeStamp,
+                                                @NonNull final Set<LocalDate> holidays) {
+        return new BusinessCalendar(startTimeStamp, endTimeStamp,
+                day -> isBusinessDayForInvestigationType(day, event, holidays));
+    }
 
-        LocalDateTime nextDay;
-        //while start and end time is on different days, split them by day wise
-        while (startDay.isBefore(endDay)) {
-            nextDay = startDay.plusDays(1);
-            if (isBusinessDayForInvestigationType(startTime, event)) {
-                durationBetweenTimes += Duration.between(startTime, nextDay).toMillis();
-            }
-            startTime = nextDay;
-            startDay = nextDay;
+    /**
+     * Parses a comma separated list of ISO dates, e.g. "2023-12-25,2024-01-01"
+     * @param holidays comma separated dates, may be blank
+     * @return the set of dates
+     */
+    public Set<LocalDate> parseHolidays(final String holidays) {
+        if (StringUtils.isBlank(holidays)) {
+            return Collections.emptySet();
         }
-
-        //start and end time is on same day
-        if (isBusinessDayForInvestigationType(startTime, event)) {
-            durationBetweenTimes += Duration.between(startTime, endTime).toMillis();
+        try {
+            return Arrays.stream(holidays.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotEmpty)
+                    .map(LocalDate::parse)
+                    .collect(Collectors.toSet());
+        } catch (DateTimeParseException e) {
+            throw new AmazonPayMerchantURLNonRetryableException("Invalid holidays are configured " + holidays, e);
         }
-        log.info("Duration between StartTime : {} and EndTime : {}, is {} : ",
-                Instant.ofEpochMilli(startTimeStamp), Instant.ofEpochMilli(endTimeStamp),
-                Duration.ofMillis(durationBetweenTimes));
-        return durationBetweenTimes;
     }
 
     /**
-     * Checks whether the day of timestamp is a business day or not for the investigation type.
+     * Checks whether the day is a business day or not for the investigation type.
      * As the SLA for LightWeight Scan is 1hr. All days are considered as business days for Lightweight scan
-     * @param dateTime timestamp of a day
+     * @param day a day
      * @param event InvestigationType
+     * @param holidays days which are not business days
      * @return true for business days , false for Non-business days
      */
-    private boolean isBusinessDayForInvestigationType(final LocalDateTime dateTime,
-                                                      final UrlInvestigationMetricEvent event) {
+    private boolean isBusinessDayForInvestigationType(final LocalDate day,
+                                                      final UrlInvestigationMetricEvent event,
+                                                      final Set<LocalDate> holidays) {
         if (event.equals(UrlInvestigationMetricEvent.AUTO_LIGHTWEIGHT)
                 || event.getSubInvestigationType().equals(SubInvestigationType.MANUAL.getSubInvestigationType())) {
             return true;
         } else {
-            return (dateTime.getDayOfWeek() != SATURDAY && dateTime.getDayOfWeek() != SUNDAY);
+            return day.getDayOfWeek() != SATURDAY && day.getDayOfWeek() != SUNDAY && !holidays.contains(day);
         }
     }
 }
@@ -2,107 +2,341 @@ package com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor;
 
 import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.constants.UrlInvestigationMetricEvent;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model.CheckpointedItem;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model.MetricCheckpoint;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.model.TimeRange;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils.BusinessCalendar;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils.MetricUtil;
 import com.amazon.amazonpaymerchanturl.utils.HandlersUtil;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.validator.routines.UrlValidator;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.time.Clock;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_HOLIDAYS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_QUERY_EXECUTOR_SERVICE;
 import static com.amazon.amazonpaymerchanturl.constants.SubInvestigationStatus.IN_REVIEW;
 
 /**
  * This class handles teh business logic for fetching the items whose callbacks are pending and crossed SLA
  * and categorizes the items based on the required SLA breach types
+ *
+ * The queried period is split by day and the days are queried concurrently on a bounded executor. The items of a
+ * day are filtered and categorized as soon as its query returns, so only the in review items are kept in memory.
+ * The delays of all the items are measured with a single business calendar indexing the queried period.
+ *
+ * In incremental mode the in review items are saved in a {@link MetricCheckpoint} at the end of every run. Items
+ * never start their review in the past, so the next run only queries the items which started their review since
+ * the checkpoint and reloads the checkpointed items in batches to drop the ones whose review ended or restarted.
  */
 @Log4j2
 public class UrlInvestigationMetricProcessor {
 
+    /**
+     * Maximum number of keys DynamoDB accepts in a single BatchGetItem call.
+     */
+    private static final int MAX_KEYS_PER_BATCH_GET = 100;
+
     private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
+    private final DynamoDBMapper dynamoDBMapper;
     private final Clock systemClock;
+    private final ExecutorService metricsQueryExecutorService;
+    private final Set<LocalDate> holidays;
+    private final MetricCheckpointStore metricCheckpointStore;
 
     @Inject
     public UrlInvestigationMetricProcessor(final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                           final Clock systemClock) {
+                                           final DynamoDBMapper dynamoDBMapper,
+                                           final Clock systemClock,
+                                           @Named(METRICS_QUERY_EXECUTOR_SERVICE)
+                                           final ExecutorService metricsQueryExecutorService,
+                                           @Named(METRICS_HOLIDAYS) final Set<LocalDate> holidays,
+                                           final MetricCheckpointStore metricCheckpointStore) {
         this.urlInvestigationDDBAdapter = urlInvestigationDDBAdapter;
+        this.dynamoDBMapper = dynamoDBMapper;
         this.systemClock = systemClock;
+        this.metricsQueryExecutorService = metricsQueryExecutorService;
+        this.holidays = holidays;
+        this.metricCheckpointStore = metricCheckpointStore;
     }
 
+    /**
+     * Get all the items that are waiting for Investigation responses that crossed SLA from DB, categorized by the
+     * SLA breach types. The items of every category are ordered by day.
+     * @param investigationMetricEvent UrlInvestigationMetricEvent
+     * @return Map with Metric Category as Key and investigation items list as value
+     */
     public Map<String, List<UrlInvestigationItem>> process(final UrlInvestigationMetricEvent investigationMetricEvent) {
-        List<UrlInvestigationItem> itemsCrossedSLA = getDelayedItemsForInvType(investigationMetricEvent);
+        final Long endTime = systemClock.instant().toEpochMilli()
+                - investigationMetricEvent.getMinThresholdForDelay().toMillis();
+        final Long startTime = endTime - investigationMetricEvent.getDataPeriodQueried().toMillis();
+        final Long currentTime = systemClock.instant().toEpochMilli();
+        final BusinessCalendar businessCalendar = MetricUtil.getBusinessCalendar(investigationMetricEvent,
+                startTime, currentTime, holidays);
+
+        final MetricCheckpoint checkpoint = getUsableCheckpoint(investigationMetricEvent, startTime, endTime);
+        final List<Future<DayResult>> futures = new ArrayList<>();
+        Long queryStartTime = startTime;
+        if (checkpoint != null) {
+            // Checkpointed days are older than the queried ones, so the futures stay ordered by day
+            new TreeMap<>(checkpoint.getInReviewItemsByDay()).forEach((dayStart, items) ->
+                    futures.add(metricsQueryExecutorService.submit(() -> getCategorizedDelayedItemsForCheckpointedDay(
+                            investigationMetricEvent, dayStart, items, startTime, businessCalendar, currentTime))));
+            queryStartTime = checkpoint.getQueriedUntil() + 1;
+        }
+        final int checkpointedDays = futures.size();
+
+        if (queryStartTime <= endTime) {
+            MetricUtil.getQueryListForTimeRange(queryStartTime, endTime).forEach(timeRange ->
+                    futures.add(metricsQueryExecutorService.submit(() -> getCategorizedDelayedItemsForTimeRange(
+                            investigationMetricEvent, timeRange, businessCalendar, currentTime))));
+        }
+
+        final Map<String, List<UrlInvestigationItem>> categorizedItems = new HashMap<>();
+        final Map<Long, List<CheckpointedItem>> inReviewItemsByDay = new HashMap<>();
+        for (Future<DayResult> future : futures) {
+            final DayResult dayResult = getResult(future, futures);
+            dayResult.getCategorizedItems().forEach((metricCategory, items) ->
+                    categorizedItems.computeIfAbsent(metricCategory, v -> new ArrayList<>()).addAll(items));
+            if (!dayResult.getInReviewItems().isEmpty()) {
+                inReviewItemsByDay.computeIfAbsent(dayResult.getDayStart(), v -> new ArrayList<>())
+                        .addAll(dayResult.getInReviewItems());
+            }
+        }
+
+        metricCheckpointStore.save(investigationMetricEvent, MetricCheckpoint.builder()
+                .queriedUntil(endTime)
+                .inReviewItemsByDay(inReviewItemsByDay)
+                .build());
 
-        log.info("{} items identified which have SLA breaches", itemsCrossedSLA.size());
-        return categorizeItemsForDelayedResponse(investigationMetricEvent, itemsCrossedSLA);
+        log.info("{} items identified which have SLA breaches, {} checkpointed days reloaded and {} days queried",
+                categorizedItems.values().stream().mapToInt(List::size).sum(), checkpointedDays,
+                futures.size() - checkpointedDays);
+        return categorizedItems;
+    }
+
+    /**
+     * Returns the checkpoint if its items can be reused for the period, null otherwise.
+     */
+    private MetricCheckpoint getUsableCheckpoint(final UrlInvestigationMetricEvent investigationMetricEvent,
+                                                 final Long startTime,
+                                                 final Long endTime) {
+        final MetricCheckpoint checkpoint = metricCheckpointStore.load(investigationMetricEvent);
+        if (checkpoint == null || checkpoint.getQueriedUntil() == null
+                || checkpoint.getInReviewItemsByDay() == null) {
+            return null;
+        }
+        if (checkpoint.getQueriedUntil() < startTime || checkpoint.getQueriedUntil() > endTime) {
+            log.info("Checkpoint queried until {} is outside of the period [{}, {}], the period will be queried",
+                    checkpoint.getQueriedUntil(), startTime, endTime);
+            return null;
+        }
+        return checkpoint;
     }
 
     /**
-     * Get all the items that are waiting for Investigation responses that crossed SLA from DB
+     * Get the items of a day that are waiting for Investigation responses that crossed SLA from DB
+     * and categorize them.
      * @param scanEvent UrlInvestigationMetricEvent
-     * @return List of UrlInvestigationItems
+     * @param timeRange the time range of the day
+     * @param businessCalendar business calendar of the investigation type
+     * @param currentTime time the SLA breaches are measured at
+     * @return the in review items of the day and the delayed ones by Metric Category
      */
-    private List<UrlInvestigationItem> getDelayedItemsForInvType(final UrlInvestigationMetricEvent scanEvent) {
+    private DayResult getCategorizedDelayedItemsForTimeRange(final UrlInvestigationMetricEvent scanEvent,
+                                                             final TimeRange timeRange,
+                                                             final BusinessCalendar businessCalendar,
+                                                             final Long currentTime) {
+        final List<UrlInvestigationItem> urlInvestigationItemList =
+                urlInvestigationDDBAdapter.queryOnRStartDateAsSecondaryIndex(
+                        timeRange.getStartDate(), scanEvent.getSubInvestigationType(),
+                        scanEvent.getInvestigationType(),
+                        timeRange.getStartTime(), timeRange.getEndTime());
 
-        final Long endTime = systemClock.instant().toEpochMilli() - scanEvent.getMinThresholdForDelay().toMillis();
-        final Long startTime = endTime - scanEvent.getDataPeriodQueried().toMillis();
+        log.info("Number of items returned from DB for {} : {}", timeRange, urlInvestigationItemList.size());
+        return categorizeInReviewItems(scanEvent, timeRange.getStartDate(), urlInvestigationItemList,
+                businessCalendar, currentTime);
+    }
 
-        List<TimeRange> queryListForTimeRange = MetricUtil.getQueryListForTimeRange(startTime, endTime);
-        List<UrlInvestigationItem> urlInvestigationItemList = queryListForTimeRange.stream().flatMap(timeRange ->
-                        urlInvestigationDDBAdapter.queryOnRStartDateAsSecondaryIndex(
-                                timeRange.getStartDate(), scanEvent.getSubInvestigationType(),
-                                scanEvent.getInvestigationType(),
-                                timeRange.getStartTime(), timeRange.getEndTime()).stream())
+    /**
+     * Reload the checkpointed items of a day which are still in the period and categorize the ones still waiting
+     * for Investigation responses.
+     * @param scanEvent UrlInvestigationMetricEvent
+     * @param dayStart start of the day in milliseconds
+     * @param checkpointedItems the items of the day which were in review at the previous run
+     * @param startTime start of the period in milliseconds
+     * @param businessCalendar business calendar of the investigation type
+     * @param currentTime time the SLA breaches are measured at
+     * @return the in review items of the day and the delayed ones by Metric Category
+     */
+    private DayResult getCategorizedDelayedItemsForCheckpointedDay(final UrlInvestigationMetricEvent scanEvent,
+                                                                   final Long dayStart,
+                                                                   final List<CheckpointedItem> checkpointedItems,
+                                                                   final Long startTime,
+                                                                   final BusinessCalendar businessCalendar,
+                                                                   final Long currentTime) {
+        final List<CheckpointedItem> checkpointedItemsInPeriod = checkpointedItems.stream()
+                .filter(checkpointedItem -> checkpointedItem.getReviewStartTime() >= startTime)
                 .collect(Collectors.toList());
+        final List<UrlInvestigationItem> urlInvestigationItemList = reloadCheckpointedItems(checkpointedItemsInPeriod);
+
+        log.info("Number of checkpointed items reloaded from DB for day {} : {} of {}", dayStart,
+                urlInvestigationItemList.size(), checkpointedItemsInPeriod.size());
+        return categorizeInReviewItems(scanEvent, dayStart, urlInvestigationItemList, businessCalendar, currentTime);
+    }
+
+    /**
+     * Reload the checkpointed items with BatchGetItem calls of at most MAX_KEYS_PER_BATCH_GET keys. The items of a
+     * chunk whose batch load fails are loaded one at a time. An item whose review start time changed since the
+     * checkpoint was reviewed again and is dropped, its new review started after the checkpoint and is queried.
+     * @param checkpointedItems the checkpointed items
+     * @return the reloaded items which are still in the review they were checkpointed in
+     */
+    private List<UrlInvestigationItem> reloadCheckpointedItems(final List<CheckpointedItem> checkpointedItems) {
+        final List<UrlInvestigationItem> reloadedItems = new ArrayList<>();
+        for (int start = 0; start < checkpointedItems.size(); start += MAX_KEYS_PER_BATCH_GET) {
+            final List<CheckpointedItem> chunk = checkpointedItems.subList(start,
+                    Math.min(start + MAX_KEYS_PER_BATCH_GET, checkpointedItems.size()));
+            final Map<String, UrlInvestigationItem> loadedItems = loadItems(chunk);
+            chunk.forEach(checkpointedItem -> {
+                final UrlInvestigationItem item = loadedItems.get(getItemKey(checkpointedItem.getInvestigationId(),
+                        checkpointedItem.getSubInvestigationType()));
+                if (item != null && Objects.equals(item.getReviewStartTime(), checkpointedItem.getReviewStartTime())) {
+                    reloadedItems.add(item);
+                }
+            });
+        }
+        return reloadedItems;
+    }
 
-        log.info("Number of items returned from DB : {}", urlInvestigationItemList.size());
+    private Map<String, UrlInvestigationItem> loadItems(final List<CheckpointedItem> checkpointedItems) {
+        try {
+            final List<Object> keys = checkpointedItems.stream()
+                    .map(checkpointedItem -> UrlInvestigationItem.builder()
+                            .investigationId(checkpointedItem.getInvestigationId())
+                            .subInvestigationType(checkpointedItem.getSubInvestigationType())
+                            .build())
+                    .collect(Collectors.toList());
+            return dynamoDBMapper.batchLoad(keys).values().stream()
+                    .flatMap(List::stream)
+                    .map(UrlInvestigationItem.class::cast)
+                    .collect(Collectors.toMap(item -> getItemKey(item.getInvestigationId(),
+                            item.getSubInvestigationType()), item -> item, (first, second) -> first));
+        } catch (Exception e) {
+            log.info("Failed to batch load {} checkpointed items, loading them one at a time",
+                    checkpointedItems.size(), e);
+        }
 
+        final Map<String, UrlInvestigationItem> loadedItems = new HashMap<>();
+        checkpointedItems.forEach(checkpointedItem -> {
+            final UrlInvestigationItem item = urlInvestigationDDBAdapter.loadEntry(
+                    checkpointedItem.getInvestigationId(), checkpointedItem.getSubInvestigationType());
+            if (item != null) {
+                loadedItems.put(getItemKey(item.getInvestigationId(), item.getSubInvestigationType()), item);
+            }
+        });
+        return loadedItems;
+    }
+
+    private static String getItemKey(final String investigationId, final String subInvestigationType) {
+        return investigationId + "|" + subInvestigationType;
+    }
+
+    private DayResult categorizeInReviewItems(final UrlInvestigationMetricEvent scanEvent,
+                                              final Long dayStart,
+                                              final List<UrlInvestigationItem> urlInvestigationItemList,
+                                              final BusinessCalendar businessCalendar,
+                                              final Long currentTime) {
         //we need to identify the items waiting for investigation response
-        return urlInvestigationItemList.stream()
+        final List<CheckpointedItem> inReviewItems = new ArrayList<>();
+        final Map<String, List<UrlInvestigationItem>> categorizedItems = new HashMap<>();
+        urlInvestigationItemList.stream()
                 .filter(urlInvestigationItem -> Objects.equals(urlInvestigationItem.getSubInvestigationStatus(),
                         IN_REVIEW.getSubInvestigationStatus())
                         && UrlValidator.getInstance()
                         .isValid(HandlersUtil.getUrl(urlInvestigationItem.getClientReferenceGroupIdUrl())))
-                .collect(Collectors.toList());
+                .forEach(invItem -> {
+                    inReviewItems.add(CheckpointedItem.builder()
+                            .investigationId(invItem.getInvestigationId())
+                            .subInvestigationType(invItem.getSubInvestigationType())
+                            .reviewStartTime(invItem.getReviewStartTime())
+                            .build());
+                    final String metricCategory = getMetricCategory(scanEvent, invItem, businessCalendar, currentTime);
+                    if (StringUtils.isNotEmpty(metricCategory)) {
+                        categorizedItems.computeIfAbsent(metricCategory, v -> new ArrayList<>()).add(invItem);
+                    } else {
+                        log.info("Item not found in any Metric Category : {}", invItem);
+                    }
+                });
+        return new DayResult(dayStart, inReviewItems, categorizedItems);
     }
 
     /**
-     * This method will group the items into categories that are waiting for investigation response that breaches SLA
-     * For Ex : Map with "OneHourDelay" as key will contain items that are waiting for response more than one hour
-     * @param urlInvestigationItemList items list  which haven't received investigation response
-     * @return Map with Metric Category  as Key and investigation items list as value
+     * This method will find the category of an item waiting for investigation response that breaches SLA
+     * For Ex : "OneHourDelay" for an item waiting for response more than one hour
+     * @param urlInvestigationMetricEvent UrlInvestigationMetricEvent
+     * @param invItem item which hasn't received investigation response
+     * @param businessCalendar business calendar of the investigation type
+     * @param currentTime time the SLA breach is measured at
+     * @return Metric Category, or null if the item does not breach SLA
      */
-    private Map<String, List<UrlInvestigationItem>> categorizeItemsForDelayedResponse(
-            UrlInvestigationMetricEvent urlInvestigationMetricEvent,
-            List<UrlInvestigationItem> urlInvestigationItemList) {
+    private String getMetricCategory(final UrlInvestigationMetricEvent urlInvestigationMetricEvent,
+                                     final UrlInvestigationItem invItem,
+                                     final BusinessCalendar businessCalendar,
+                                     final Long currentTime) {
+        final long durationBetweenTimeStamps = businessCalendar.getBusinessMillisBetween(invItem.getReviewStartTime(),
+                currentTime);
 
-        Map<String, List<UrlInvestigationItem>> categorizedItems = new HashMap<>();
-
-        final Long currentTime = systemClock.instant().toEpochMilli();
-
-        urlInvestigationItemList.stream().forEach((invItem -> {
-            Long durationBetweenTimeStamps = MetricUtil.getBusinessDaysDuration(invItem.getReviewStartTime(),
-                    currentTime, urlInvestigationMetricEvent);
-
-            //The categorization will be based on the order of metricCategories in UrlInvestigationMetricEvent Enum
-            String metricCategory = urlInvestigationMetricEvent.getMetricCategories().entrySet().stream()
-                    .filter(category -> durationBetweenTimeStamps > category.getValue())
-                    .map(Map.Entry::getKey).findFirst().orElse(null);
+        //The categorization will be based on the order of metricCategories in UrlInvestigationMetricEvent Enum
+        return urlInvestigationMetricEvent.getMetricCategories().entrySet().stream()
+                .filter(category -> durationBetweenTimeStamps > category.getValue())
+                .map(Map.Entry::getKey).findFirst().orElse(null);
+    }
 
-            if (StringUtils.isNotEmpty(metricCategory)) {
-                categorizedItems.computeIfAbsent(metricCategory, v -> new ArrayList<>()).add(invItem);
-            } else {
-                log.info("Item not found in any Metric Category : {}", invItem);
+    /**
+     * Waits for the result of a day, cancelling the queries of the other days if it failed.
+     */
+    private <T> T getResult(final Future<T> future, final List<? extends Future<?>> futures) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            futures.forEach(otherFuture -> otherFuture.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new AmazonPayMerchantURLRetryableException("Interrupted while querying the delayed items", e);
+        } catch (ExecutionException e) {
+            futures.forEach(otherFuture -> otherFuture.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-        }));
-        return categorizedItems;
+            throw new AmazonPayMerchantURLNonRetryableException("Exception while querying the delayed items",
+                    e.getCause());
+        }
+    }
+
+    @Value
+    private static class DayResult {
+        Long dayStart;
+        List<CheckpointedItem> inReviewItems;
+        Map<String, List<UrlInvestigationItem>> categorizedItems;
     }
 }
@@ -4,9 +4,10 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
+import com.amazon.amazonpaymerchanturl.adapter.S3MultipartUploadOutputStream;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.constants.UrlInvestigationMetricEvent;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor.UrlInvestigationMetricProcessor;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils.MetricUtil;
@@ -22,29 +23,36 @@ import com.opencsv.CSVWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.BooleanUtils;
 
-import java.io.CharArrayWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_REPORT_GZIP_ENABLED;
 import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
 
 /**
  * UrlInvestigationMetricsHandler will query the UrlInvestigation table to fetch a time period of records.
  * It finds the Url review response that breaches SLA and emit respective cloudwatch metrics, generates report in S3
+ * The report rows are streamed to an S3 multipart upload, optionally gzip compressed.
  */
 @RequiredArgsConstructor
 @Log4j2
 public class UrlInvestigationMetricsHandler implements RequestStreamHandler {
 
     private static final String[] REPORT_HEADINGS = { "Delay Time", "Start Time", "uniqueId", "url" };
+    private static final String REPORT_CONTENT_TYPE = "text/csv";
+    private static final String GZIP_CONTENT_ENCODING = "gzip";
 
     private final LambdaComponent lambdaComponent;
     private final ObjectMapper mapper;
@@ -54,10 +62,11 @@ public class UrlInvestigationMetricsHandler implements RequestStreamHandler {
     private final Clock systemClock;
     private final S3Adapter s3Adapter;
     private final String s3BucketNameForReport;
+    private final boolean reportGzipEnabled;
 
     public UrlInvestigationMetricsHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.mapper = lambdaComponent.providesObjectMapper();
         this.urlInvestigationMetricProcessor = lambdaComponent.provideUrlInvestigationMetricProcessor();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
@@ -65,6 +74,8 @@ public class UrlInvestigationMetricsHandler implements RequestStreamHandler {
         this.systemClock = lambdaComponent.provideSystemClock();
         this.s3Adapter = lambdaComponent.providesS3Adapter();
         this.s3BucketNameForReport = lambdaComponent.providesBucketForMetricsReport();
+        this.reportGzipEnabled = BooleanUtils.toBoolean(System.getenv(METRICS_REPORT_GZIP_ENABLED));
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -96,6 +107,9 @@ public class UrlInvestigationMetricsHandler implements RequestStreamHandler {
                 throw new AmazonPayMerchantURLRetryableException("Dynamo DB retryable exception received ", e);
             } else if (e instanceof AmazonPayDomainValidationDAONonRetryableException) {
                 throw new AmazonPayMerchantURLNonRetryableException("Dynamo DB Non-retryable exception received ", e);
+            } else if (e instanceof AmazonPayMerchantURLRetryableException) {
+                log.error("Retryable exception while executing metric handler.", e);
+                throw (AmazonPayMerchantURLRetryableException) e;
             } else {
                 String errorMessage = "Exception while executing metric handler.";
                 log.error(errorMessage, e);
@@ -134,29 +148,33 @@ public class UrlInvestigationMetricsHandler implements RequestStreamHandler {
                                  final Map<String, List<UrlInvestigationItem>> categorizedItems)
             throws IOException {
 
-        final Writer report = new CharArrayWriter();
+        final ZonedDateTime currentDateTime = ZonedDateTime.now(systemClock);
 
-        final CSVWriter csvWriter = new CSVWriter(report, CSVWriter.DEFAULT_SEPARATOR, CSVWriter.NO_QUOTE_CHARACTER,
-                CSVWriter.NO_ESCAPE_CHARACTER);
+        final String s3Key = String.format(reportGzipEnabled ? "%s/%s/%s.csv.gz" : "%s/%s/%s.csv",
+                currentDateTime.toLocalDate().toString(), scanEvent.name(),
+                currentDateTime.toLocalDateTime().toString());
+
+        // The writer, the gzip stream and the upload are closed in reverse order on any failure, which releases the
+        // deflater and then aborts the upload. S3 failures are thrown as retryable or non-retryable exceptions.
+        try (S3MultipartUploadOutputStream report = s3Adapter.openMultipartUpload(s3BucketNameForReport, s3Key,
+                REPORT_CONTENT_TYPE, reportGzipEnabled ? GZIP_CONTENT_ENCODING : null);
+             OutputStream reportContent = reportGzipEnabled ? new GZIPOutputStream(report) : report;
+             CSVWriter csvWriter = new CSVWriter(
+                     new BufferedWriter(new OutputStreamWriter(reportContent, StandardCharsets.UTF_8)),
+                     CSVWriter.DEFAULT_SEPARATOR, CSVWriter.NO_QUOTE_CHARACTER, CSVWriter.NO_ESCAPE_CHARACTER)) {
 
-        try {
             csvWriter.writeNext(REPORT_HEADINGS);
             categorizedItems.forEach((delayPeriod, items) ->  writeReportForGivenDelay(csvWriter, delayPeriod, items));
-
-        } catch (Exception e) {
-            throw new AmazonPayMerchantURLNonRetryableException("Error while creating the csv file for report", e);
-        } finally {
-            report.close();
-            csvWriter.close();
+            csvWriter.flush();
+            if (csvWriter.checkError()) {
+                throw new IOException("Error while writing the csv rows of the report");
+            }
+            if (reportGzipEnabled) {
+                ((GZIPOutputStream) reportContent).finish();
+            }
+            report.complete();
         }
 
-        final ZonedDateTime currentDateTime = ZonedDateTime.now(systemClock);
-
-        final String s3Key = String.format("%s/%s/%s.csv", currentDateTime.toLocalDate().toString(),
-                scanEvent.name(), currentDateTime.toLocalDateTime().toString());
-
-        s3Adapter.putObject(s3BucketNameForReport, s3Key, report.toString(), "text/csv");
-
         log.info("Successfully published the report in S3");
     }
 
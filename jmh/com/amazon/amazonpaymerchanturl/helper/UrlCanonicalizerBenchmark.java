@@ -0,0 +1,114 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.utils.URLCaseSensitivityConvertorUtil;
+import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link UrlCanonicalizer} with and without its fast path on synthetic merchant urls, against the url
+ * utils it replaces.
+ *
+ * A quarter of the urls are in their lowercase converted form already, a quarter have a path and the rest differ in
+ * the case of their scheme and host. Run {@link #main(String[])} to add the allocation rate of the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UrlCanonicalizerBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int urlCount;
+
+    @Param({"false", "true"})
+    private boolean fastPathEnabled;
+
+    private UrlCanonicalizer urlCanonicalizer;
+    private List<String> urls;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        urlCanonicalizer = new UrlCanonicalizer(URLCaseSensitivityConvertorUtil::getLowerCaseConvertedURL,
+                URLStandardizeUtil::standardize, fastPathEnabled);
+        urls = new ArrayList<>(urlCount);
+        for (int url = 0; url < urlCount; url++) {
+            switch (url % 4) {
+                case 0:
+                    urls.add("https://merchant-" + url + ".example.com");
+                    break;
+                case 1:
+                    urls.add("https://www.merchant-" + url + ".example.com/shop/checkout.html");
+                    break;
+                case 2:
+                    urls.add("HTTPS://WWW.Merchant-" + url + ".Example.com");
+                    break;
+                default:
+                    urls.add("http://Merchant-" + url + ".example.com");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Converts the urls one at a time with the url utils, as the handlers did before the canonicalizer.
+     */
+    @Benchmark
+    public void urlUtils(final Blackhole blackhole) throws Exception {
+        for (String url : urls) {
+            final String lowercaseUrl = URLCaseSensitivityConvertorUtil.getLowerCaseConvertedURL(url);
+            blackhole.consume(lowercaseUrl);
+            blackhole.consume(URLStandardizeUtil.standardize(lowercaseUrl));
+        }
+    }
+
+    @Benchmark
+    public void canonicalize(final Blackhole blackhole) throws Exception {
+        for (String url : urls) {
+            blackhole.consume(urlCanonicalizer.canonicalize(url));
+        }
+    }
+
+    @Benchmark
+    public Object canonicalizeBatch() {
+        return urlCanonicalizer.canonicalize(urls);
+    }
+
+    @Benchmark
+    public Object toLowercaseUrls() {
+        return urlCanonicalizer.toLowercaseUrls(urls);
+    }
+
+    /**
+     * Runs the benchmarks with the gc profiler, reporting the allocation rate next to throughput.
+     * @param args unused
+     * @throws RunnerException if the benchmarks fail
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UrlCanonicalizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.amazon.amazonpaymerchanturl.task;
+
+import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
+import com.amazon.amazonpaymerchanturl.model.UrlVendorReviewScanSpecInput;
+import com.amazon.urlvendorreviewmodel.model.ScanSpec;
+import com.amazon.urlvendorreviewmodel.model.UrlSpec;
+import com.amazon.urlvendorreviewmodel.type.ScanType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.amazon.urlvendorreviewlib.constants.LibConstants.AMAZON_PAY_BUSINESS;
+
+/**
+ * Benchmarks {@link CallbackWorkflowDeterminatorTask#initateOrResumeURLReviewWorkflow} on synthetic scan specs,
+ * with DynamoDB, Step Functions and SQS replaced by {@link InMemoryCallbackWorkflowFakes}.
+ *
+ * Monitoring scans of urls with review completed variant url entries go through the variant url dedupe and merge
+ * before a workflow is initiated, lightweight scans resume the workflow of each url. Throughput and latency
+ * percentiles are reported per workload, run {@link #main(String[])} to add the allocation rate of the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CallbackWorkflowDeterminatorTaskBenchmark {
+
+    private static final String CLIENT_REFERENCE_GROUP_ID = "BENCHMARK_MERCHANT_ID-ATVPDKIKX0DER";
+    private static final String STATE_MACHINE_ARN = "arn:aws:states:us-east-1:000000000000:stateMachine:Benchmark";
+    private static final String ERROR_QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/000000000000/benchmark";
+    private static final int CALLBACK_WORKFLOW_THREADS = 8;
+
+    @Param({"1", "100", "10000"})
+    private int scanItems;
+
+    @Param({"0", "2", "8"})
+    private int variantUrls;
+
+    @Param({"AUTO_MONITORING", "AUTO_LIGHTWEIGHT"})
+    private SubInvestigationType subInvestigationType;
+
+    private ExecutorService callbackWorkflowExecutorService;
+    private CallbackWorkflowDeterminatorTask callbackWorkflowDeterminatorTask;
+    private UrlVendorReviewScanSpecInput urlVendorReviewScanSpecInput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final InMemoryCallbackWorkflowFakes fakes = new InMemoryCallbackWorkflowFakes();
+        final Map<String, UrlSpec> scanItemsById = new LinkedHashMap<>();
+        for (int scanItem = 0; scanItem < scanItems; scanItem++) {
+            final String normalizedUrl = "https://merchant-" + scanItem + ".example.com";
+            fakes.seed(CLIENT_REFERENCE_GROUP_ID, normalizedUrl, variantUrls);
+            scanItemsById.put("scanItem-" + scanItem, UrlSpec.builder()
+                    .url(normalizedUrl)
+                    .reportedUrl(true)
+                    .build());
+        }
+        urlVendorReviewScanSpecInput = UrlVendorReviewScanSpecInput.builder()
+                .scanSpecList(Collections.singletonList(ScanSpec.builder()
+                        .scanId("benchmark-scan")
+                        .scanType(getScanType(subInvestigationType))
+                        .clientId(CLIENT_REFERENCE_GROUP_ID)
+                        .scanItems(scanItemsById)
+                        .build()))
+                .retryCount(0L)
+                .build();
+
+        callbackWorkflowExecutorService = Executors.newFixedThreadPool(CALLBACK_WORKFLOW_THREADS);
+        callbackWorkflowDeterminatorTask = new CallbackWorkflowDeterminatorTask(
+                fakes.getDomainValidationDDBAdapter(),
+                fakes.getUrlInvestigationDDBAdapter(),
+                fakes.getCloudWatchMetricsHelper(),
+                fakes.getStepFunctionAdapter(),
+                Collections.singletonMap(AMAZON_PAY_BUSINESS, STATE_MACHINE_ARN),
+                new ObjectMapper(),
+                fakes.getSqsAdapter(),
+                ERROR_QUEUE_URL,
+                fakes.getWeblabHelper(),
+                fakes.getDomainValidationUrlFilterProvider(),
+                callbackWorkflowExecutorService,
+                CALLBACK_WORKFLOW_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        callbackWorkflowExecutorService.shutdownNow();
+    }
+
+    @Benchmark
+    public void initateOrResumeURLReviewWorkflow() {
+        callbackWorkflowDeterminatorTask.initateOrResumeURLReviewWorkflow(urlVendorReviewScanSpecInput);
+    }
+
+    private static ScanType getScanType(final SubInvestigationType subInvestigationType) {
+        return Arrays.stream(ScanType.values())
+                .filter(scanType -> subInvestigationType.getSubInvestigationType()
+                        .equals(scanType.getSubInvestigationType()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No scan type for " + subInvestigationType));
+    }
+
+    /**
+     * Runs the benchmarks with the gc profiler, reporting the allocation rate next to throughput and latency.
+     * @param args unused
+     * @throws RunnerException if the benchmarks fail
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CallbackWorkflowDeterminatorTaskBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
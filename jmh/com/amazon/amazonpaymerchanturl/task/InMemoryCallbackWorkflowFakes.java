@@ -0,0 +1,252 @@
+package com.amazon.amazonpaymerchanturl.task;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
+import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
+import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
+import com.amazon.amazonpaymerchanturl.adapter.SlapshotAdapter;
+import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
+import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
+import com.amazon.amazonpaymerchanturl.provider.DomainValidationUrlFilterProvider;
+import com.amazon.amazonpaymerchanturl.provider.WeblabTreatmentInformationProvider;
+import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
+import com.amazon.lambdaskurge.adapter.MetricsAdapter;
+import com.amazon.slapshot.coral.CSSlapshotServiceClient;
+import com.amazonaws.services.cloudwatch.AbstractAmazonCloudWatch;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataResult;
+import com.amazonaws.services.dynamodbv2.AbstractAmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import com.amazonaws.services.stepfunctions.AbstractAWSStepFunctions;
+import com.amazonaws.services.stepfunctions.model.DescribeExecutionRequest;
+import com.amazonaws.services.stepfunctions.model.DescribeExecutionResult;
+import com.amazonaws.services.stepfunctions.model.ExecutionStatus;
+import com.amazonaws.services.stepfunctions.model.SendTaskSuccessRequest;
+import com.amazonaws.services.stepfunctions.model.SendTaskSuccessResult;
+import com.amazonaws.services.stepfunctions.model.StartExecutionRequest;
+import com.amazonaws.services.stepfunctions.model.StartExecutionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.amazon.amazonpaymerchanturl.constants.HandlerConstants.TREATMENT_T1;
+
+/**
+ * In-memory DynamoDB, Step Functions, SQS, CloudWatch and weblab backends for driving
+ * {@link CallbackWorkflowDeterminatorTask} without AWS or Slapshot calls.
+ *
+ * The seeded DomainValidation entries are rebuilt on every query and writes are only counted, so every benchmark
+ * invocation walks the same path. The Step Functions, SQS and CloudWatch clients answer every call with an empty
+ * result, so the real adapters run on top of them. The DDB adapters and the weblab treatment provider are
+ * overridden, their AWS and Slapshot clients are never called.
+ */
+@Getter
+final class InMemoryCallbackWorkflowFakes {
+
+    static final String WORKFLOW_ID = "arn:aws:states:us-east-1:000000000000:execution:UrlReviewWorkflow:benchmark";
+    static final String TASK_TOKEN = "benchmark-task-token";
+
+    private static final String METRIC_NAMESPACE = "Benchmark";
+    private static final String FILTER_BUCKET = "benchmark-bucket";
+
+    /**
+     * Seeded entry urls by clientReferenceGroupId and normalized url, each query builds fresh entries for them.
+     */
+    private final Map<String, List<String>> seededUrls = new ConcurrentHashMap<>();
+    private final LongAdder domainValidationWrites = new LongAdder();
+    private final LongAdder workflowCalls = new LongAdder();
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder publishedMetrics = new LongAdder();
+
+    private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
+    private final StepFunctionAdapter stepFunctionAdapter;
+    private final SQSAdapter sqsAdapter;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final WeblabHelper weblabHelper;
+    private final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider;
+
+    InMemoryCallbackWorkflowFakes() {
+        final DynamoDBMapper unusedDynamoDBMapper = new DynamoDBMapper(new AbstractAmazonDynamoDB() { });
+        domainValidationDDBAdapter = new InMemoryDomainValidationDDBAdapter(unusedDynamoDBMapper);
+        urlInvestigationDDBAdapter = new InMemoryUrlInvestigationDDBAdapter(unusedDynamoDBMapper);
+        final InMemoryStepFunctions stepFunctions = new InMemoryStepFunctions();
+        stepFunctionAdapter = new StepFunctionAdapter(() -> stepFunctions);
+        final InMemorySQS sqs = new InMemorySQS();
+        cloudWatchMetricsHelper = new CloudWatchMetricsHelper(
+                new MetricsAdapter(new InMemoryCloudWatch(), METRIC_NAMESPACE));
+        sqsAdapter = new SQSAdapter(() -> sqs, cloudWatchMetricsHelper);
+        weblabHelper = new WeblabHelper(new DialedUpWeblabTreatmentInformationProvider(cloudWatchMetricsHelper));
+        // The filter is disabled, so every scan item is looked up and S3 is never called
+        domainValidationUrlFilterProvider = new DomainValidationUrlFilterProvider(
+                new S3Adapter(() -> unused(AmazonS3.class)), FILTER_BUCKET, cloudWatchMetricsHelper, false, 0L);
+    }
+
+    /**
+     * Seeds the standardized url entry of a normalized url and its review completed variant url entries.
+     * @param clientReferenceGroupId the clientReferenceGroupId
+     * @param normalizedUrl          the normalized url
+     * @param variantUrls            the number of variant url entries
+     */
+    void seed(final String clientReferenceGroupId, final String normalizedUrl, final int variantUrls) {
+        final List<String> urls = new ArrayList<>(variantUrls + 1);
+        urls.add(normalizedUrl);
+        for (int variant = 0; variant < variantUrls; variant++) {
+            urls.add(normalizedUrl + "/variant-" + variant);
+        }
+        seededUrls.put(key(clientReferenceGroupId, normalizedUrl), urls);
+    }
+
+    private List<AmazonPayDomainValidationItem> query(final String clientReferenceGroupId,
+                                                      final String normalizedUrl) {
+        final List<String> urls = seededUrls.get(key(clientReferenceGroupId, normalizedUrl));
+        final List<AmazonPayDomainValidationItem> items = new ArrayList<>();
+        if (urls != null) {
+            urls.forEach(url -> items.add(AmazonPayDomainValidationItem.builder()
+                    .clientReferenceGroupId(clientReferenceGroupId)
+                    .url(url)
+                    .normalizedUrl(normalizedUrl)
+                    .investigationStatus(InvestigationStatus.COMPLIANT.getInvestigationStatus())
+                    .investigationId(WORKFLOW_ID)
+                    .clientInfo("{}")
+                    .build()));
+        }
+        return items;
+    }
+
+    private static String key(final String clientReferenceGroupId, final String normalizedUrl) {
+        return clientReferenceGroupId + "|" + normalizedUrl;
+    }
+
+    /**
+     * Returns a client failing every call, for the dependencies the benchmarked paths never reach.
+     */
+    private static <T> T unused(final Class<T> clientClass) {
+        return clientClass.cast(Proxy.newProxyInstance(clientClass.getClassLoader(), new Class<?>[] {clientClass},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(clientClass.getSimpleName() + " is not faked");
+                }));
+    }
+
+    private final class InMemoryDomainValidationDDBAdapter extends DomainValidationDDBAdapter {
+
+        private InMemoryDomainValidationDDBAdapter(final DynamoDBMapper dynamoDBMapper) {
+            super(dynamoDBMapper);
+        }
+
+        @Override
+        public List<AmazonPayDomainValidationItem> queryOnClientRefGrpIdNormalizedUrlIndex(
+                final String clientReferenceGroupId, final String normalizedUrl) {
+            return query(clientReferenceGroupId, normalizedUrl);
+        }
+
+        @Override
+        public void createOrUpdateEntry(final AmazonPayDomainValidationItem item) {
+            domainValidationWrites.increment();
+        }
+
+        @Override
+        public void createOrUpdateEntryWithVariantUrlSetAppend(final AmazonPayDomainValidationItem item) {
+            domainValidationWrites.increment();
+        }
+
+        @Override
+        public void deleteUrlEntries(final List<AmazonPayDomainValidationItem> items) {
+            domainValidationWrites.increment();
+        }
+
+        @Override
+        public boolean updateEntryIfInvStatusIsNotUnderReview(final AmazonPayDomainValidationItem item) {
+            domainValidationWrites.increment();
+            return true;
+        }
+    }
+
+    private static final class InMemoryUrlInvestigationDDBAdapter extends UrlInvestigationDDBAdapter {
+
+        private InMemoryUrlInvestigationDDBAdapter(final DynamoDBMapper dynamoDBMapper) {
+            super(dynamoDBMapper);
+        }
+
+        @Override
+        public UrlInvestigationItem loadEntry(final String investigationId, final String subInvestigationType) {
+            return UrlInvestigationItem.builder()
+                    .investigationId(investigationId)
+                    .subInvestigationType(subInvestigationType)
+                    .subInvestigationTaskToken(TASK_TOKEN)
+                    .build();
+        }
+    }
+
+    private final class InMemoryStepFunctions extends AbstractAWSStepFunctions {
+
+        @Override
+        public StartExecutionResult startExecution(final StartExecutionRequest request) {
+            workflowCalls.increment();
+            return new StartExecutionResult().withExecutionArn(WORKFLOW_ID);
+        }
+
+        @Override
+        public SendTaskSuccessResult sendTaskSuccess(final SendTaskSuccessRequest request) {
+            workflowCalls.increment();
+            return new SendTaskSuccessResult();
+        }
+
+        @Override
+        public DescribeExecutionResult describeExecution(final DescribeExecutionRequest request) {
+            return new DescribeExecutionResult()
+                    .withExecutionArn(request.getExecutionArn())
+                    .withStatus(ExecutionStatus.SUCCEEDED);
+        }
+    }
+
+    private final class InMemorySQS extends AbstractAmazonSQS {
+
+        @Override
+        public SendMessageResult sendMessage(final SendMessageRequest request) {
+            sentMessages.increment();
+            return new SendMessageResult();
+        }
+    }
+
+    private final class InMemoryCloudWatch extends AbstractAmazonCloudWatch {
+
+        @Override
+        public PutMetricDataResult putMetricData(final PutMetricDataRequest request) {
+            publishedMetrics.increment();
+            return new PutMetricDataResult();
+        }
+    }
+
+    /**
+     * Weblab treatment provider answering T1 for every weblab, its Slapshot client is never called.
+     */
+    private static final class DialedUpWeblabTreatmentInformationProvider
+            extends WeblabTreatmentInformationProvider {
+
+        private DialedUpWeblabTreatmentInformationProvider(final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+            super(new SlapshotAdapter(unused(CSSlapshotServiceClient.class),
+                    new JSONObjectMapperUtil(new ObjectMapper())), cloudWatchMetricsHelper);
+        }
+
+        @Override
+        public String getWebLabTreatmentInformation(final String merchantId, final String marketplaceId,
+                                                    final String weblabName) {
+            return TREATMENT_T1;
+        }
+    }
+}
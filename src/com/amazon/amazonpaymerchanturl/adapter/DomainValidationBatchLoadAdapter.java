@@ -0,0 +1,98 @@
+package com.amazon.amazonpaymerchanturl.adapter;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationEntryLookup;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_DDB_BATCH_LOAD_FAILED;
+
+/**
+ * DomainValidation DDB adapter for batched reads.
+ * Resolves all the urls of a request with BatchGetItem calls instead of one GetItem call per url.
+ */
+@Log4j2
+@Singleton
+public class DomainValidationBatchLoadAdapter {
+
+    /**
+     * Maximum number of keys DynamoDB accepts in a single BatchGetItem call.
+     */
+    private static final int MAX_KEYS_PER_BATCH_GET = 100;
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+
+    public DomainValidationBatchLoadAdapter(final DynamoDBMapper dynamoDBMapper,
+                                            final DomainValidationDDBAdapter domainValidationDDBAdapter,
+                                            final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.domainValidationDDBAdapter = domainValidationDDBAdapter;
+        this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
+    }
+
+    /**
+     * Prefetches the DDB entries of the given urls in chunks of MAX_KEYS_PER_BATCH_GET keys, grouped by the
+     * canonical key of each url. Unprocessed keys are retried by the mapper's batch load retry strategy. Urls of a
+     * chunk which still fails are not prefetched and are read individually through the returned lookup.
+     *
+     * @param clientReferenceGroupId the clientReferenceGroupId
+     * @param canonicalKeysByUrl     the urls to prefetch with their canonical key
+     * @return lookup of the DDB entries for the invocation
+     */
+    public DomainValidationEntryLookup prefetchEntries(@NonNull final String clientReferenceGroupId,
+                                                       @NonNull final Map<String, String> canonicalKeysByUrl) {
+        final List<String> urls = new ArrayList<>(canonicalKeysByUrl.keySet());
+        final Map<String, Map<String, Optional<AmazonPayDomainValidationItem>>> prefetchedEntries =
+                new ConcurrentHashMap<>();
+        int prefetchedUrls = 0;
+
+        for (int start = 0; start < urls.size(); start += MAX_KEYS_PER_BATCH_GET) {
+            final List<String> chunk = urls.subList(start, Math.min(start + MAX_KEYS_PER_BATCH_GET, urls.size()));
+            try {
+                final Map<String, AmazonPayDomainValidationItem> loadedEntries = batchLoad(clientReferenceGroupId,
+                        chunk);
+                chunk.forEach(url -> prefetchedEntries
+                        .computeIfAbsent(canonicalKeysByUrl.get(url), canonicalKey -> new ConcurrentHashMap<>())
+                        .put(url, Optional.ofNullable(loadedEntries.get(url))));
+                prefetchedUrls += chunk.size();
+            } catch (Exception e) {
+                log.info("Failed to batch load {} DDB entries for ClientReferenceGroupId {}",
+                        chunk.size(), clientReferenceGroupId, e);
+                cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_DDB_BATCH_LOAD_FAILED);
+            }
+        }
+        log.info("Prefetched {} of {} DDB entries for ClientReferenceGroupId {}",
+                prefetchedUrls, urls.size(), clientReferenceGroupId);
+        return new DomainValidationEntryLookup(domainValidationDDBAdapter, clientReferenceGroupId,
+                prefetchedEntries);
+    }
+
+    private Map<String, AmazonPayDomainValidationItem> batchLoad(final String clientReferenceGroupId,
+                                                                 final List<String> urls) {
+        final List<Object> keys = urls.stream()
+                .map(url -> AmazonPayDomainValidationItem.builder()
+                        .clientReferenceGroupId(clientReferenceGroupId)
+                        .url(url)
+                        .build())
+                .collect(Collectors.toList());
+
+        return dynamoDBMapper.batchLoad(keys).values().stream()
+                .flatMap(List::stream)
+                .map(AmazonPayDomainValidationItem.class::cast)
+                .collect(Collectors.toMap(AmazonPayDomainValidationItem::getUrl, item -> item,
+                        (first, second) -> first));
+    }
+}
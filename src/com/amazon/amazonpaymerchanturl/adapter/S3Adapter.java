@@ -2,6 +2,8 @@ package com.amazon.amazonpaymerchanturl.adapter;
 
 import javax.inject.Singleton;
 
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import lombok.NonNull;
@@ -10,24 +12,58 @@ import lombok.extern.log4j.Log4j2;
 import static com.amazon.amazonpaymerchanturl.utils.ExceptionHandlers.handleAwsSdkServiceException;
 
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.S3Object;
+import dagger.Lazy;
+import org.apache.http.HttpStatus;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * S3 adapter for fetching records.
+ *
+ * Records are read straight from the object content into a buffer sized by the object length. When a ranged get
+ * executor is configured, objects larger than a part are downloaded as concurrent ranged gets into that buffer.
+ * Every part is pinned to the ETag of the first part, so an object overwritten while it is read fails the read
+ * instead of mixing the content of two versions.
  */
 @Log4j2
 @Singleton
 public class S3Adapter {
 
-    private final AmazonS3 s3Client;
+    private static final String GET_RECORDS_FAILURE_MESSAGE =
+            "Failed to get the S3 object which contains the record payload.";
 
-    public S3Adapter(final AmazonS3 s3Client) {
+    /**
+     * Size of the parts of multipart uploads, the minimum size S3 accepts for every part but the last.
+     */
+    private static final int MULTIPART_UPLOAD_PART_SIZE_IN_BYTES = 5 * 1024 * 1024;
+
+    private final Lazy<AmazonS3> s3Client;
+    private final ExecutorService rangedGetExecutorService;
+    private final long rangedGetPartSizeInBytes;
+
+    public S3Adapter(final Lazy<AmazonS3> s3Client) {
+        this(s3Client, null, 0L);
+    }
+
+    public S3Adapter(final Lazy<AmazonS3> s3Client,
+                     final ExecutorService rangedGetExecutorService,
+                     final long rangedGetPartSizeInBytes) {
         this.s3Client = s3Client;
+        this.rangedGetExecutorService = rangedGetExecutorService;
+        this.rangedGetPartSizeInBytes = rangedGetPartSizeInBytes;
     }
 
     /**
@@ -37,16 +73,150 @@ public class S3Adapter {
      * @return s3RecordObject
      */
     public String getRecords(@NonNull final String s3BucketName, @NonNull final String s3Key) {
+        return new String(getRecordsAsBytes(s3BucketName, s3Key), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the raw bytes of the records using S3 key and bucket.
+     * @param s3BucketName the bucket name
+     * @param s3Key the s3 key
+     * @return s3 record object content
+     */
+    public byte[] getRecordsAsBytes(@NonNull final String s3BucketName, @NonNull final String s3Key) {
+        log.info("Calling S3 client to get record object of s3 key : " + s3Key
+                + "from bucket : " + s3BucketName);
+        if (rangedGetExecutorService == null || rangedGetPartSizeInBytes <= 0) {
+            return readObject(new GetObjectRequest(s3BucketName, s3Key));
+        }
+        return readObjectInParts(s3BucketName, s3Key);
+    }
+
+    /**
+     * Opens the content stream of the records using S3 key and bucket. The caller must close the stream.
+     * @param s3BucketName the bucket name
+     * @param s3Key the s3 key
+     * @return s3 record object content stream
+     */
+    public InputStream getRecordsAsStream(@NonNull final String s3BucketName, @NonNull final String s3Key) {
         try {
-            log.info("Calling S3 client to get record object of s3 key : " + s3Key
+            log.info("Calling S3 client to stream record object of s3 key : " + s3Key
                     + "from bucket : " + s3BucketName);
-            return s3Client.getObjectAsString(s3BucketName, s3Key);
+            return s3Client.get().getObject(new GetObjectRequest(s3BucketName, s3Key)).getObjectContent();
         } catch (AmazonS3Exception e) {
-            String message = "Failed to get the S3 object which contains the record payload.";
-            throw handleAwsSdkServiceException(message, e);
+            throw handleAwsSdkServiceException(GET_RECORDS_FAILURE_MESSAGE, e);
         } catch (AmazonClientException e) {
-            String message = "Failed to get the S3 object which contains the record payload.";
-            throw new AmazonPayMerchantURLNonRetryableException(message, e);
+            throw new AmazonPayMerchantURLNonRetryableException(GET_RECORDS_FAILURE_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Reads the first part of the object, which also tells the object length, and then the remaining parts
+     * concurrently on the ranged get executor. Every part is read into its own slice of the same buffer.
+     */
+    private byte[] readObjectInParts(final String s3BucketName, final String s3Key) {
+        final byte[] content;
+        final long objectLength;
+        final String eTag;
+        try (S3Object s3Object = s3Client.get().getObject(new GetObjectRequest(s3BucketName, s3Key)
+                .withRange(0, rangedGetPartSizeInBytes - 1))) {
+            objectLength = s3Object.getObjectMetadata().getInstanceLength();
+            eTag = s3Object.getObjectMetadata().getETag();
+            if (objectLength > Integer.MAX_VALUE) {
+                throw new AmazonPayMerchantURLNonRetryableException("S3 object of length " + objectLength
+                        + " is too large to be read, s3 key : " + s3Key);
+            }
+            content = new byte[(int) objectLength];
+            readFully(s3Object.getObjectContent(), content, 0, (int) Math.min(objectLength, rangedGetPartSizeInBytes));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // The object is empty, so there is no range to read.
+                return new byte[0];
+            }
+            throw handleAwsSdkServiceException(GET_RECORDS_FAILURE_MESSAGE, e);
+        } catch (AmazonClientException | IOException e) {
+            throw new AmazonPayMerchantURLNonRetryableException(GET_RECORDS_FAILURE_MESSAGE, e);
+        }
+
+        if (objectLength <= rangedGetPartSizeInBytes) {
+            return content;
+        }
+
+        final List<Future<byte[]>> futures = new ArrayList<>();
+        for (long start = rangedGetPartSizeInBytes; start < objectLength; start += rangedGetPartSizeInBytes) {
+            final long end = Math.min(start + rangedGetPartSizeInBytes, objectLength);
+            final GetObjectRequest partRequest = new GetObjectRequest(s3BucketName, s3Key)
+                    .withRange(start, end - 1)
+                    .withMatchingETagConstraint(eTag);
+            final int offset = (int) start;
+            final int length = (int) (end - start);
+            futures.add(rangedGetExecutorService.submit(() -> readObject(partRequest, content, offset, length)));
+        }
+        log.info("Reading S3 object of length {} in {} parts.", objectLength, futures.size() + 1);
+
+        try {
+            for (Future<byte[]> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new AmazonPayMerchantURLRetryableException("Interrupted while reading the S3 object.", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AmazonPayMerchantURLNonRetryableException(GET_RECORDS_FAILURE_MESSAGE, e.getCause());
+        }
+        return content;
+    }
+
+    private byte[] readObject(final GetObjectRequest getObjectRequest) {
+        return readObject(getObjectRequest, null, 0, 0);
+    }
+
+    /**
+     * Reads the requested object or range into the buffer at the offset, or into a new buffer sized by the
+     * content length when no buffer is given.
+     * @param length the number of bytes to read into the given buffer, ignored when no buffer is given
+     */
+    private byte[] readObject(final GetObjectRequest getObjectRequest, final byte[] buffer, final int offset,
+                              final int length) {
+        try (S3Object s3Object = s3Client.get().getObject(getObjectRequest)) {
+            if (s3Object == null) {
+                // The client returns no object when the ETag constraint of a part is not met
+                throw new AmazonPayMerchantURLRetryableException("S3 object was modified while it was read, s3 key : "
+                        + getObjectRequest.getKey());
+            }
+            if (buffer != null) {
+                readFully(s3Object.getObjectContent(), buffer, offset, length);
+                return buffer;
+            }
+            final byte[] target = new byte[(int) s3Object.getObjectMetadata().getContentLength()];
+            readFully(s3Object.getObjectContent(), target, 0, target.length);
+            return target;
+        } catch (AmazonS3Exception e) {
+            throw handleAwsSdkServiceException(GET_RECORDS_FAILURE_MESSAGE, e);
+        } catch (AmazonClientException | IOException e) {
+            throw new AmazonPayMerchantURLNonRetryableException(GET_RECORDS_FAILURE_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Reads exactly length bytes of the content into the buffer from the offset.
+     * @throws IOException if the content ends before length bytes were read
+     */
+    private static void readFully(final InputStream content, final byte[] buffer, final int offset,
+                                  final int length) throws IOException {
+        int position = offset;
+        int read;
+        while (position < offset + length
+                && (read = content.read(buffer, position, offset + length - position)) != -1) {
+            position += read;
+        }
+        if (position != offset + length) {
+            throw new IOException(String.format("S3 object content ended after %d of %d bytes",
+                    position - offset, length));
         }
     }
 
@@ -67,7 +237,7 @@ public class S3Adapter {
             log.info("Calling S3 client to put object of length " + content.length() + " at s3 key : " + s3Key
                     + "from bucket : " + s3BucketName);
 
-            s3Client.putObject(putObjectRequest);
+            s3Client.get().putObject(putObjectRequest);
         } catch (AmazonS3Exception e) {
             String message = "Failed to put the S3 object which contains the record payload.";
             throw handleAwsSdkServiceException(message, e);
@@ -76,4 +246,39 @@ public class S3Adapter {
             throw new AmazonPayMerchantURLNonRetryableException(message, e);
         }
     }
+
+    /**
+     * Starts a multipart upload of an object and returns the stream to write the object content to.
+     * The caller must close the stream to complete the upload, or abort it when the content could not be written.
+     * @param s3BucketName    the bucket name
+     * @param s3Key           the s3 key
+     * @param contentType     the content type of the object
+     * @param contentEncoding the content encoding of the object, may be null
+     * @return the multipart upload stream
+     */
+    public S3MultipartUploadOutputStream openMultipartUpload(@NonNull final String s3BucketName,
+                                                             @NonNull final String s3Key,
+                                                             final String contentType,
+                                                             final String contentEncoding) {
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        if (contentEncoding != null) {
+            metadata.setContentEncoding(contentEncoding);
+        }
+
+        try {
+            log.info("Calling S3 client to start multipart upload at s3 key : " + s3Key
+                    + "from bucket : " + s3BucketName);
+            final String uploadId = s3Client.get().initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(s3BucketName, s3Key, metadata)).getUploadId();
+            return new S3MultipartUploadOutputStream(s3Client.get(), s3BucketName, s3Key, uploadId,
+                    MULTIPART_UPLOAD_PART_SIZE_IN_BYTES);
+        } catch (AmazonS3Exception e) {
+            String message = "Failed to start the multipart upload of the S3 object.";
+            throw handleAwsSdkServiceException(message, e);
+        } catch (AmazonClientException e) {
+            String message = "Failed to start the multipart upload of the S3 object.";
+            throw new AmazonPayMerchantURLNonRetryableException(message, e);
+        }
+    }
 }
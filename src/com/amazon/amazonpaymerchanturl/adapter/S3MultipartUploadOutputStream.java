@@ -0,0 +1,147 @@
+package com.amazon.amazonpaymerchanturl.adapter;
+
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.amazon.amazonpaymerchanturl.utils.ExceptionHandlers.handleAwsSdkServiceException;
+
+/**
+ * Output stream writing to an S3 object through a multipart upload.
+ *
+ * Bytes are buffered until a part is full and the part is then uploaded, so only one part is held in memory
+ * whatever the size of the object. Completing the stream uploads the last part and completes the upload, closing a
+ * stream which was not completed aborts the upload and discards the uploaded parts, so the stream can be used in a
+ * try-with-resources block. S3 failures are mapped to retryable and non-retryable exceptions like in
+ * {@link S3Adapter}.
+ */
+@Log4j2
+public class S3MultipartUploadOutputStream extends OutputStream {
+
+    private final AmazonS3 s3Client;
+    private final String s3BucketName;
+    private final String s3Key;
+    private final String uploadId;
+    private final byte[] partBuffer;
+    private final List<PartETag> partETags = new ArrayList<>();
+    private int partLength;
+    private boolean closed;
+    private boolean completed;
+
+    S3MultipartUploadOutputStream(final AmazonS3 s3Client, final String s3BucketName, final String s3Key,
+                                  final String uploadId, final int partSizeInBytes) {
+        this.s3Client = s3Client;
+        this.s3BucketName = s3BucketName;
+        this.s3Key = s3Key;
+        this.uploadId = uploadId;
+        this.partBuffer = new byte[partSizeInBytes];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        ensureOpen();
+        int position = offset;
+        final int end = offset + length;
+        while (position < end) {
+            final int count = Math.min(end - position, partBuffer.length - partLength);
+            System.arraycopy(bytes, position, partBuffer, partLength, count);
+            partLength += count;
+            position += count;
+            if (partLength == partBuffer.length) {
+                uploadPart();
+            }
+        }
+    }
+
+    /**
+     * Uploads the last part and completes the multipart upload.
+     * @throws IOException if the stream is already closed
+     */
+    public void complete() throws IOException {
+        ensureOpen();
+        // S3 needs at least one part, which may be empty when it is the only one
+        if (partLength > 0 || partETags.isEmpty()) {
+            uploadPart();
+        }
+        try {
+            s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(s3BucketName, s3Key, uploadId,
+                    partETags));
+        } catch (AmazonS3Exception e) {
+            throw handleAwsSdkServiceException("Failed to complete the multipart upload of the S3 object.", e);
+        } catch (AmazonClientException e) {
+            throw new AmazonPayMerchantURLNonRetryableException(
+                    "Failed to complete the multipart upload of the S3 object.", e);
+        }
+        closed = true;
+        completed = true;
+        log.info("Completed multipart upload of s3 key : {} in {} parts", s3Key, partETags.size());
+    }
+
+    /**
+     * Aborts the multipart upload unless it was completed. Does nothing once the stream is closed or aborted.
+     */
+    @Override
+    public void close() {
+        if (!completed) {
+            abort();
+        }
+    }
+
+    /**
+     * Aborts the multipart upload, discarding the uploaded parts. Does nothing once the stream is closed or aborted.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(s3BucketName, s3Key, uploadId));
+            log.info("Aborted multipart upload of s3 key : {}", s3Key);
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} of s3 key : {}", uploadId, s3Key, e);
+        }
+    }
+
+    private void uploadPart() {
+        final int partNumber = partETags.size() + 1;
+        try {
+            partETags.add(s3Client.uploadPart(new UploadPartRequest()
+                    .withBucketName(s3BucketName)
+                    .withKey(s3Key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withInputStream(new ByteArrayInputStream(partBuffer, 0, partLength))
+                    .withPartSize(partLength))
+                    .getPartETag());
+        } catch (AmazonS3Exception e) {
+            throw handleAwsSdkServiceException("Failed to upload a part of the S3 object.", e);
+        } catch (AmazonClientException e) {
+            throw new AmazonPayMerchantURLNonRetryableException("Failed to upload a part of the S3 object.", e);
+        }
+        partLength = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Multipart upload of s3 key " + s3Key + " is already closed");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.amazon.amazonpaymerchanturl.adapter;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.sns.AmazonSNS;
+import com.amazonaws.services.sns.model.BatchResultErrorEntry;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SNS adapter for publishing messages to a topic with PublishBatch calls.
+ *
+ * Entries which fail on the SNS side, and calls which fail with a throttling, server or retryable client error,
+ * are retried with a linear backoff. Entries rejected as sender faults are not retried.
+ */
+@Log4j2
+@Singleton
+public class SNSPublishBatchAdapter {
+
+    /**
+     * Maximum number of messages SNS accepts in a single PublishBatch call.
+     */
+    public static final int MAX_MESSAGES_PER_PUBLISH_BATCH = 10;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_IN_MILLIS = 100;
+
+    private final AmazonSNS snsClient;
+
+    public SNSPublishBatchAdapter(@NonNull final AmazonSNS snsClient) {
+        this.snsClient = snsClient;
+    }
+
+    /**
+     * Publishes up to MAX_MESSAGES_PER_PUBLISH_BATCH messages to the topic, retrying the retryable failures.
+     * @param topicArn the topic arn
+     * @param messages the messages
+     * @return the messages which could not be published
+     */
+    public List<String> publishBatch(@NonNull final String topicArn, @NonNull final List<String> messages) {
+        if (messages.size() > MAX_MESSAGES_PER_PUBLISH_BATCH) {
+            throw new IllegalArgumentException(String.format("Cannot publish %d messages in a single batch,"
+                    + " the maximum is %d", messages.size(), MAX_MESSAGES_PER_PUBLISH_BATCH));
+        }
+        final List<String> failed = new ArrayList<>();
+        List<String> pending = messages;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            final List<String> retryable = new ArrayList<>();
+            failed.addAll(publishOnce(topicArn, pending, retryable));
+            if (!retryable.isEmpty() && (attempt >= MAX_ATTEMPTS || !backOff(attempt))) {
+                failed.addAll(retryable);
+                break;
+            }
+            pending = retryable;
+        }
+        return failed;
+    }
+
+    /**
+     * Makes a single PublishBatch call, the index of a message is used as its batch entry id.
+     * @return the messages which failed and must not be retried, the retryable ones are added to retryable
+     */
+    private List<String> publishOnce(final String topicArn, final List<String> messages,
+                                     final List<String> retryable) {
+        final List<PublishBatchRequestEntry> entries = new ArrayList<>();
+        for (int index = 0; index < messages.size(); index++) {
+            entries.add(new PublishBatchRequestEntry()
+                    .withId(String.valueOf(index))
+                    .withMessage(messages.get(index)));
+        }
+
+        final List<String> failed = new ArrayList<>();
+        try {
+            final PublishBatchResult result = snsClient.publishBatch(new PublishBatchRequest()
+                    .withTopicArn(topicArn)
+                    .withPublishBatchRequestEntries(entries));
+            log.info("Published {} of {} messages to sns topic {}", result.getSuccessful().size(),
+                    messages.size(), topicArn);
+            for (BatchResultErrorEntry error : result.getFailed()) {
+                final String message = messages.get(Integer.parseInt(error.getId()));
+                log.info("Error publishing message {} to sns topic {}, code: {}, reason: {}, sender fault: {}",
+                        message, topicArn, error.getCode(), error.getMessage(), error.getSenderFault());
+                if (Boolean.TRUE.equals(error.getSenderFault())) {
+                    failed.add(message);
+                } else {
+                    retryable.add(message);
+                }
+            }
+        } catch (AmazonServiceException e) {
+            log.info("Error publishing {} messages to sns topic {}", messages.size(), topicArn, e);
+            if (RetryUtils.isRetryableServiceException(e) || RetryUtils.isThrottlingException(e)) {
+                retryable.addAll(messages);
+            } else {
+                failed.addAll(messages);
+            }
+        } catch (SdkClientException e) {
+            log.info("Error publishing {} messages to sns topic {}", messages.size(), topicArn, e);
+            if (e.isRetryable()) {
+                retryable.addAll(messages);
+            } else {
+                failed.addAll(messages);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Waits before the next attempt.
+     * @return false if the thread was interrupted and the messages must not be retried
+     */
+    private boolean backOff(final int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_IN_MILLIS * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
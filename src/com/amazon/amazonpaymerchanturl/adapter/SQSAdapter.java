@@ -14,6 +14,7 @@ import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
 import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
+import dagger.Lazy;
 
 /**
  * SQS adapter for sending messages to queue.
@@ -21,11 +22,11 @@ import com.amazonaws.services.sqs.model.SendMessageRequest;
 @Log4j2
 @Singleton
 public class SQSAdapter {
-    private final AmazonSQS sqsClient;
+    private final Lazy<AmazonSQS> sqsClient;
     private ITranslator<List<String>, SendMessageBatchRequest> sqsBatchRequestTranslator;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
 
-    public SQSAdapter(final AmazonSQS sqsClient,
+    public SQSAdapter(final Lazy<AmazonSQS> sqsClient,
                       final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
         this.sqsClient = sqsClient;
         this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
@@ -44,7 +45,7 @@ public class SQSAdapter {
                 return;
             }
 
-            SendMessageBatchResult result = sqsClient.sendMessageBatch(
+            SendMessageBatchResult result = sqsClient.get().sendMessageBatch(
                     sqsBatchRequestTranslator.translate(messages).withQueueUrl(sqsEndpoint));
 
             if (result.getFailed().isEmpty()) {
@@ -73,7 +74,7 @@ public class SQSAdapter {
         final SendMessageRequest sendMessageRequest = buildSendMessageRequest(message, sqsEndpoint);
 
         try {
-            sqsClient.sendMessage(sendMessageRequest);
+            sqsClient.get().sendMessage(sendMessageRequest);
         } catch (Exception e) {
             logAndPublishMetric(e, sqsEndpoint);
         }
@@ -12,6 +12,7 @@ import com.amazonaws.services.stepfunctions.model.ListExecutionsResult;
 import com.amazonaws.services.stepfunctions.model.SendTaskSuccessRequest;
 import com.amazonaws.services.stepfunctions.model.StartExecutionRequest;
 import com.amazonaws.services.stepfunctions.model.StartExecutionResult;
+import dagger.Lazy;
 
 import javax.inject.Singleton;
 
@@ -27,7 +28,7 @@ import org.apache.commons.lang3.StringUtils;
 @Singleton
 @RequiredArgsConstructor
 public class StepFunctionAdapter {
-    private final AWSStepFunctions stepFunction;
+    private final Lazy<AWSStepFunctions> stepFunction;
 
     private static final String USED_TASK_TOKEN_ERROR_MESSAGE = "Provided task does not exist anymore";
 
@@ -66,7 +67,7 @@ public class StepFunctionAdapter {
 
     private String startExecution(final StartExecutionRequest startExecutionRequest) {
         try {
-            final StartExecutionResult startExecutionResult = stepFunction.startExecution(startExecutionRequest);
+            final StartExecutionResult startExecutionResult = stepFunction.get().startExecution(startExecutionRequest);
 
             final String executionId = startExecutionResult.getExecutionArn();
             log.info("Step function [{}] started successfully", executionId);
@@ -91,7 +92,7 @@ public class StepFunctionAdapter {
                 .withTaskToken(taskToken)
                 .withOutput(payload);
         try {
-            stepFunction.sendTaskSuccess(request);
+            stepFunction.get().sendTaskSuccess(request);
             log.info("Step function resumed successfully for taskToken [{}] ", taskToken);
             return true;
         } catch (final AWSStepFunctionsException e) {
@@ -139,7 +140,7 @@ public class StepFunctionAdapter {
         final DescribeExecutionRequest request = new DescribeExecutionRequest()
                 .withExecutionArn(workflowId);
         try {
-            final DescribeExecutionResult describeExecutionResult = stepFunction.describeExecution(request);
+            final DescribeExecutionResult describeExecutionResult = stepFunction.get().describeExecution(request);
             log.info("Step function status for workflowId [{}] is {}", workflowId, describeExecutionResult.getStatus());
             return describeExecutionResult;
         } catch (final AWSStepFunctionsException e) {
@@ -173,7 +174,7 @@ public class StepFunctionAdapter {
         }
 
         try {
-            final ListExecutionsResult listExecutionsResult = stepFunction.listExecutions(request);
+            final ListExecutionsResult listExecutionsResult = stepFunction.get().listExecutions(request);
             log.info("List of step function executionItem with workflowStatus [{}] is {}", workflowStatus,
                     listExecutionsResult);
             return listExecutionsResult;
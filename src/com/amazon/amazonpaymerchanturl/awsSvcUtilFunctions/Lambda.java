@@ -31,7 +31,29 @@ public final class Lambda {
         private CloudWatchMetricsHelper cloudWatchMetricsHelper;
     }
 
+    /**
+     * Outcome of an asynchronous lambda invocation.
+     */
+    public enum AsyncInvocationOutcome {
+        /**
+         * The lambda was invoked with the payload.
+         */
+        INVOKED,
+        /**
+         * The invocation failed and the payload was sent back to the DLQ of the lambda.
+         */
+        SENT_TO_DLQ,
+        /**
+         * The invocation failed and the payload could not be sent back to the DLQ of the lambda.
+         */
+        FAILED
+    }
+
     public static boolean invokeLambdaAsync(InvokeLambdaAsyncInput input) {
+        return invokeLambdaAsyncWithOutcome(input) == AsyncInvocationOutcome.INVOKED;
+    }
+
+    public static AsyncInvocationOutcome invokeLambdaAsyncWithOutcome(InvokeLambdaAsyncInput input) {
         final InvokeRequest request = new InvokeRequest().withFunctionName(input.lambdaName)
                 .withInvocationType(InvocationType.Event)
                 .withPayload(input.payload);
@@ -41,15 +63,15 @@ public final class Lambda {
             input.cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(LAMBDA_ASYNC_INVOCATION_FAILED);
             log.error("lambda: {} invocation failed. error: {} sending payload back to DLQ. Payload: {}",
                     input.lambdaName, e, input.payload);
-            sendMsgToLambdaDLQ(SQS.SendMsgToLambdaDLQInput.builder()
+            final boolean sentToDLQ = sendMsgToLambdaDLQ(SQS.SendMsgToLambdaDLQInput.builder()
                     .sqsClient(input.sqsClient)
                     .lambdaName(input.lambdaName)
                     .jsonMsg(input.payload)
                     .cloudWatchMetricsHelper(input.cloudWatchMetricsHelper)
                     .context(input.context).build());
-            return false;
+            return sentToDLQ ? AsyncInvocationOutcome.SENT_TO_DLQ : AsyncInvocationOutcome.FAILED;
         }
-        return true;
+        return AsyncInvocationOutcome.INVOKED;
     }
 
     public static String accountId(Context context) {
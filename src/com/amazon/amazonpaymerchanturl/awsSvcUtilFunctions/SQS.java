@@ -3,11 +3,17 @@ package com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import lombok.Builder;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda.accountId;
 import static com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda.executionRegion;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DLQ_MSG_DELETE_FAILED;
@@ -49,6 +55,58 @@ public final class SQS {
         return true;
     }
 
+    /**
+     * Maximum number of entries SQS accepts in a single DeleteMessageBatch call.
+     */
+    private static final int MAX_DELETE_BATCH_SIZE = 10;
+
+    @Builder
+    public static class DeleteMsgBatchFromLambdaDLQInput {
+        private AmazonSQS sqsClient;
+        private List<String> receiptHandles;
+        private String lambdaName;
+        private CloudWatchMetricsHelper cloudWatchMetricsHelper;
+        private Context context;
+    }
+
+    /**
+     * Deletes the messages from the DLQ of the lambda with DeleteMessageBatch calls of up to 10 entries.
+     * @return the receipt handles of the messages which could not be deleted
+     */
+    public static List<String> deleteMsgBatchFromLambdaDLQ(DeleteMsgBatchFromLambdaDLQInput input) {
+        final String url = dlqURL(input.lambdaName, input.context);
+        final List<String> failedReceiptHandles = new ArrayList<>();
+
+        for (int start = 0; start < input.receiptHandles.size(); start += MAX_DELETE_BATCH_SIZE) {
+            final List<String> batch = input.receiptHandles.subList(start,
+                    Math.min(start + MAX_DELETE_BATCH_SIZE, input.receiptHandles.size()));
+            final List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+            for (int index = 0; index < batch.size(); index++) {
+                entries.add(new DeleteMessageBatchRequestEntry()
+                        .withId(String.valueOf(index))
+                        .withReceiptHandle(batch.get(index)));
+            }
+
+            log.debug("deleting {} messages from DLQ: {} ", entries.size(), url);
+            try {
+                final DeleteMessageBatchResult result = input.sqsClient.deleteMessageBatch(
+                        new DeleteMessageBatchRequest().withQueueUrl(url).withEntries(entries));
+                result.getFailed().forEach(error -> {
+                    input.cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DLQ_MSG_DELETE_FAILED);
+                    log.error("deletion of message with handle: {} from queue: {} failed: {}",
+                            batch.get(Integer.parseInt(error.getId())), url, error.getMessage());
+                    failedReceiptHandles.add(batch.get(Integer.parseInt(error.getId())));
+                });
+            } catch (Exception e) {
+                input.cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DLQ_MSG_DELETE_FAILED,
+                        batch.size());
+                log.error("deletion of {} messages from queue: {} failed: {}", batch.size(), url, e);
+                failedReceiptHandles.addAll(batch);
+            }
+        }
+        return failedReceiptHandles;
+    }
+
     @Builder
     public static class SendMsgToLambdaDLQInput {
         private AmazonSQS sqsClient;
@@ -3,6 +3,7 @@ package com.amazon.amazonpaymerchanturl.component;
 import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.module.DynamoDBMapperModule;
+import com.amazon.amazonpaymerchanturl.adapter.DomainValidationBatchLoadAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.ParagonInvestigationServiceAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
 import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
@@ -10,11 +11,15 @@ import com.amazon.amazonpaymerchanturl.adapter.StegoServiceAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.constants.ModuleConstants;
 import com.amazon.amazonpaymerchanturl.factory.PostUrlReviewActionTaskFactory;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
+import com.amazon.amazonpaymerchanturl.helper.UrlCanonicalizer;
+import com.amazon.amazonpaymerchanturl.helper.VendorReviewResponseCache;
 import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
 import com.amazon.amazonpaymerchanturl.module.AWSServicesClientModule;
 import com.amazon.amazonpaymerchanturl.module.AWSAdapterModule;
 import com.amazon.amazonpaymerchanturl.module.ConfigModule;
 import com.amazon.amazonpaymerchanturl.module.CloudWatchMetricsModule;
+import com.amazon.amazonpaymerchanturl.module.ExecutorModule;
 import com.amazon.amazonpaymerchanturl.module.FactoryModule;
 import com.amazon.amazonpaymerchanturl.module.ParagonServiceInvestigationModule;
 import com.amazon.amazonpaymerchanturl.module.S3Module;
@@ -23,12 +28,17 @@ import com.amazon.amazonpaymerchanturl.module.SlapshotServiceModule;
 import com.amazon.amazonpaymerchanturl.module.StegoServiceModule;
 import com.amazon.amazonpaymerchanturl.module.TranslatorModule;
 import com.amazon.amazonpaymerchanturl.module.TaskModule;
+import com.amazon.amazonpaymerchanturl.processor.BuildDomainValidationUrlFilterProcessor;
+import com.amazon.amazonpaymerchanturl.processor.BulkDeleteUrlProcessor;
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor;
+import com.amazon.amazonpaymerchanturl.processor.GetLatestVendorReviewResponseProcessor;
 import com.amazon.amazonpaymerchanturl.processor.DeleteUrlProcessor;
 import com.amazon.amazonpaymerchanturl.translator.ITranslator;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor.UrlInvestigationMetricProcessor;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.AmazonPayMerchantURLAppConfig;
 import com.amazon.amazonpaymerchanturl.processor.URLValidationResultProcessor;
+import com.amazon.amazonpaymerchanturl.provider.DetailedInspectionEvidenceProvider;
 import com.amazon.amazonpaymerchanturl.provider.WeblabTreatmentInformationProvider;
 import com.amazon.amazonpaymerchanturl.task.CallbackWorkflowDeterminatorTask;
 import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
@@ -37,6 +47,7 @@ import com.amazon.amazonpaymerchanturl.utils.UrlStatusNotificationUtil;
 import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazon.amazonpaymerchanturl.utils.StegoDBUrlUpdateUtil;
 import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
 import com.amazonaws.services.stepfunctions.AWSStepFunctions;
@@ -44,18 +55,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.amazonaws.cloudcover.agent.CloudCoverJavaAgent;
 import com.google.gson.Gson;
 import dagger.Component;
+import dagger.Lazy;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.time.Clock;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.BI_DELTA_SYNC_DLQ_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_MANUAL_RESPONSE_WORKFLOW_DLQ_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_URL_REVIEW_WORKFLOW_DLQ_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_VENDOR_RESPONSE_WORKFLOW_ERROR_QUEUE_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.POST_URL_REVIEW_ACTION_TASK_FACTORY;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_REVIEW_EXECUTOR_SERVICE;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_STATUS_SNS_ADAPTER;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_RESPONSE_VALIDATION_ERROR_QUEUE_URL;
 
@@ -73,7 +87,8 @@ import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_R
         TaskModule.class,
         SlapshotServiceModule.class,
         S3Module.class,
-        FactoryModule.class
+        FactoryModule.class,
+        ExecutorModule.class
 })
 public interface LambdaComponent {
 
@@ -110,6 +125,8 @@ public interface LambdaComponent {
 
     DomainValidationDDBAdapter providesDomainValidationDDBAdapter();
 
+    DomainValidationBatchLoadAdapter providesDomainValidationBatchLoadAdapter();
+
     UrlInvestigationDDBAdapter providesUrlInvestigationDDBAdapter();
 
     CloudWatchMetricsHelper providesCloudWatchMetricsHelper();
@@ -120,9 +137,17 @@ public interface LambdaComponent {
 
     AmazonSQS providesSQSServiceClient();
 
+    AmazonS3 providesS3ServiceClient();
+
+    Lazy<AWSLambda> providesLazyLambdaServiceClient();
+
+    Lazy<AmazonSQS> providesLazySQSServiceClient();
+
     @Named(URL_STATUS_SNS_ADAPTER)
     SNSAdapter providesSNSAdapter();
 
+    UrlStatusNotificationBatcher providesUrlStatusNotificationBatcher();
+
     StegoDBUrlUpdateUtil provideStegoDBUrlUpdateUtil();
 
     LambdaResponseUtil provideLambdaResponseUtil();
@@ -177,5 +202,22 @@ public interface LambdaComponent {
 
     DeleteUrlProcessor providesDeleteUrlProcessor();
 
+    BulkDeleteUrlProcessor providesBulkDeleteUrlProcessor();
+
+    DLQMessageReplayProcessor providesDLQMessageReplayProcessor();
+
+    DetailedInspectionEvidenceProvider providesDetailedInspectionEvidenceProvider();
+
+    VendorReviewResponseCache providesVendorReviewResponseCache();
+
+    UrlCanonicalizer providesUrlCanonicalizer();
+
+    GetLatestVendorReviewResponseProcessor providesGetLatestVendorReviewResponseProcessor();
+
+    BuildDomainValidationUrlFilterProcessor providesBuildDomainValidationUrlFilterProcessor();
+
     WeblabHelper provideWeblabHelper();
+
+    @Named(URL_REVIEW_EXECUTOR_SERVICE)
+    ExecutorService providesUrlReviewExecutorService();
 }
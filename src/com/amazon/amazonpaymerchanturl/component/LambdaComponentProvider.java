@@ -0,0 +1,111 @@
+package com.amazon.amazonpaymerchanturl.component;
+
+import com.amazon.amazonpaymerchanturl.model.QueueEvent;
+import com.amazon.amazonpaymerchanturl.model.SQSRecord;
+import com.amazon.amazonpaymerchanturl.model.URLReviewRequest;
+import com.amazon.apurlvalidation.UrlValidation;
+import com.amazon.urlvalidationdaggerclientconfig.component.DaggerURLValidationComponent;
+import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
+import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.BooleanUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.STARTUP_PRIMING_ENABLED;
+
+/**
+ * Holds the dagger components shared by the lambda handlers of a container.
+ * <p>
+ * Every component is created once per JVM on first use, so a handler constructor only resolves its dependencies
+ * from an already built graph. AWS clients are built on first use, unless startup priming is enabled in which case
+ * they are built and the jackson serializers are warmed while the lambda component is created, i.e. in the init
+ * phase before a SnapStart snapshot is taken.
+ */
+@Log4j2
+public final class LambdaComponentProvider {
+
+    private LambdaComponentProvider() {
+    }
+
+    /**
+     * Returns the lambda component of the container, with the app config initialized.
+     * @return LambdaComponent
+     */
+    public static LambdaComponent getLambdaComponent() {
+        return LambdaComponentHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the url vendor review lib component of the container.
+     * @return UrlVendorReviewLibComponent
+     */
+    public static UrlVendorReviewLibComponent getUrlVendorReviewLibComponent() {
+        return UrlVendorReviewLibComponentHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the url validation of the container.
+     * @return UrlValidation
+     */
+    public static UrlValidation getUrlValidation() {
+        return UrlValidationHolder.INSTANCE;
+    }
+
+    /**
+     * Logs the time taken to initialize a handler.
+     * @param handlerClass   the handler class
+     * @param initStartNanos value of System.nanoTime() when the handler initialization started
+     */
+    public static void logInitDuration(final Class<?> handlerClass, final long initStartNanos) {
+        log.info("{} initialized in {} ms", handlerClass.getSimpleName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - initStartNanos));
+    }
+
+    private static LambdaComponent createLambdaComponent() {
+        final long startNanos = System.nanoTime();
+        final LambdaComponent lambdaComponent = DaggerLambdaComponent.create();
+        lambdaComponent.initializeAppConfig();
+        if (BooleanUtils.toBoolean(System.getenv(STARTUP_PRIMING_ENABLED))) {
+            prime(lambdaComponent);
+        }
+        log.info("LambdaComponent created in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return lambdaComponent;
+    }
+
+    /**
+     * Builds the AWS clients and warms the jackson serializers of the most used models.
+     * Priming is best effort, a failure is logged and the clients are built again on first use.
+     */
+    private static void prime(final LambdaComponent lambdaComponent) {
+        try {
+            lambdaComponent.providesLambdaServiceClient();
+            lambdaComponent.providesSQSServiceClient();
+            lambdaComponent.providesStepFunctionClient();
+            lambdaComponent.providesS3ServiceClient();
+
+            final ObjectMapper mapper = lambdaComponent.providesObjectMapper();
+            final QueueEvent queueEvent = QueueEvent.builder()
+                    .records(Collections.singletonList(SQSRecord.builder().body("{}").build()))
+                    .build();
+            mapper.readValue(mapper.writeValueAsString(queueEvent), QueueEvent.class);
+            mapper.readTree(mapper.writeValueAsString(URLReviewRequest.builder().build()));
+        } catch (Exception e) {
+            log.warn("Priming of the lambda component failed.", e);
+        }
+    }
+
+    private static final class LambdaComponentHolder {
+        private static final LambdaComponent INSTANCE = createLambdaComponent();
+    }
+
+    private static final class UrlVendorReviewLibComponentHolder {
+        private static final UrlVendorReviewLibComponent INSTANCE = DaggerUrlVendorReviewLibComponent.create();
+    }
+
+    private static final class UrlValidationHolder {
+        private static final UrlValidation INSTANCE = DaggerURLValidationComponent.create().getUrlValidation();
+    }
+}
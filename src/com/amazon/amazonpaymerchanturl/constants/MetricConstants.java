@@ -190,6 +190,11 @@ public final class MetricConstants {
      */
     public static final String DLQ_MSG_SEND_FAILED = "DLQMessageSendOperationFailed";
 
+    /**
+     * DLQ message discarded as it failed again once received the maximum number of times.
+     */
+    public static final String DLQ_MSG_RECEIVE_LIMIT_EXCEEDED = "DLQMessageReceiveLimitExceeded";
+
     /**
      * For the Default handler Unknown Exception caught.
      */
@@ -373,4 +378,116 @@ public final class MetricConstants {
      */
     public static final String PROCESS_DELETE_URL_FAILURE_METRICS_SERVER_ERROR
             = "ProcessDeleteUrlFailureMetrics_ServerError";
+
+    /**
+     * DomainValidation DDB batch load failure metrics.
+     */
+    public static final String DOMAIN_VALIDATION_DDB_BATCH_LOAD_FAILED = "DomainValidationDDBBatchLoadFailed";
+
+    /**
+     * Weblab treatment served from the in-process treatment cache.
+     */
+    public static final String WEBLAB_TREATMENT_CACHE_HIT = "WeblabTreatmentCacheHit";
+
+    /**
+     * Weblab treatment fetched from slapshot on a treatment cache miss.
+     */
+    public static final String WEBLAB_TREATMENT_CACHE_MISS = "WeblabTreatmentCacheMiss";
+
+    /**
+     * Detailed inspection evidences served from the in-process evidence cache.
+     */
+    public static final String DETAILED_INSPECTION_CACHE_HIT = "DetailedInspectionCacheHit";
+
+    /**
+     * Detailed inspection evidences fetched from the vendor on an evidence cache miss.
+     */
+    public static final String DETAILED_INSPECTION_CACHE_MISS = "DetailedInspectionCacheMiss";
+
+    /**
+     * Detailed inspection fetches not completed within the request deadline.
+     */
+    public static final String DETAILED_INSPECTION_FETCH_TIMEOUT = "DetailedInspectionFetchTimeout";
+
+    /**
+     * Cached vendor review response served after checking it is built from the latest review.
+     */
+    public static final String GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_HIT = "GetLatestVendorReviewResponseCacheHit";
+
+    /**
+     * Vendor review response built from UrlInvestigation DDB and the vendor on a response cache miss.
+     */
+    public static final String GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_MISS = "GetLatestVendorReviewResponseCacheMiss";
+
+    /**
+     * GetLatestVendorReviewResponse request latency.
+     */
+    public static final String GET_LATEST_VENDOR_REVIEW_RESPONSE_LATENCY = "GetLatestVendorReviewResponseLatency";
+
+    /**
+     * Success Metrics for the BatchGetLatestVendorReviewResponse lambda.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS
+            = "BatchGetLatestVendorReviewResponseSuccessMetrics";
+
+    /**
+     * Failure Metrics for the BatchGetLatestVendorReviewResponse lambda.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS
+            = "BatchGetLatestVendorReviewResponseFailureMetrics";
+
+    /**
+     * Urls of a BatchGetLatestVendorReviewResponse request left out of the response to keep it within the lambda
+     * response payload limit.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SIZE_EXCEEDED
+            = "BatchGetLatestVendorReviewResponseSizeExceeded";
+
+    /**
+     * Bad request Failure Metrics for the BatchGetLatestVendorReviewResponse lambda.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS_BAD_REQUEST
+            = "BatchGetLatestVendorReviewResponseFailureMetricsBadRequest";
+
+    /**
+     * BatchGetLatestVendorReviewResponse request latency.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_LATENCY
+            = "BatchGetLatestVendorReviewResponseLatency";
+
+    /**
+     * Vendor callback DomainValidation DDB lookups skipped because the url filter does not contain the url.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_SKIPPED_LOOKUP = "DomainValidationUrlFilterSkippedLookup";
+
+    /**
+     * Vendor callback DomainValidation DDB lookups which found no entry for a url contained in the url filter.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_FALSE_POSITIVE = "DomainValidationUrlFilterFalsePositive";
+
+    /**
+     * Vendor callback auto monitoring scans without a readable created date, whose urls are all looked up in DDB.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_MISSING_SCAN_CREATED_DATE =
+            "DomainValidationUrlFilterMissingScanCreatedDate";
+
+    /**
+     * Age of the DomainValidation url filter when it is loaded by a container.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_AGE = "DomainValidationUrlFilterAge";
+
+    /**
+     * Failures to load the DomainValidation url filter from S3.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_LOAD_FAILED = "DomainValidationUrlFilterLoadFailed";
+
+    /**
+     * Failures to rebuild the DomainValidation url filter.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_BUILD_FAILED = "DomainValidationUrlFilterBuildFailed";
+
+    /**
+     * Number of entries of the rebuilt DomainValidation url filter.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_ENTRIES = "DomainValidationUrlFilterEntries";
 }
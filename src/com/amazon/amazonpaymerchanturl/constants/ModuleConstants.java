@@ -203,4 +203,182 @@ public final class ModuleConstants {
      * Defines start manual workflow task handler.
      */
     public static final String START_MANUAL_WORKFLOW_TASK  = "StartManualWorkflowTaskHandler";
+
+    /**
+     * Defines the url review executor service used by executeUrlReviewWorkflow lambda.
+     */
+    public static final String URL_REVIEW_EXECUTOR_SERVICE = "UrlReviewExecutorService";
+
+    /**
+     * Defines the degree of parallelism for per url processing in executeUrlReviewWorkflow lambda.
+     */
+    public static final String EXECUTE_URL_REVIEW_WORKFLOW_PARALLELISM = "ExecuteUrlReviewWorkflowParallelism";
+
+    /**
+     * Defines the executor service used to replay messages from the DLQ of async lambda functions.
+     */
+    public static final String DLQ_REPLAY_EXECUTOR_SERVICE = "DLQReplayExecutorService";
+
+    /**
+     * Defines the number of DLQ messages replayed concurrently.
+     */
+    public static final String DLQ_REPLAY_PARALLELISM = "DLQReplayParallelism";
+
+    /**
+     * Defines the number of receives after which a DLQ message which still fails to be replayed is discarded.
+     */
+    public static final String DLQ_REPLAY_MAX_RECEIVE_COUNT = "DLQReplayMaxReceiveCount";
+
+    /**
+     * Defines the time to live in seconds of the cached weblab treatments.
+     */
+    public static final String WEBLAB_TREATMENT_CACHE_TTL_SECONDS = "WeblabTreatmentCacheTtlSeconds";
+
+    /**
+     * Defines the maximum number of cached weblab treatments.
+     */
+    public static final String WEBLAB_TREATMENT_CACHE_MAX_SIZE = "WeblabTreatmentCacheMaxSize";
+
+    /**
+     * Defines whether AWS clients and serializers are primed while the lambda component is initialized.
+     */
+    public static final String STARTUP_PRIMING_ENABLED = "StartupPrimingEnabled";
+
+    /**
+     * Defines the executor service used to process the scan items of vendor callbacks.
+     */
+    public static final String CALLBACK_WORKFLOW_EXECUTOR_SERVICE = "CallbackWorkflowExecutorService";
+
+    /**
+     * Defines the number of ordered lanes used to process the scan items of vendor callbacks concurrently.
+     */
+    public static final String CALLBACK_WORKFLOW_PARALLELISM = "CallbackWorkflowParallelism";
+
+    /**
+     * Defines the executor service used to delete the urls of a merchant concurrently.
+     */
+    public static final String DELETE_URL_EXECUTOR_SERVICE = "DeleteUrlExecutorService";
+
+    /**
+     * Defines the number of urls of a merchant deleted concurrently.
+     */
+    public static final String DELETE_URL_PARALLELISM = "DeleteUrlParallelism";
+
+    /**
+     * Defines the executor service used to download the parts of large S3 objects concurrently.
+     */
+    public static final String S3_RANGED_GET_EXECUTOR_SERVICE = "S3RangedGetExecutorService";
+
+    /**
+     * Defines the number of parts of a large S3 object downloaded concurrently.
+     */
+    public static final String S3_RANGED_GET_PARALLELISM = "S3RangedGetParallelism";
+
+    /**
+     * Defines the size in bytes of the parts in which S3 objects are downloaded.
+     */
+    public static final String S3_RANGED_GET_PART_SIZE_IN_BYTES = "S3RangedGetPartSizeInBytes";
+
+    /**
+     * Defines whether large S3 objects are downloaded as concurrent ranged gets, disabled by default.
+     */
+    public static final String S3_RANGED_GET_ENABLED = "S3RangedGetEnabled";
+
+    /**
+     * Defines whether urls are lowercase converted and standardized in a single scan when possible, disabled by
+     * default.
+     */
+    public static final String URL_CANONICALIZER_FAST_PATH_ENABLED = "UrlCanonicalizerFastPathEnabled";
+
+    /**
+     * Defines the executor service used to fetch the detailed inspections of a vendor review concurrently.
+     */
+    public static final String DETAILED_INSPECTION_EXECUTOR_SERVICE = "DetailedInspectionExecutorService";
+
+    /**
+     * Defines the number of detailed inspections of a vendor review fetched concurrently.
+     */
+    public static final String DETAILED_INSPECTION_PARALLELISM = "DetailedInspectionParallelism";
+
+    /**
+     * Defines the time in milliseconds a request waits for the detailed inspections of a vendor review.
+     */
+    public static final String DETAILED_INSPECTION_DEADLINE_MILLIS = "DetailedInspectionDeadlineMillis";
+
+    /**
+     * Defines the time to live in seconds of the cached detailed inspection evidences.
+     */
+    public static final String DETAILED_INSPECTION_CACHE_TTL_SECONDS = "DetailedInspectionCacheTtlSeconds";
+
+    /**
+     * Defines the maximum number of cached detailed inspection evidences.
+     */
+    public static final String DETAILED_INSPECTION_CACHE_MAX_SIZE = "DetailedInspectionCacheMaxSize";
+
+    /**
+     * Defines the time to live in seconds of the cached vendor review responses.
+     */
+    public static final String VENDOR_REVIEW_RESPONSE_CACHE_TTL_SECONDS = "VendorReviewResponseCacheTtlSeconds";
+
+    /**
+     * Defines the maximum number of vendor review responses cached in process.
+     */
+    public static final String VENDOR_REVIEW_RESPONSE_CACHE_MAX_SIZE = "VendorReviewResponseCacheMaxSize";
+
+    /**
+     * Defines the executor service used to build the latest vendor review responses of several urls concurrently.
+     */
+    public static final String VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE = "VendorReviewResponseExecutorService";
+
+    /**
+     * Defines the number of latest vendor review responses built concurrently.
+     */
+    public static final String VENDOR_REVIEW_RESPONSE_PARALLELISM = "VendorReviewResponseParallelism";
+
+    /**
+     * Defines the maximum number of urls of a batch latest vendor review response request.
+     */
+    public static final String BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_MAX_URLS
+            = "BatchGetLatestVendorReviewResponseMaxUrls";
+
+    /**
+     * Defines whether the SLA metrics reports are gzip compressed.
+     */
+    public static final String METRICS_REPORT_GZIP_ENABLED = "MetricsReportGzipEnabled";
+
+    /**
+     * Defines the executor service used to query the day partitions of the SLA metrics concurrently.
+     */
+    public static final String METRICS_QUERY_EXECUTOR_SERVICE = "MetricsQueryExecutorService";
+
+    /**
+     * Defines the number of day partitions of the SLA metrics queried concurrently.
+     */
+    public static final String METRICS_QUERY_PARALLELISM = "MetricsQueryParallelism";
+
+    /**
+     * Defines the comma separated ISO dates which are not business days for the SLA metrics.
+     */
+    public static final String METRICS_HOLIDAYS = "MetricsHolidays";
+
+    /**
+     * Defines whether the SLA metrics are computed incrementally from the checkpoint of the previous run.
+     */
+    public static final String METRICS_INCREMENTAL_ENABLED = "MetricsIncrementalEnabled";
+
+    /**
+     * Defines whether vendor callbacks check the DomainValidation url filter before looking up DomainValidation DDB.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_ENABLED = "DomainValidationUrlFilterEnabled";
+
+    /**
+     * Defines the age in minutes past which the DomainValidation url filter is ignored.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_MAX_AGE_MINUTES = "DomainValidationUrlFilterMaxAgeMinutes";
+
+    /**
+     * Defines the number of DomainValidation DDB entries the url filter is sized for.
+     */
+    public static final String DOMAIN_VALIDATION_URL_FILTER_EXPECTED_ENTRIES
+            = "DomainValidationUrlFilterExpectedEntries";
 }
@@ -2,25 +2,76 @@ package com.amazon.amazonpaymerchanturl.helper;
 
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLCloudwatchMetricException;
 import com.amazon.lambdaskurge.adapter.MetricsAdapter;
+import com.amazonaws.services.cloudwatch.AmazonCloudWatch;
 import com.amazonaws.services.cloudwatch.model.InternalServiceException;
 import com.amazonaws.services.cloudwatch.model.InvalidParameterCombinationException;
 import com.amazonaws.services.cloudwatch.model.InvalidParameterValueException;
+import com.amazonaws.services.cloudwatch.model.MetricDatum;
 import com.amazonaws.services.cloudwatch.model.MissingRequiredParameterException;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 /***
  * This class is responsible for publishing custom metrics to cloudwatch.
+ *
+ * By default every metric is published synchronously. Once {@link #enableBuffering()} is called, counts are
+ * aggregated in memory per metric name and times are collected, until {@link #flushBufferedMetrics()} publishes
+ * them at the end of the invocation. Each aggregated count is recorded once through the metrics adapter, like an
+ * unbuffered count, so both modes publish the same metric. Buffered times are sent as value sets in batched
+ * PutMetricData calls with the namespace and unit of unbuffered times, so cloudwatch still computes their
+ * percentiles. A flush never throws, the metrics which could not be published are logged and dropped.
  */
 @Log4j2
 public class CloudWatchMetricsHelper {
 
+    /**
+     * Maximum number of metric datum sent in a single PutMetricData call.
+     */
+    private static final int MAX_METRIC_DATUM_PER_REQUEST = 20;
+
+    /**
+     * Maximum number of values in a single metric datum.
+     */
+    private static final int MAX_VALUES_PER_METRIC_DATUM = 150;
+
     private final MetricsAdapter metricsAdapter;
+    private final AmazonCloudWatch cloudWatchClient;
+    private final String metricNamespace;
+    private final AtomicBoolean buffering = new AtomicBoolean(false);
+
+    /**
+     * Metrics are added to the buffer under the read lock, the buffer is swapped under the write lock, so no
+     * thread is still adding to a buffer once it is drained.
+     */
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    private MetricBuffer buffer = new MetricBuffer();
 
     @Inject
     public CloudWatchMetricsHelper(@NonNull MetricsAdapter metricsAdapter) {
+        this(metricsAdapter, null, null);
+    }
+
+    public CloudWatchMetricsHelper(@NonNull MetricsAdapter metricsAdapter,
+                                   final AmazonCloudWatch cloudWatchClient,
+                                   final String metricNamespace) {
         this.metricsAdapter = metricsAdapter;
+        this.cloudWatchClient = cloudWatchClient;
+        this.metricNamespace = metricNamespace;
     }
 
     /***
@@ -28,6 +79,10 @@ public class CloudWatchMetricsHelper {
      * @param metricName - the metric name
      */
     public void publishRecordCountMetricToCloudWatch(@NonNull final String metricName) {
+        if (isBuffering()) {
+            bufferCount(metricName, 1);
+            return;
+        }
         try {
             metricsAdapter.recordCount(metricName);
             log.debug("{} Published Successfully.", metricName);
@@ -38,9 +93,14 @@ public class CloudWatchMetricsHelper {
 
     /***
      * This method internally invoked recordCount() method with value for publishing custom metrics to cloudwatch.
+     * In buffered mode the value is added to the in-memory count of the metric instead.
      * @param metricName - the metric name
      */
     public void publishRecordCountMetricToCloudWatch(@NonNull final String metricName, final int value) {
+        if (isBuffering()) {
+            bufferCount(metricName, value);
+            return;
+        }
         try {
             metricsAdapter.recordCount(metricName, value);
             log.debug("{} Published Successfully.", metricName);
@@ -49,6 +109,130 @@ public class CloudWatchMetricsHelper {
         }
     }
 
+    /***
+     * This method publishes a time metric in milliseconds to cloudwatch.
+     * Times are only published when a cloudwatch client is available.
+     * @param metricName - the metric name
+     * @param timeInMillis - the time in milliseconds
+     */
+    public void publishTimeMetricToCloudWatch(@NonNull final String metricName, final long timeInMillis) {
+        if (cloudWatchClient == null) {
+            log.debug("{} not published, no cloudwatch client available.", metricName);
+            return;
+        }
+        if (isBuffering()) {
+            bufferTime(metricName, timeInMillis);
+            return;
+        }
+        try {
+            cloudWatchClient.putMetricData(new PutMetricDataRequest()
+                    .withNamespace(metricNamespace)
+                    .withMetricData(new MetricDatum()
+                            .withMetricName(metricName)
+                            .withUnit(StandardUnit.Milliseconds)
+                            .withValue((double) timeInMillis)
+                            .withTimestamp(new Date())));
+            log.debug("{} Published Successfully.", metricName);
+        } catch (Exception e) {
+            handleException(e);
+        }
+    }
+
+    /***
+     * Switches the helper to buffered mode for the current invocation.
+     * Buffering is only enabled when a cloudwatch client is available for batched publishing.
+     */
+    public void enableBuffering() {
+        if (cloudWatchClient != null) {
+            buffering.set(true);
+        }
+    }
+
+    /***
+     * Publishes all buffered counts and switches the helper back to synchronous mode.
+     * Handlers should call this at the end of every invocation in which buffering was enabled.
+     */
+    public void flushBufferedMetrics() {
+        buffering.set(false);
+        publishBufferedMetrics();
+    }
+
+    public boolean isBuffering() {
+        return buffering.get();
+    }
+
+    private void bufferCount(final String metricName, final int value) {
+        bufferLock.readLock().lock();
+        try {
+            buffer.counts.computeIfAbsent(metricName, name -> new LongAdder()).add(value);
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    private void bufferTime(final String metricName, final long timeInMillis) {
+        bufferLock.readLock().lock();
+        try {
+            buffer.times.computeIfAbsent(metricName, name -> new ConcurrentLinkedQueue<>()).add((double) timeInMillis);
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps the buffer for an empty one and publishes the aggregated counts and times of the previous buffer. The
+     * times are published in chunks of MAX_METRIC_DATUM_PER_REQUEST.
+     */
+    private void publishBufferedMetrics() {
+        final MetricBuffer drainedBuffer;
+        bufferLock.writeLock().lock();
+        try {
+            drainedBuffer = buffer;
+            buffer = new MetricBuffer();
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+
+        drainedBuffer.counts.forEach((metricName, count) -> {
+            try {
+                metricsAdapter.recordCount(metricName, (int) Math.min(count.sum(), Integer.MAX_VALUE));
+                log.debug("{} Published Successfully.", metricName);
+            } catch (Exception e) {
+                // The work of the invocation is done, failing it or hiding its own exception would be worse
+                log.error("Unable to publish buffered metric {} to cloudwatch.", metricName, e);
+            }
+        });
+
+        final Date timestamp = new Date();
+        final List<MetricDatum> metricData = new ArrayList<>();
+        for (Map.Entry<String, Queue<Double>> times : drainedBuffer.times.entrySet()) {
+            final String metricName = times.getKey();
+            final List<Double> values = new ArrayList<>(times.getValue());
+            for (int start = 0; start < values.size(); start += MAX_VALUES_PER_METRIC_DATUM) {
+                metricData.add(new MetricDatum()
+                        .withMetricName(metricName)
+                        .withUnit(StandardUnit.Milliseconds)
+                        .withValues(values.subList(start, Math.min(start + MAX_VALUES_PER_METRIC_DATUM,
+                                values.size())))
+                        .withTimestamp(timestamp));
+            }
+        }
+
+        for (int start = 0; start < metricData.size(); start += MAX_METRIC_DATUM_PER_REQUEST) {
+            final List<MetricDatum> chunk = metricData.subList(start,
+                    Math.min(start + MAX_METRIC_DATUM_PER_REQUEST, metricData.size()));
+            try {
+                cloudWatchClient.putMetricData(new PutMetricDataRequest()
+                        .withNamespace(metricNamespace)
+                        .withMetricData(chunk));
+                log.debug("{} buffered metrics Published Successfully.", chunk.size());
+            } catch (Exception e) {
+                // The work of the invocation is done, failing it or hiding its own exception would be worse
+                log.error("Unable to publish {} buffered metrics to cloudwatch.", chunk.size(), e);
+            }
+        }
+    }
+
     /**
      * This method holds the logic of exception handling
      *
@@ -69,4 +253,12 @@ public class CloudWatchMetricsHelper {
 
         throw new AmazonPayMerchantURLCloudwatchMetricException(message, e);
     }
+
+    /**
+     * Buffered counts and times of an invocation.
+     */
+    private static final class MetricBuffer {
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        private final Map<String, Queue<Double>> times = new ConcurrentHashMap<>();
+    }
 }
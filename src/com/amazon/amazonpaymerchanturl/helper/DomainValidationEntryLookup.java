@@ -0,0 +1,48 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per invocation lookup of DomainValidation DDB entries prefetched for a clientReferenceGroupId.
+ *
+ * Prefetched entries are grouped by the canonical key of the urls which may write them, e.g. their standardized
+ * url. Callers must process the urls of a canonical key sequentially from a single thread and invalidate the key
+ * after each url, so every later read of the group goes to DDB and sees the previous writes. Urls which were not
+ * prefetched are loaded from DDB.
+ */
+@RequiredArgsConstructor
+public class DomainValidationEntryLookup {
+
+    private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final String clientReferenceGroupId;
+    private final Map<String, Map<String, Optional<AmazonPayDomainValidationItem>>> prefetchedEntries;
+
+    /**
+     * Gets the entry for the url from the prefetched entries of its canonical key, falling back to a DDB read.
+     * @param canonicalKey the canonical key the url was prefetched with
+     * @param url          the url
+     * @return the DomainValidation DDB entry, null if the url is not present in DDB
+     */
+    public AmazonPayDomainValidationItem loadEntry(@NonNull final String canonicalKey, @NonNull final String url) {
+        final Map<String, Optional<AmazonPayDomainValidationItem>> group = prefetchedEntries.get(canonicalKey);
+        final Optional<AmazonPayDomainValidationItem> prefetchedEntry = group == null ? null : group.get(url);
+        if (prefetchedEntry != null) {
+            return prefetchedEntry.orElse(null);
+        }
+        return domainValidationDDBAdapter.loadEntry(clientReferenceGroupId, url);
+    }
+
+    /**
+     * Drops the prefetched entries of a canonical key once one of its urls was processed and may have written them.
+     * @param canonicalKey the canonical key
+     */
+    public void invalidate(@NonNull final String canonicalKey) {
+        prefetchedEntries.remove(canonicalKey);
+    }
+}
@@ -0,0 +1,106 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.amazon.amazonpaymerchanturl.utils.HandlersUtil.createClientReferenceGroupIdUrl;
+
+/**
+ * Bloom filter over the (clientReferenceGroupId, normalizedUrl) pairs of the DomainValidation table.
+ *
+ * A pair the filter does not contain had no entry in the table when the filter was built, so its query can be
+ * skipped. A pair the filter contains may still have no entry, with the false positive probability of the filter.
+ * Entries created after the filter was built are unknown to it, so callers must only trust a miss for entries
+ * which are known to be older than the filter.
+ */
+public class DomainValidationUrlFilter {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final BloomFilter<CharSequence> bloomFilter;
+
+    @Getter
+    private final long builtAtMillis;
+
+    private DomainValidationUrlFilter(final BloomFilter<CharSequence> bloomFilter, final long builtAtMillis) {
+        this.bloomFilter = bloomFilter;
+        this.builtAtMillis = builtAtMillis;
+    }
+
+    /**
+     * Creates an empty filter sized for the expected number of entries.
+     * @param expectedEntries the expected number of entries
+     * @param falsePositiveProbability the false positive probability once the expected entries are added
+     * @return the empty filter
+     */
+    public static DomainValidationUrlFilter create(final long expectedEntries, final double falsePositiveProbability) {
+        return new DomainValidationUrlFilter(BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                expectedEntries, falsePositiveProbability), System.currentTimeMillis());
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(OutputStream)}.
+     * @param inputStream the serialized filter, not closed by this method
+     * @return the filter
+     * @throws IOException if the filter cannot be read
+     */
+    public static DomainValidationUrlFilter readFrom(@NonNull final InputStream inputStream) throws IOException {
+        final DataInputStream dataInputStream = new DataInputStream(inputStream);
+        final int formatVersion = dataInputStream.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported domain validation url filter format version " + formatVersion);
+        }
+        final long builtAtMillis = dataInputStream.readLong();
+        return new DomainValidationUrlFilter(BloomFilter.readFrom(dataInputStream,
+                Funnels.stringFunnel(StandardCharsets.UTF_8)), builtAtMillis);
+    }
+
+    /**
+     * Writes the filter.
+     * @param outputStream the stream to write to, not closed by this method
+     * @throws IOException if the filter cannot be written
+     */
+    public void writeTo(@NonNull final OutputStream outputStream) throws IOException {
+        final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+        dataOutputStream.writeLong(builtAtMillis);
+        bloomFilter.writeTo(dataOutputStream);
+        dataOutputStream.flush();
+    }
+
+    public void put(@NonNull final String clientReferenceGroupId, @NonNull final String normalizedUrl) {
+        bloomFilter.put(createClientReferenceGroupIdUrl(clientReferenceGroupId, normalizedUrl));
+    }
+
+    /**
+     * Checks whether the pair may have an entry in the table.
+     * @param clientReferenceGroupId the clientReferenceGroupId
+     * @param normalizedUrl the normalized url
+     * @return false if the pair had no entry when the filter was built
+     */
+    public boolean mightContain(@NonNull final String clientReferenceGroupId, @NonNull final String normalizedUrl) {
+        return bloomFilter.mightContain(createClientReferenceGroupIdUrl(clientReferenceGroupId, normalizedUrl));
+    }
+
+    /**
+     * Returns the current false positive probability of the filter, which grows past the configured one when
+     * more entries than expected were added.
+     * @return the false positive probability
+     */
+    public double getExpectedFalsePositiveProbability() {
+        return bloomFilter.expectedFpp();
+    }
+
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - builtAtMillis;
+    }
+}
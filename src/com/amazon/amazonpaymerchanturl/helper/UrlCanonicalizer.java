@@ -0,0 +1,242 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.helper.UrlReviewGroups.UrlConverter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.amazon.amazonpaymerchanturl.constants.UrlStandardizeConstants.HTTP_PROTOCOL;
+import static com.amazon.amazonpaymerchanturl.constants.UrlStandardizeConstants.WWW_URL_IDENTIFIER;
+import static com.amazon.amazonpaymerchanturl.constants.UrlStandardizeConstants.WWW_URL_OFFSET;
+
+/**
+ * Converts urls to their lowercase converted and standardized forms.
+ *
+ * When the fast path is enabled, a url made of an http(s) scheme, a host of letters, digits, dots and hyphens and an
+ * optional path without uppercase letters is converted in a single scan, with the lowercase converted form built in a
+ * thread-local buffer and no intermediate URL parsing. A url which is already in its converted form is returned
+ * as is. The standardized form is only produced by the fast path for a url without path, every other url is
+ * converted by the lowercase converter and the standardizer, see UrlCanonicalizerTest for the differential corpus.
+ */
+@Log4j2
+public class UrlCanonicalizer {
+
+    private static final String HTTPS_PROTOCOL = "https://";
+    private static final String SCHEME_DELIMITER = "://";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final UrlConverter toLowercaseUrl;
+    private final UrlConverter toStandardizedUrl;
+    private final boolean fastPathEnabled;
+
+    public UrlCanonicalizer(@NonNull final UrlConverter toLowercaseUrl,
+                            @NonNull final UrlConverter toStandardizedUrl,
+                            final boolean fastPathEnabled) {
+        this.toLowercaseUrl = toLowercaseUrl;
+        this.toStandardizedUrl = toStandardizedUrl;
+        this.fastPathEnabled = fastPathEnabled;
+    }
+
+    /**
+     * Lowercase converted and standardized forms of a url.
+     */
+    @Value
+    public static class CanonicalUrl {
+        String lowercaseUrl;
+        String standardizedUrl;
+    }
+
+    /**
+     * Converts a url to lowercase.
+     * @param url the url
+     * @return the lowercase converted url
+     * @throws Exception if the url cannot be converted
+     */
+    public String toLowercaseUrl(@NonNull final String url) throws Exception {
+        final int hostEnd = fastPathEnabled ? getHostEnd(url) : -1;
+        return hostEnd < 0 ? toLowercaseUrl.convert(url) : lowercase(url, hostEnd);
+    }
+
+    /**
+     * Standardizes a lowercase converted url.
+     * @param lowercaseUrl the lowercase converted url
+     * @return the standardized url
+     * @throws Exception if the url cannot be standardized
+     */
+    public String toStandardizedUrl(@NonNull final String lowercaseUrl) throws Exception {
+        final int hostEnd = fastPathEnabled ? getHostEnd(lowercaseUrl) : -1;
+        final String standardizedUrl = hostEnd < 0 ? null : standardize(lowercaseUrl, hostEnd);
+        return standardizedUrl == null ? toStandardizedUrl.convert(lowercaseUrl) : standardizedUrl;
+    }
+
+    /**
+     * Converts a url to its lowercase converted and standardized forms, scanning the url once on the fast path.
+     * @param url the url
+     * @return the lowercase converted and standardized url
+     * @throws Exception if the url cannot be converted
+     */
+    public CanonicalUrl canonicalize(@NonNull final String url) throws Exception {
+        final int hostEnd = fastPathEnabled ? getHostEnd(url) : -1;
+        if (hostEnd < 0) {
+            final String lowercaseUrl = toLowercaseUrl.convert(url);
+            return new CanonicalUrl(lowercaseUrl, lowercaseUrl == null ? null : toStandardizedUrl(lowercaseUrl));
+        }
+        final String lowercaseUrl = lowercase(url, hostEnd);
+        final String standardizedUrl = standardize(lowercaseUrl, hostEnd);
+        return new CanonicalUrl(lowercaseUrl,
+                standardizedUrl == null ? toStandardizedUrl.convert(lowercaseUrl) : standardizedUrl);
+    }
+
+    /**
+     * Converts a list of urls to lowercase, each distinct url is converted once.
+     * @param urls the urls
+     * @return the lowercase converted urls by url, in the order of the urls, without the urls which cannot be
+     *         converted
+     */
+    public Map<String, String> toLowercaseUrls(@NonNull final Collection<String> urls) {
+        final Map<String, String> lowercaseUrls = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url == null || lowercaseUrls.containsKey(url)) {
+                continue;
+            }
+            try {
+                final String lowercaseUrl = toLowercaseUrl(url);
+                if (lowercaseUrl != null) {
+                    lowercaseUrls.put(url, lowercaseUrl);
+                }
+            } catch (Exception e) {
+                log.info("Unable to convert url {} to lowercase", url, e);
+            }
+        }
+        return lowercaseUrls;
+    }
+
+    /**
+     * Converts a list of urls to their lowercase converted and standardized forms, each distinct url is converted
+     * once.
+     * @param urls the urls
+     * @return the canonical urls by url, in the order of the urls, without the urls which cannot be converted
+     */
+    public Map<String, CanonicalUrl> canonicalize(@NonNull final Collection<String> urls) {
+        final Map<String, CanonicalUrl> canonicalUrls = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url == null || canonicalUrls.containsKey(url)) {
+                continue;
+            }
+            try {
+                final CanonicalUrl canonicalUrl = canonicalize(url);
+                if (canonicalUrl.getLowercaseUrl() != null && canonicalUrl.getStandardizedUrl() != null) {
+                    canonicalUrls.put(url, canonicalUrl);
+                }
+            } catch (Exception e) {
+                log.info("Unable to convert url {}", url, e);
+            }
+        }
+        return canonicalUrls;
+    }
+
+    /**
+     * Returns the end of the host of a url the fast path can convert, or -1 if the url must be converted by the
+     * lowercase converter and the standardizer.
+     */
+    private static int getHostEnd(final String url) {
+        final int hostStart;
+        if (url.regionMatches(true, 0, HTTPS_PROTOCOL, 0, HTTPS_PROTOCOL.length())) {
+            hostStart = HTTPS_PROTOCOL.length();
+        } else if (url.regionMatches(true, 0, HTTP_PROTOCOL, 0, HTTP_PROTOCOL.length())) {
+            hostStart = HTTP_PROTOCOL.length();
+        } else {
+            return -1;
+        }
+        int index = hostStart;
+        char previous = '.';
+        while (index < url.length() && url.charAt(index) != '/') {
+            final char character = url.charAt(index);
+            // Empty labels, e.g. a leading, trailing or doubled dot, are left to the lowercase converter
+            if (!isHostChar(character) || (character == '.' && previous == '.')) {
+                return -1;
+            }
+            previous = character;
+            index++;
+        }
+        final int hostEnd = index;
+        if (hostEnd == hostStart || previous == '.') {
+            return -1;
+        }
+        for (; index < url.length(); index++) {
+            if (!isPathChar(url.charAt(index))) {
+                return -1;
+            }
+        }
+        return hostEnd;
+    }
+
+    private static String lowercase(final String url, final int hostEnd) {
+        if (!hasUppercase(url, hostEnd)) {
+            return url;
+        }
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (int index = 0; index < hostEnd; index++) {
+            buffer.append(toLowercase(url.charAt(index)));
+        }
+        return buffer.append(url, hostEnd, url.length()).toString();
+    }
+
+    /**
+     * Standardizes a lowercase converted url without path, returns null for a url with a path.
+     */
+    private static String standardize(final String lowercaseUrl, final int hostEnd) {
+        if (hostEnd != lowercaseUrl.length()) {
+            return null;
+        }
+        int hostStart = lowercaseUrl.indexOf(SCHEME_DELIMITER) + SCHEME_DELIMITER.length();
+        if (lowercaseUrl.startsWith(WWW_URL_IDENTIFIER, hostStart)) {
+            hostStart += WWW_URL_OFFSET;
+            if (hostStart == hostEnd || lowercaseUrl.charAt(hostStart) == '.') {
+                return null;
+            }
+        }
+        if (hostStart == HTTP_PROTOCOL.length() && lowercaseUrl.startsWith(HTTP_PROTOCOL)) {
+            return lowercaseUrl;
+        }
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return buffer.append(HTTP_PROTOCOL).append(lowercaseUrl, hostStart, hostEnd).toString();
+    }
+
+    private static boolean hasUppercase(final String url, final int hostEnd) {
+        for (int index = 0; index < hostEnd; index++) {
+            final char character = url.charAt(index);
+            if (character >= 'A' && character <= 'Z') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static char toLowercase(final char character) {
+        return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+    }
+
+    private static boolean isHostChar(final char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9') || character == '.' || character == '-';
+    }
+
+    /**
+     * Path characters the fast path keeps as is, i.e. printable ascii but uppercase letters, escapes and
+     * characters the lowercase converter may encode or reject.
+     */
+    private static boolean isPathChar(final char character) {
+        return character > ' ' && character < 0x7F && !(character >= 'A' && character <= 'Z')
+                && character != '%' && character != '\\' && character != '"' && character != '<'
+                && character != '>' && character != '^' && character != '`' && character != '{'
+                && character != '|' && character != '}';
+    }
+}
@@ -0,0 +1,110 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Urls of a url review request grouped by the DomainValidation DDB entries they share.
+ *
+ * Urls with the same standardized url share its DDB entry and are grouped under it, so a group can be reviewed by a
+ * single task and its urls never race on their entries. Within a group, duplicate urls and urls which only differ
+ * in case have the same lowercase converted url and are reviewed once.
+ */
+@Getter
+@Log4j2
+public final class UrlReviewGroups {
+
+    /**
+     * Requested urls by lowercase converted url, by standardized url, in the order they were requested.
+     */
+    private final Map<String, Map<String, List<RequestedUrl>>> groups = new LinkedHashMap<>();
+
+    /**
+     * Requested urls which could not be converted and cannot be reviewed.
+     */
+    private final List<RequestedUrl> unconvertedUrls = new ArrayList<>();
+
+    private UrlReviewGroups() {
+    }
+
+    /**
+     * Url of a url review request with the urlType it was requested for.
+     */
+    @Value
+    public static class RequestedUrl {
+        String urlType;
+        String url;
+    }
+
+    /**
+     * Converts a url, failing or returning null when the url cannot be converted.
+     */
+    @FunctionalInterface
+    public interface UrlConverter {
+        String convert(String url) throws Exception;
+    }
+
+    /**
+     * Groups the urls of a url review request.
+     * @param urlsByType        the requested urls by urlType
+     * @param toLowercaseUrl    converts a requested url to lowercase
+     * @param toStandardizedUrl standardizes a lowercase converted url
+     * @return the grouped urls
+     */
+    public static UrlReviewGroups of(@NonNull final Map<String, List<String>> urlsByType,
+                                     @NonNull final UrlConverter toLowercaseUrl,
+                                     @NonNull final UrlConverter toStandardizedUrl) {
+        final UrlReviewGroups urlReviewGroups = new UrlReviewGroups();
+        urlsByType.forEach((urlType, urls) -> {
+            if (urls == null) {
+                return;
+            }
+            urls.forEach(url -> urlReviewGroups.add(new RequestedUrl(urlType, url), toLowercaseUrl,
+                    toStandardizedUrl));
+        });
+        return urlReviewGroups;
+    }
+
+    /**
+     * Returns the standardized url of every lowercase converted url.
+     * @return standardized urls by lowercase converted url
+     */
+    public Map<String, String> getStandardizedUrls() {
+        final Map<String, String> standardizedUrls = new LinkedHashMap<>();
+        groups.forEach((standardizedUrl, group) ->
+                group.keySet().forEach(lowercaseUrl -> standardizedUrls.put(lowercaseUrl, standardizedUrl)));
+        return standardizedUrls;
+    }
+
+    private void add(final RequestedUrl requestedUrl, final UrlConverter toLowercaseUrl,
+                     final UrlConverter toStandardizedUrl) {
+        final String lowercaseUrl = convert(toLowercaseUrl, requestedUrl.getUrl());
+        final String standardizedUrl = lowercaseUrl == null ? null : convert(toStandardizedUrl, lowercaseUrl);
+        if (standardizedUrl == null) {
+            unconvertedUrls.add(requestedUrl);
+            return;
+        }
+        groups.computeIfAbsent(standardizedUrl, key -> new LinkedHashMap<>())
+                .computeIfAbsent(lowercaseUrl, key -> new ArrayList<>())
+                .add(requestedUrl);
+    }
+
+    private static String convert(final UrlConverter urlConverter, final String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return urlConverter.convert(url);
+        } catch (Exception e) {
+            log.info("Unable to convert url {}", url, e);
+            return null;
+        }
+    }
+}
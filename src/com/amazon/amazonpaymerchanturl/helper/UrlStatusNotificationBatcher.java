@@ -0,0 +1,106 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.adapter.SNSPublishBatchAdapter;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.amazon.amazonpaymerchanturl.adapter.SNSPublishBatchAdapter.MAX_MESSAGES_PER_PUBLISH_BATCH;
+
+/**
+ * Publishes url status notifications with SNS PublishBatch calls instead of one Publish call per message.
+ *
+ * Messages can either be published right away with {@link #publish(String, List)}, or buffered per topic with
+ * {@link #add(String, String)}. A topic buffer is published once it holds a full batch or once its oldest message
+ * has waited for the maximum buffering time, and every remaining message is published on {@link #flush()}.
+ * Buffers are drained under the lock and published outside of it, so callers adding messages never wait on SNS.
+ * Handlers buffering messages should flush in the finally block of every invocation.
+ */
+@Log4j2
+public class UrlStatusNotificationBatcher {
+
+    /**
+     * Maximum time a buffered message waits for its batch to fill up.
+     */
+    private static final long MAX_BUFFERING_TIME_IN_MILLIS = 1_000;
+
+    private final SNSPublishBatchAdapter snsPublishBatchAdapter;
+    private final Map<String, List<String>> bufferedMessages = new HashMap<>();
+    private final Map<String, Long> oldestBufferedMessageTime = new HashMap<>();
+    private final List<String> failedMessages = new ArrayList<>();
+
+    public UrlStatusNotificationBatcher(@NonNull final SNSPublishBatchAdapter snsPublishBatchAdapter) {
+        this.snsPublishBatchAdapter = snsPublishBatchAdapter;
+    }
+
+    /**
+     * Publishes the messages to the topic in batches of MAX_MESSAGES_PER_PUBLISH_BATCH messages.
+     * @param topicArn  the topic arn
+     * @param messages  the messages
+     * @return the messages which could not be published
+     */
+    public List<String> publish(@NonNull final String topicArn, @NonNull final List<String> messages) {
+        final List<String> failed = new ArrayList<>();
+        for (int start = 0; start < messages.size(); start += MAX_MESSAGES_PER_PUBLISH_BATCH) {
+            failed.addAll(snsPublishBatchAdapter.publishBatch(topicArn, messages.subList(start,
+                    Math.min(start + MAX_MESSAGES_PER_PUBLISH_BATCH, messages.size()))));
+        }
+        return failed;
+    }
+
+    /**
+     * Buffers the message for the topic, publishing the topic buffer if it is full or has waited long enough.
+     * @param topicArn  the topic arn
+     * @param message   the message
+     */
+    public void add(@NonNull final String topicArn, @NonNull final String message) {
+        final List<String> batch;
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            final List<String> topicMessages = bufferedMessages.computeIfAbsent(topicArn,
+                    topic -> new ArrayList<>());
+            topicMessages.add(message);
+            oldestBufferedMessageTime.putIfAbsent(topicArn, now);
+
+            if (topicMessages.size() < MAX_MESSAGES_PER_PUBLISH_BATCH
+                    && now - oldestBufferedMessageTime.get(topicArn) < MAX_BUFFERING_TIME_IN_MILLIS) {
+                return;
+            }
+            batch = drain(topicArn);
+        }
+        addFailedMessages(publish(topicArn, batch));
+    }
+
+    /**
+     * Publishes every buffered message.
+     * @return the buffered messages which could not be published since the previous flush
+     */
+    public List<String> flush() {
+        final Map<String, List<String>> batches;
+        synchronized (this) {
+            batches = new HashMap<>(bufferedMessages);
+            bufferedMessages.clear();
+            oldestBufferedMessageTime.clear();
+        }
+        batches.forEach((topicArn, messages) -> addFailedMessages(publish(topicArn, messages)));
+
+        synchronized (this) {
+            final List<String> failed = new ArrayList<>(failedMessages);
+            failedMessages.clear();
+            return failed;
+        }
+    }
+
+    private synchronized void addFailedMessages(final List<String> messages) {
+        failedMessages.addAll(messages);
+    }
+
+    private List<String> drain(final String topicArn) {
+        oldestBufferedMessageTime.remove(topicArn);
+        return bufferedMessages.remove(topicArn);
+    }
+}
@@ -0,0 +1,68 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.model.CachedVendorReviewResponse;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.NonNull;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size bounded in-process cache of serialized GetLatestVendorReviewResponse payloads, keyed by
+ * clientReferenceGroupId and url.
+ *
+ * A cached response is only valid while the latest UrlInvestigation item still has the review start and end time
+ * the response was built from, so a newer review always replaces it.
+ */
+public class VendorReviewResponseCache {
+
+    private final Cache<String, CachedVendorReviewResponse> cache;
+
+    public VendorReviewResponseCache(final long cacheTtlSeconds,
+                                     final long cacheMaxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
+    /**
+     * Gets the cached response.
+     * @param key the cache key
+     * @return the cached response, or null if absent
+     */
+    public CachedVendorReviewResponse get(@NonNull final String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Checks whether the cached response was built from the given review.
+     * @param response        the cached response
+     * @param reviewStartTime the review start time of the latest UrlInvestigation item
+     * @param reviewEndTime   the review end time of the latest UrlInvestigation item
+     * @return true if the response was built from a review with the same start and end time
+     */
+    public boolean isBuiltFrom(@NonNull final CachedVendorReviewResponse response, final Long reviewStartTime,
+                               final Long reviewEndTime) {
+        return Objects.equals(response.getReviewStartTime(), reviewStartTime)
+                && Objects.equals(response.getReviewEndTime(), reviewEndTime);
+    }
+
+    /**
+     * Caches the response built from the review with the given start and end time.
+     * @param key             the cache key
+     * @param reviewStartTime the review start time of the UrlInvestigation item the response was built from
+     * @param reviewEndTime   the review end time of the UrlInvestigation item the response was built from
+     * @param responseBody    the serialized response
+     */
+    public void put(@NonNull final String key, final Long reviewStartTime, final Long reviewEndTime,
+                    @NonNull final String responseBody) {
+        final CachedVendorReviewResponse response = CachedVendorReviewResponse.builder()
+                .reviewStartTime(reviewStartTime)
+                .reviewEndTime(reviewEndTime)
+                .responseBody(responseBody)
+                .build();
+        cache.put(key, response);
+    }
+}
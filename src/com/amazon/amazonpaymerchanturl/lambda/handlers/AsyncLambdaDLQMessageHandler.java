@@ -19,6 +19,7 @@ import java.io.OutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -30,21 +31,20 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.SQS;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.LambdaResponseInput;
 import com.amazon.amazonpaymerchanturl.model.ProcessInvestigationRequest;
 import com.amazon.amazonpaymerchanturl.model.QueueEvent;
 import com.amazon.amazonpaymerchanturl.model.SQSRecord;
 import com.amazon.amazonpaymerchanturl.model.TriggerURLReviewRequest;
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor;
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor.ReplayOutcome;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
 
-import com.amazonaws.services.lambda.AWSLambda;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
-import com.amazonaws.services.sqs.AmazonSQS;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -63,9 +63,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * <p>
  * e. Increments the retry count post validation, if valid.
  * <p>
- * f. Deletes the records from DLQ post processing - if valid or invalid(discards).
+ * f. Re-invokes the origin lambda concurrently on a dedicated executor.
  * <p>
- * g. Sends response to output stream.
+ * g. Deletes the records from DLQ in batches post processing - if replayed or invalid(discards). Records which
+ * could neither be replayed nor sent back to the DLQ, or were not attempted in time, are left in the DLQ and fail
+ * the invocation so they are not acknowledged.
+ * <p>
+ * h. Sends response to output stream.
  */
 @RequiredArgsConstructor
 @Log4j2
@@ -74,18 +78,17 @@ public class AsyncLambdaDLQMessageHandler implements RequestStreamHandler {
     private final LambdaComponent lambdaComponent;
     private final ObjectMapper objectMapper;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
-    private final AWSLambda lambdaClient;
-    private final AmazonSQS sqsClient;
     private final LambdaResponseUtil lambdaResponseUtil;
+    private final DLQMessageReplayProcessor dlqMessageReplayProcessor;
 
     public AsyncLambdaDLQMessageHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
-        this.lambdaClient = lambdaComponent.providesLambdaServiceClient();
-        this.sqsClient = lambdaComponent.providesSQSServiceClient();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
+        this.dlqMessageReplayProcessor = lambdaComponent.providesDLQMessageReplayProcessor();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -105,32 +108,9 @@ public class AsyncLambdaDLQMessageHandler implements RequestStreamHandler {
         log.info("Found {} messages for this execution", eventRecords.size());
 
         if (CollectionUtils.isNotEmpty(eventRecords)) {
-            eventRecords.parallelStream().forEach(sqsRecord -> {
-                log.debug("Invoking origin lambda with input: {}", sqsRecord.getBody());
-
-                final String modifiedRecordBody = modifyRecord(sqsRecord, originLambdaName).getBody();
-
-                if (StringUtils.isNotEmpty(modifiedRecordBody)) {
-                    Lambda.invokeLambdaAsync(
-                            Lambda.InvokeLambdaAsyncInput.builder()
-                                    .lambdaClient(lambdaClient)
-                                    .sqsClient(sqsClient)
-                                    .lambdaName(originLambdaName)
-                                    .payload(modifiedRecordBody)
-                                    .cloudWatchMetricsHelper(cloudWatchMetricsHelper)
-                                    .context(context)
-                                    .build()
-                    );
-                }
-                SQS.deleteMsgFromLambdaDLQ(
-                        SQS.DeleteMsgFromLambdaDLQInput.builder()
-                                .sqsClient(this.sqsClient)
-                                .lambdaName(originLambdaName)
-                                .receiptHandle(sqsRecord.getReceiptHandle())
-                                .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
-                                .context(context).build()
-                );
-            });
+            final Map<String, ReplayOutcome> outcomes = dlqMessageReplayProcessor.replay(eventRecords,
+                    originLambdaName, sqsRecord -> modifyRecord(sqsRecord, originLambdaName).getBody(), context);
+            dlqMessageReplayProcessor.verifyAllHandled(outcomes, originLambdaName);
 
             log.info("Successfully processed DLQ messages with status code : {}", SUCCESS_STATUS_CODE);
             lambdaResponseUtil.sendResponse(
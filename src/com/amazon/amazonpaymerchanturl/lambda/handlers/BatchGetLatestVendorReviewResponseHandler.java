@@ -0,0 +1,215 @@
+package com.amazon.amazonpaymerchanturl.lambda.handlers;
+
+import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLInvalidInputException;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.model.BatchGetLatestVendorReviewResponse;
+import com.amazon.amazonpaymerchanturl.model.BatchGetLatestVendorReviewResponseRequest;
+import com.amazon.amazonpaymerchanturl.model.BatchVendorReviewResponseResult;
+import com.amazon.amazonpaymerchanturl.model.VendorReviewResponseResult;
+import com.amazon.amazonpaymerchanturl.processor.GetLatestVendorReviewResponseProcessor;
+import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda.lambdaFunctionName;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS_BAD_REQUEST;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_LATENCY;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SIZE_EXCEEDED;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_MAX_URLS;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.FAILED_STATUS_CODE;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.INTERNAL_SERVER_ERROR;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
+
+/**
+ * BatchGetLatestVendorReviewResponseHandler returns the latest vendor review response of several urls of a merchant.
+ *
+ * The responses of the urls are built concurrently, each with its own status code. The request succeeds with 200
+ * when every url succeeded and with 207 otherwise. The response body is kept within the lambda response payload
+ * limit, urls whose response does not fit any more fail with 413 and have to be requested again.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class BatchGetLatestVendorReviewResponseHandler {
+
+    private static final String PATH_PARAM_CLIENT_REF_GROUP_ID_KEY = "clientReferenceGroupId";
+    private static final int DEFAULT_MAX_URLS = 25;
+    // Budget of the embedded responses, below the 6 MB lambda response payload limit to leave room for the
+    // envelope and the escaping of the body
+    private static final long MAX_RESPONSES_BYTES = 4L * 1024 * 1024;
+    private static final String RESPONSE_SIZE_EXCEEDED = "Response size limit exceeded, request the url again";
+
+    private final LambdaComponent lambdaComponent;
+    private final JSONObjectMapperUtil jsonObjectMapperUtil;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final GetLatestVendorReviewResponseProcessor getLatestVendorReviewResponseProcessor;
+    private final int maxUrls;
+
+    public BatchGetLatestVendorReviewResponseHandler() {
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
+        this.jsonObjectMapperUtil = lambdaComponent.providesJSONObjectMapperUtil();
+        this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
+        this.getLatestVendorReviewResponseProcessor = lambdaComponent.providesGetLatestVendorReviewResponseProcessor();
+        this.maxUrls = NumberUtils.toInt(System.getenv(BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_MAX_URLS),
+                DEFAULT_MAX_URLS);
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
+    }
+
+    /**
+     * handleRequest entry point for BatchGetLatestVendorReviewResponse Lambda
+     * @param apiGatewayProxyRequestEvent apiGatewayProxyRequestEvent, with the urls in the body
+     * @param context context
+     * @return the latest vendor review response of every url
+     */
+    public APIGatewayProxyResponseEvent handleRequest(
+            final APIGatewayProxyRequestEvent apiGatewayProxyRequestEvent,
+            final Context context) {
+
+        String lambdaFunctionName = lambdaFunctionName(context);
+        log.info(lambdaFunctionName + " lambda invoked.");
+
+        // Metrics of the request are published in a single call at the end of the invocation
+        final long startNanos = System.nanoTime();
+        cloudWatchMetricsHelper.enableBuffering();
+        try {
+            return getLatestVendorReviewResponses(apiGatewayProxyRequestEvent);
+        } finally {
+            cloudWatchMetricsHelper.publishTimeMetricToCloudWatch(BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_LATENCY,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            cloudWatchMetricsHelper.flushBufferedMetrics();
+        }
+    }
+
+    private APIGatewayProxyResponseEvent getLatestVendorReviewResponses(
+            final APIGatewayProxyRequestEvent apiGatewayProxyRequestEvent) {
+        final String clientReferenceGroupId;
+        final List<String> urls;
+        try {
+            clientReferenceGroupId = getClientReferenceGroupId(apiGatewayProxyRequestEvent.getPathParameters());
+            urls = getUrls(apiGatewayProxyRequestEvent.getBody());
+        } catch (AmazonPayMerchantURLInvalidInputException | AmazonPayMerchantURLNonRetryableException e) {
+            log.error("Invalid Request while calling BatchGetLatestVendorReviewResponse lambda", e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS_BAD_REQUEST);
+            return new APIGatewayProxyResponseEvent().withStatusCode(HttpStatus.SC_BAD_REQUEST)
+                    .withBody(e.getMessage());
+        }
+
+        log.info("Getting latest vendor review response of {} urls for clientReferenceGroupId: {}",
+                urls.size(), clientReferenceGroupId);
+        final Map<String, BatchVendorReviewResponseResult> responses = toBatchResults(
+                getLatestVendorReviewResponseProcessor.process(clientReferenceGroupId, urls));
+        final BatchGetLatestVendorReviewResponse batchResponse = BatchGetLatestVendorReviewResponse.builder()
+                .clientReferenceGroupId(clientReferenceGroupId)
+                .responses(responses)
+                .build();
+
+        final String body;
+        try {
+            body = jsonObjectMapperUtil.serialize(batchResponse);
+        } catch (AmazonPayMerchantURLNonRetryableException e) {
+            log.error("AmazonPayMerchantURLNonRetryableException while serialising batchGetLatestVendorReviewResponse",
+                    e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+            return new APIGatewayProxyResponseEvent().withStatusCode(FAILED_STATUS_CODE)
+                    .withBody(INTERNAL_SERVER_ERROR);
+        }
+
+        final boolean allSucceeded = responses.values().stream()
+                .allMatch(result -> Objects.equals(result.getStatusCode(), SUCCESS_STATUS_CODE));
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS);
+        return new APIGatewayProxyResponseEvent()
+                .withStatusCode(allSucceeded ? HttpStatus.SC_OK : HttpStatus.SC_MULTI_STATUS)
+                .withBody(body);
+    }
+
+    /*
+     * Embeds the serialized response of every successful url, and the error message of every failed url, until the
+     * responses budget is spent. The urls whose response no longer fits fail with 413.
+     */
+    private Map<String, BatchVendorReviewResponseResult> toBatchResults(
+            final Map<String, VendorReviewResponseResult> results) {
+        final Map<String, BatchVendorReviewResponseResult> batchResults = new LinkedHashMap<>();
+        long remainingBytes = MAX_RESPONSES_BYTES;
+        int sizeExceededUrls = 0;
+        for (Map.Entry<String, VendorReviewResponseResult> entry : results.entrySet()) {
+            final VendorReviewResponseResult result = entry.getValue();
+            final String body = StringUtils.defaultString(result.getBody());
+            final long bodyBytes = body.getBytes(StandardCharsets.UTF_8).length;
+            if (bodyBytes > remainingBytes) {
+                sizeExceededUrls++;
+                batchResults.put(entry.getKey(), BatchVendorReviewResponseResult.builder()
+                        .statusCode(HttpStatus.SC_REQUEST_TOO_LONG)
+                        .error(RESPONSE_SIZE_EXCEEDED)
+                        .build());
+                continue;
+            }
+            remainingBytes -= bodyBytes;
+            final boolean succeeded = Objects.equals(result.getStatusCode(), SUCCESS_STATUS_CODE);
+            batchResults.put(entry.getKey(), BatchVendorReviewResponseResult.builder()
+                    .statusCode(result.getStatusCode())
+                    .response(succeeded ? body : null)
+                    .error(succeeded ? null : body)
+                    .build());
+        }
+        if (sizeExceededUrls > 0) {
+            log.warn("Left {} urls out of the batch latest vendor review response to fit the payload limit",
+                    sizeExceededUrls);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    BATCH_GET_LATEST_VENDOR_REVIEW_RESPONSE_SIZE_EXCEEDED, sizeExceededUrls);
+        }
+        return batchResults;
+    }
+
+    private String getClientReferenceGroupId(final Map<String, String> pathParams) {
+        if (Objects.isNull(pathParams) || StringUtils.isEmpty(pathParams.get(PATH_PARAM_CLIENT_REF_GROUP_ID_KEY))) {
+            throw new AmazonPayMerchantURLInvalidInputException("clientReferenceGroupId is missing");
+        }
+        return pathParams.get(PATH_PARAM_CLIENT_REF_GROUP_ID_KEY);
+    }
+
+    /*
+     * Returns the distinct urls of the request body, in the order they were given.
+     */
+    private List<String> getUrls(final String body) {
+        if (StringUtils.isBlank(body)) {
+            throw new AmazonPayMerchantURLInvalidInputException("Request body is missing");
+        }
+        final BatchGetLatestVendorReviewResponseRequest request =
+                jsonObjectMapperUtil.deserialize(body, BatchGetLatestVendorReviewResponseRequest.class);
+        if (request == null || CollectionUtils.isEmpty(request.getUrls())
+                || request.getUrls().stream().anyMatch(StringUtils::isBlank)) {
+            throw new AmazonPayMerchantURLInvalidInputException("urls are missing or blank");
+        }
+
+        final List<String> urls = new ArrayList<>(new LinkedHashSet<>(request.getUrls()));
+        if (urls.size() > maxUrls) {
+            throw new AmazonPayMerchantURLInvalidInputException(
+                    String.format("At most %d urls can be requested, got %d", maxUrls, urls.size()));
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,79 @@
+package com.amazon.amazonpaymerchanturl.lambda.handlers;
+
+import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.model.LambdaResponseInput;
+import com.amazon.amazonpaymerchanturl.processor.BuildDomainValidationUrlFilterProcessor;
+import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda.lambdaFunctionName;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_BUILD_FAILED;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
+
+/**
+ * BuildDomainValidationUrlFilterHandler periodically rebuilds the DomainValidation url filter checked by the
+ * vendor callbacks before looking up DomainValidation DDB. It is invoked on a schedule, the event is ignored.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class BuildDomainValidationUrlFilterHandler implements RequestStreamHandler {
+
+    private final LambdaComponent lambdaComponent;
+    private final ObjectMapper objectMapper;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final LambdaResponseUtil lambdaResponseUtil;
+    private final BuildDomainValidationUrlFilterProcessor buildDomainValidationUrlFilterProcessor;
+
+    public BuildDomainValidationUrlFilterHandler() {
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
+        this.objectMapper = lambdaComponent.providesObjectMapper();
+        this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
+        this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
+        this.buildDomainValidationUrlFilterProcessor =
+                lambdaComponent.providesBuildDomainValidationUrlFilterProcessor();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
+    }
+
+    /**
+     * handleRequest entry point for BuildDomainValidationUrlFilter Lambda.
+     * @param inputStream       input stream
+     * @param outputStream      output stream
+     * @param context           context
+     */
+    public void handleRequest(@NonNull final InputStream inputStream, @NonNull final OutputStream outputStream,
+                              @NonNull final Context context) {
+        final String lambdaFunctionName = lambdaFunctionName(context);
+        log.info(lambdaFunctionName + " lambda invoked.");
+
+        final long entries;
+        try {
+            entries = buildDomainValidationUrlFilterProcessor.process();
+        } catch (RuntimeException e) {
+            log.error("Failed to build domain validation url filter", e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_URL_FILTER_BUILD_FAILED);
+            throw e;
+        }
+
+        lambdaResponseUtil.sendResponse(
+                LambdaResponseInput.builder()
+                        .statusCode(SUCCESS_STATUS_CODE)
+                        .outputStream(outputStream)
+                        .lambdaName(lambdaFunctionName)
+                        .details(String.format("Built domain validation url filter of %d entries", entries))
+                        .cloudWatchMetricsHelper(cloudWatchMetricsHelper)
+                        .mapper(objectMapper)
+                        .build()
+        );
+    }
+}
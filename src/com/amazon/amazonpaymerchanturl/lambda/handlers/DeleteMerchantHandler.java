@@ -5,15 +5,15 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLInvalidInputException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
-import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.DeleteMerchantResponse;
-import com.amazon.amazonpaymerchanturl.processor.DeleteUrlProcessor;
+import com.amazon.amazonpaymerchanturl.processor.BulkDeleteUrlProcessor;
+import com.amazon.amazonpaymerchanturl.processor.BulkDeleteUrlProcessor.BulkDeleteUrlResult;
 import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
@@ -24,7 +24,6 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpStatus;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,15 +43,16 @@ public class DeleteMerchantHandler {
     private final JSONObjectMapperUtil jsonObjectMapperUtil;
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
-    private final DeleteUrlProcessor deleteUrlProcessor;
+    private final BulkDeleteUrlProcessor bulkDeleteUrlProcessor;
 
     public DeleteMerchantHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.jsonObjectMapperUtil = lambdaComponent.providesJSONObjectMapperUtil();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
-        this.deleteUrlProcessor = lambdaComponent.providesDeleteUrlProcessor();
+        this.bulkDeleteUrlProcessor = lambdaComponent.providesBulkDeleteUrlProcessor();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -80,8 +80,6 @@ public class DeleteMerchantHandler {
 
         log.info(String.format("%s is called for clientReferenceGroupId: %s", lambdaName, clientReferenceGroupId));
 
-        List<String> successUrls = new ArrayList<>();
-        List<String> failedUrls = new ArrayList<>();
         try {
             final List<AmazonPayDomainValidationItem> amazonPayDomainValidationItemList
                     = domainValidationDDBAdapter.queryByClientReferenceGroupId(clientReferenceGroupId);
@@ -89,17 +87,16 @@ public class DeleteMerchantHandler {
                 return apiGatewayProxyResponseEvent.withStatusCode(HttpStatus.SC_NOT_FOUND)
                         .withBody("Resource Not Present for clientReferenceGroupId: " + clientReferenceGroupId);
             }
-            amazonPayDomainValidationItemList.forEach(amazonPayDomainValidationItem -> {
-                log.info("Processing url: {} for clientReferenceGroupId: {}",
-                        amazonPayDomainValidationItem.getUrl(), clientReferenceGroupId);
-                boolean status = processDeleteUrlRequest(amazonPayDomainValidationItem)
-                        ? successUrls.add(amazonPayDomainValidationItem.getUrl())
-                        : failedUrls.add(amazonPayDomainValidationItem.getUrl());
-            });
+            log.info("Processing {} urls for clientReferenceGroupId: {}",
+                    amazonPayDomainValidationItemList.size(), clientReferenceGroupId);
+            final BulkDeleteUrlResult bulkDeleteUrlResult = bulkDeleteUrlProcessor.process(
+                    amazonPayDomainValidationItemList, this::isVendorDeboardRequired,
+                    SubInvestigationType.AUTO_HEAVYWEIGHT.getSubInvestigationType());
+            final List<String> failedUrls = bulkDeleteUrlResult.getFailedUrls();
 
             final DeleteMerchantResponse deleteMerchantResponse = DeleteMerchantResponse.builder()
                     .clientReferenceGroupId(clientReferenceGroupId)
-                    .successUrls(successUrls)
+                    .successUrls(bulkDeleteUrlResult.getSuccessUrls())
                     .failedUrls(failedUrls)
                     .build();
             final String responseBody = jsonObjectMapperUtil.serialize(deleteMerchantResponse);
@@ -121,24 +118,9 @@ public class DeleteMerchantHandler {
         }
     }
 
-    private boolean processDeleteUrlRequest(final AmazonPayDomainValidationItem amazonPayDomainValidationItem) {
-        try {
-            final boolean isVendorDeboardRequired = !StringUtils.equals(SubInvestigationType.UPFRONT_VALIDATION
-                    .getSubInvestigationType(), amazonPayDomainValidationItem.getSubInvestigationType());
-            deleteUrlProcessor.process(amazonPayDomainValidationItem.getClientReferenceGroupId(),
-                    amazonPayDomainValidationItem.getUrl(), isVendorDeboardRequired,
-                    SubInvestigationType.AUTO_HEAVYWEIGHT.getSubInvestigationType());
-            return true;
-        } catch (AmazonPayMerchantURLNonRetryableException e) {
-            log.error("Non-retryable exception received. while deleting the url: {} for "
-                            + "clientReferenceGroupId: {}", amazonPayDomainValidationItem.getUrl(),
-                    amazonPayDomainValidationItem.getClientReferenceGroupId(), e);
-        } catch (AmazonPayMerchantURLRetryableException e) {
-            log.error("Retryable exception received. while deleting the url: {} for "
-                            + "clientReferenceGroupId: {}", amazonPayDomainValidationItem.getUrl(),
-                    amazonPayDomainValidationItem.getClientReferenceGroupId(), e);
-        }
-        return false;
+    private boolean isVendorDeboardRequired(final AmazonPayDomainValidationItem amazonPayDomainValidationItem) {
+        return !StringUtils.equals(SubInvestigationType.UPFRONT_VALIDATION.getSubInvestigationType(),
+                amazonPayDomainValidationItem.getSubInvestigationType());
     }
 
     private String getClientReferenceGroupId(final Map<String, String> pathParams) {
@@ -5,8 +5,8 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLInvalidInputException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
@@ -43,11 +43,12 @@ public class DeleteUrlHandler {
     private final DeleteUrlProcessor deleteUrlProcessor;
 
     public DeleteUrlHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.deleteUrlProcessor = lambdaComponent.providesDeleteUrlProcessor();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
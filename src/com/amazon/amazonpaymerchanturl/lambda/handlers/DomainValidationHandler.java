@@ -2,15 +2,17 @@ package com.amazon.amazonpaymerchanturl.lambda.handlers;
 
 import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.adapter.DomainValidationBatchLoadAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.ParagonInvestigationServiceAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StegoServiceAdapter;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.SQS;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
 import com.amazon.amazonpaymerchanturl.constants.WeblabEverCTreatmentMapper;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationEntryLookup;
+import com.amazon.amazonpaymerchanturl.helper.UrlCanonicalizer;
 import com.amazon.amazonpaymerchanturl.model.Attributes;
 import com.amazon.amazonpaymerchanturl.model.ManualUrlReview;
 import com.amazon.amazonpaymerchanturl.model.QueueEvent;
@@ -21,6 +23,8 @@ import com.amazon.amazonpaymerchanturl.model.ProcessInvestigationRequest;
 import com.amazon.amazonpaymerchanturl.model.WebsiteReviewRequest;
 import com.amazon.amazonpaymerchanturl.model.WebsiteReviewResponse;
 
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor;
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor.ReplayOutcome;
 import com.amazon.amazonpaymerchanturl.processor.URLValidationResultProcessor;
 import com.amazon.amazonpaymerchanturl.provider.WeblabTreatmentInformationProvider;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
@@ -28,7 +32,6 @@ import com.amazon.amazonpaymerchanturl.utils.StegoDBUrlUpdateUtil;
 import com.amazon.amazonpaymerchanturl.utils.ExceptionHandlers;
 import com.amazon.amazonpaymerchanturl.utils.UrlStatusNotificationUtil;
 import com.amazon.apurlvalidation.UrlValidation;
-import com.amazon.urlvalidationdaggerclientconfig.component.DaggerURLValidationComponent;
 import com.amazon.apurlvalidation.model.UrlResponse;
 import com.amazon.paragoninvestigationservice.Reason;
 import com.amazonaws.services.lambda.AWSLambda;
@@ -43,12 +46,14 @@ import java.util.Objects;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import dagger.Lazy;
 import lombok.Builder;
 
 import org.apache.commons.collections.MapUtils;
@@ -112,11 +117,12 @@ public class DomainValidationHandler {
 
     private final LambdaComponent lambdaComponent;
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final DomainValidationBatchLoadAdapter domainValidationBatchLoadAdapter;
     private final ParagonInvestigationServiceAdapter paragonInvestigationServiceAdapter;
     private final ObjectMapper mapper;
     private final StegoServiceAdapter stegoServiceAdapter;
-    private final AWSLambda lambdaClient;
-    private final AmazonSQS sqsClient;
+    private final Lazy<AWSLambda> lambdaClient;
+    private final Lazy<AmazonSQS> sqsClient;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
     private final Map<String, String> queueIdMap;
     private final String urlStatusNotificationTopic;
@@ -127,26 +133,32 @@ public class DomainValidationHandler {
     private final UrlStatusNotificationUtil urlStatusNotificationUtil;
     private final CloudCoverJavaAgent cloudCoverJavaAgent;
     private final WeblabTreatmentInformationProvider weblabProvider;
+    private final DLQMessageReplayProcessor dlqMessageReplayProcessor;
+    private final UrlCanonicalizer urlCanonicalizer;
 
     public DomainValidationHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.queueIdMap = lambdaComponent.providesQueueIDMap();
         this.mapper = lambdaComponent.providesObjectMapper();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
+        this.domainValidationBatchLoadAdapter = lambdaComponent.providesDomainValidationBatchLoadAdapter();
         this.stegoServiceAdapter = lambdaComponent.providesStegoServiceAdapter();
         this.paragonInvestigationServiceAdapter = lambdaComponent.getParagonInvestigationServiceAdapter();
-        this.lambdaClient = lambdaComponent.providesLambdaServiceClient();
-        this.sqsClient = lambdaComponent.providesSQSServiceClient();
+        this.lambdaClient = lambdaComponent.providesLazyLambdaServiceClient();
+        this.sqsClient = lambdaComponent.providesLazySQSServiceClient();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.urlStatusNotificationTopic = lambdaComponent.providesUrlStatusNotificationTopic();
         this.stegoDBUrlUpdateUtil = lambdaComponent.provideStegoDBUrlUpdateUtil();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
-        this.urlValidation = DaggerURLValidationComponent.create().getUrlValidation();
+        this.urlValidation = LambdaComponentProvider.getUrlValidation();
         this.urlValidationResultProcessor = lambdaComponent.provideURLValidationResultProcessor();
         this.urlStatusNotificationUtil = lambdaComponent.providesUrlStatusNotificationUtil();
         this.cloudCoverJavaAgent = lambdaComponent.provideCloudCoverJavaAgent();
         this.weblabProvider = lambdaComponent.provideWeblabTreatmentInformationProvider();
+        this.dlqMessageReplayProcessor = lambdaComponent.providesDLQMessageReplayProcessor();
+        this.urlCanonicalizer = lambdaComponent.providesUrlCanonicalizer();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -160,6 +172,16 @@ public class DomainValidationHandler {
      */
     //TODO: change name to something like - triggerURLsReview
     public void triggerURLReview(InputStream inputStream, OutputStream outputStream, Context context) {
+        // Per url metrics are aggregated in memory and published once at the end of the invocation
+        cloudWatchMetricsHelper.enableBuffering();
+        try {
+            initiateURLsReview(inputStream, outputStream, context);
+        } finally {
+            cloudWatchMetricsHelper.flushBufferedMetrics();
+        }
+    }
+
+    private void initiateURLsReview(InputStream inputStream, OutputStream outputStream, Context context) {
         String functionName = lambdaFunctionName(context);
         String inputJson;
         TriggerURLReviewRequest triggerURLReviewRequest;
@@ -229,6 +251,8 @@ public class DomainValidationHandler {
             final List<UrlResponse> urlStatusResponseList = urlValidation.validateUrls(urls, AMAZON_PAY_BUSINESS);
             ManualUrlReview manualUrlReview = urlValidationResultProcessor.process(urlStatusResponseList,
                     triggerURLReviewRequest, urlType);
+            final DomainValidationEntryLookup domainValidationEntryLookup = prefetchDomainValidationEntries(
+                    triggerURLReviewRequest.getClientReferenceGroupId(), manualUrlReview.getUrlList());
             for (String url : manualUrlReview.getUrlList()) {
                 try {
                     url = getLowerCaseConvertedURL(url);
@@ -242,6 +266,7 @@ public class DomainValidationHandler {
                             .url(url)
                             .source(triggerURLReviewRequest.getSource())
                             .urlType(urlType)
+                            .domainValidationEntryLookup(domainValidationEntryLookup)
                             .build());
                     urlToStatus.put(url, SUCCESS_STATUS_CODE);
                     cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(TRIGGER_URL_REVIEW_SUCCESS_METRICS);
@@ -251,7 +276,7 @@ public class DomainValidationHandler {
                     cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(TRIGGER_URL_REVIEW_FAILURE_METRICS);
                     defaultHandler(ExceptionHandlers.DefaultHandlerInput.builder()
                             .exception(e)
-                            .sqsClient(inputLoggedInDLQ ? null : this.sqsClient)
+                            .sqsClient(inputLoggedInDLQ ? null : this.sqsClient.get())
                             .lambdaName(functionName)
                             .jsonInput(inputJson)
                             .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
@@ -261,6 +286,9 @@ public class DomainValidationHandler {
                      * after first failure.
                      * */
                     inputLoggedInDLQ = true;
+                } finally {
+                    // The investigation may have written the entry, a duplicate url must read it from DDB
+                    domainValidationEntryLookup.invalidate(url);
                 }
             }
         }
@@ -289,7 +317,7 @@ public class DomainValidationHandler {
             cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(PROCESS_INVESTIGATION_FAILURE_METRICS);
             defaultHandler(ExceptionHandlers.DefaultHandlerInput.builder()
                     .exception(e)
-                    .sqsClient(this.sqsClient)
+                    .sqsClient(this.sqsClient.get())
                     .lambdaName(lambdaName)
                     .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
                     .context(context).build());
@@ -306,7 +334,7 @@ public class DomainValidationHandler {
         } catch (Exception e) {
             defaultHandler(ExceptionHandlers.DefaultHandlerInput.builder()
                     .exception(e)
-                    .sqsClient(this.sqsClient)
+                    .sqsClient(this.sqsClient.get())
                     .lambdaName(lambdaName)
                     .jsonInput(inputJson)
                     .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
@@ -442,68 +470,53 @@ public class DomainValidationHandler {
 
     private void processMessagesAndInvokeLambda(InputStream inputStream, OutputStream outputStream, Context context) {
         String originLambdaName = pollerToOriginFunctionName(context);
-        List<SQSRecord> messages = filterMessages(inputStream, context);
+        List<SQSRecord> messages = getEventRecords(inputStream);
 
         log.info("found {} messages for this run", messages.size());
-        for (SQSRecord sqsRecord : messages) {
-            log.debug("invoking: {} Lambda with input: {}", originLambdaName, sqsRecord.getBody());
-            //TODO: add batching (based on time-out limit batch size could be decided)
-            Lambda.invokeLambdaAsync(Lambda.InvokeLambdaAsyncInput.builder()
-                    .lambdaClient(this.lambdaClient)
-                    .sqsClient(this.sqsClient)
-                    .lambdaName(originLambdaName)
-                    .payload(sqsRecord.getBody())
-                    .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
-                    .context(context).build());
+        if (!messages.isEmpty()) {
+            // Messages which were not replayed fail the invocation, so the event source mapping leaves them in the DLQ
+            final Map<String, ReplayOutcome> outcomes = dlqMessageReplayProcessor.replay(messages, originLambdaName,
+                    sqsRecord -> getRetryPayload(sqsRecord, originLambdaName), context);
+            dlqMessageReplayProcessor.verifyAllHandled(outcomes, originLambdaName);
         }
         sendLambdaResponse(SUCCESS_STATUS_CODE, outputStream, originLambdaName, StringUtils.EMPTY);
     }
 
     /*
-     * Filters SQS messages(input) for which execution(Lambda invocation) should be retried
+     * Parses the SQS messages(input) of the DLQ
      * */
-    private List<SQSRecord> filterMessages(InputStream inputStream, Context context) {
-
-        String originLambdaName = pollerToOriginFunctionName(context);
+    private List<SQSRecord> getEventRecords(InputStream inputStream) {
         QueueEvent event;
-        List<SQSRecord> messages = new ArrayList<>();
-
         try {
             event = mapper.readValue(inputStream, QueueEvent.class);
         } catch (Exception e) {
             this.cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(SQS_EVENT_PARSING_FAILED);
             log.error("unable to parse SQS event");
-            return messages;
+            return new ArrayList<>();
         }
 
         if (event.getRecords() == null) {
             this.cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(SQS_EVENT_NULL_RECORDS);
             log.error("Lambda is triggered for null set of records");
-            return messages;
+            return new ArrayList<>();
         }
+        return event.getRecords();
+    }
 
-        for (SQSRecord sqsRecord : event.getRecords()) {
-            Attributes attributes = sqsRecord.getAttributes();
-            long sentTime = parseLong(attributes.getSentTimestamp());
-            long currentTime = Instant.now().toEpochMilli();
-            long timeDelta = TimeUnit.MILLISECONDS.toMinutes(currentTime - sentTime);
-
-            log.debug("message handle : {} is received with delay {} min",
-                    sqsRecord.getReceiptHandle(), timeDelta);
-
-            String msgJson = incrementAndValidateRetryCount(sqsRecord.getBody(), originLambdaName);
-            if (!msgJson.isEmpty()) {
-                sqsRecord.setBody(msgJson);
-                messages.add(sqsRecord);
-            }
-            SQS.deleteMsgFromLambdaDLQ(SQS.DeleteMsgFromLambdaDLQInput.builder()
-                    .sqsClient(this.sqsClient)
-                    .lambdaName(originLambdaName)
-                    .receiptHandle(sqsRecord.getReceiptHandle())
-                    .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
-                    .context(context).build());
-        }
-        return messages;
+    /*
+     * Returns the payload with which execution(Lambda invocation) should be retried.
+     * Returns empty string ("") if the message should be discarded.
+     * */
+    private String getRetryPayload(SQSRecord sqsRecord, String originLambdaName) {
+        Attributes attributes = sqsRecord.getAttributes();
+        long sentTime = parseLong(attributes.getSentTimestamp());
+        long currentTime = Instant.now().toEpochMilli();
+        long timeDelta = TimeUnit.MILLISECONDS.toMinutes(currentTime - sentTime);
+
+        log.debug("message handle : {} is received with delay {} min",
+                sqsRecord.getReceiptHandle(), timeDelta);
+        log.debug("invoking: {} Lambda with input: {}", originLambdaName, sqsRecord.getBody());
+        return incrementAndValidateRetryCount(sqsRecord.getBody(), originLambdaName);
     }
 
     /*
@@ -615,7 +628,7 @@ public class DomainValidationHandler {
      * */
     private void initiateURLInvestigation(InitiateURLInvestigationInput input) throws Exception {
         AmazonPayDomainValidationItem domainValidationDDBEntry =
-                domainValidationDDBAdapter.loadEntry(input.clientReferenceGroupId, input.url);
+                input.domainValidationEntryLookup.loadEntry(input.url, input.url);
         log.info("DDB entry for clientReferenceGroupId {} and Url {} is {}",
                 input.clientReferenceGroupId, input.url, domainValidationDDBEntry);
         String investigationStatus;
@@ -674,6 +687,20 @@ public class DomainValidationHandler {
     @Builder
     private static final class InitiateURLInvestigationInput {
         private final String url, clientCustomInfo, clientReferenceGroupId, source, urlType, investigationType;
+        private final DomainValidationEntryLookup domainValidationEntryLookup;
+    }
+
+    /**
+     * Batch loads the DDB entries of the lowercase converted urls sent for manual investigation. A manual
+     * investigation only reads and writes the entry of its lowercase converted url, which is its canonical key.
+     */
+    private DomainValidationEntryLookup prefetchDomainValidationEntries(final String clientReferenceGroupId,
+                                                                       final List<String> urls) {
+        // Urls which cannot be converted fail again while initiating the investigation and are reported there
+        final Map<String, String> canonicalKeysByUrl = new LinkedHashMap<>();
+        urlCanonicalizer.toLowercaseUrls(urls).values()
+                .forEach(lowercaseUrl -> canonicalKeysByUrl.put(lowercaseUrl, lowercaseUrl));
+        return domainValidationBatchLoadAdapter.prefetchEntries(clientReferenceGroupId, canonicalKeysByUrl);
     }
     /**
      * Updae stego service if applicable (using previous logic)
@@ -789,8 +816,8 @@ public class DomainValidationHandler {
                                           final Context context) {
         log.info(" lambda invoked for origin function : {} with payload : {} ", originFunctionName, payload);
         Lambda.invokeLambdaAsync(Lambda.InvokeLambdaAsyncInput.builder()
-                .lambdaClient(this.lambdaClient)
-                .sqsClient(this.sqsClient)
+                .lambdaClient(this.lambdaClient.get())
+                .sqsClient(this.sqsClient.get())
                 .lambdaName(originFunctionName)
                 .payload(payload)
                 .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
@@ -9,8 +9,8 @@ import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
@@ -23,7 +23,6 @@ import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
 import com.amazon.amazonpaymerchanturl.utils.URLCaseSensitivityConvertorUtil;
 import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
 import com.amazonaws.services.lambda.runtime.Context;
-import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.stepfunctions.model.ExecutionStatus;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -65,7 +64,6 @@ public class ExecuteManualResponseWorkflowHandler {
     private final LambdaResponseUtil lambdaResponseUtil;
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
     private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
-    private final AmazonSQS sqsClient;
     private final StepFunctionAdapter stepFunctionAdapter;
     private final Map<String, String> urlReviewWorkflowMap;
     private final SQSAdapter sqsAdapter;
@@ -73,19 +71,19 @@ public class ExecuteManualResponseWorkflowHandler {
     private final WeblabHelper weblabHelper;
 
     public ExecuteManualResponseWorkflowHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
         this.urlInvestigationDDBAdapter = lambdaComponent.providesUrlInvestigationDDBAdapter();
-        this.sqsClient = lambdaComponent.providesSQSServiceClient();
         this.stepFunctionAdapter = lambdaComponent.providesStepFunctionAdapter();
         this.urlReviewWorkflowMap = lambdaComponent.providesUrlReviewWorkflowMap();
         this.sqsAdapter = lambdaComponent.providesSQSAdapter();
         this.executeManualResponseWorkflowDlqUrl = lambdaComponent.providesExecuteManualResponseWorkflowDlqUrl();
         this.weblabHelper = lambdaComponent.provideWeblabHelper();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -4,20 +4,24 @@ import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapte
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAONonRetryableException;
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.adapter.DomainValidationBatchLoadAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
 import com.amazon.amazonpaymerchanturl.constants.UpdateStatusType;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationEntryLookup;
+import com.amazon.amazonpaymerchanturl.helper.UrlCanonicalizer;
 import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
+import com.amazon.amazonpaymerchanturl.helper.UrlReviewGroups;
+import com.amazon.amazonpaymerchanturl.helper.UrlReviewGroups.RequestedUrl;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.TriggerURLReviewRequest;
 import com.amazon.amazonpaymerchanturl.model.URLReviewRequest;
 import com.amazon.amazonpaymerchanturl.model.UrlReviewNotificationMessage;
-import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -35,9 +39,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.EXECUTE_URL_REVIEW_WORKFLOW_FAILURE_METRICS;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.EXECUTE_URL_REVIEW_WORKFLOW_SUCCESS_METRICS;
@@ -46,7 +54,6 @@ import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.URL_STAT
 import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.BAD_REQUEST_FAILED_STATUS_CODE;
 import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.FAILED_STATUS_CODE;
 import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
-import static com.amazon.amazonpaymerchanturl.utils.URLCaseSensitivityConvertorUtil.getLowerCaseConvertedURL;
 
 /**
  * ExecuteUrlReviewWorkflowHandler executes StepFunction for Url review.
@@ -59,30 +66,37 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
     private final LambdaComponent lambdaComponent;
     private final ObjectMapper mapper;
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final DomainValidationBatchLoadAdapter domainValidationBatchLoadAdapter;
     private final StepFunctionAdapter stepFunctionAdapter;
     private final Map<String, String> urlReviewWorkflowMap;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
-    private final SNSAdapter snsAdapter;
+    private final UrlStatusNotificationBatcher urlStatusNotificationBatcher;
     private final String urlStatusNotificationTopic;
     private final SQSAdapter dlqAdapter;
     private final String executeUrlReviewWorkflowDlqUrl;
     private final WeblabHelper weblabHelper;
+    private final ExecutorService urlReviewExecutorService;
+    private final UrlCanonicalizer urlCanonicalizer;
 
     private static final String AMAZON_PAY_BUSINESS = "AmazonPay";
 
     public ExecuteUrlReviewWorkflowHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.mapper = lambdaComponent.providesObjectMapper();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
+        this.domainValidationBatchLoadAdapter = lambdaComponent.providesDomainValidationBatchLoadAdapter();
         this.stepFunctionAdapter = lambdaComponent.providesStepFunctionAdapter();
         this.urlReviewWorkflowMap = lambdaComponent.providesUrlReviewWorkflowMap();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
-        this.snsAdapter = lambdaComponent.providesSNSAdapter();
+        this.urlStatusNotificationBatcher = lambdaComponent.providesUrlStatusNotificationBatcher();
         this.urlStatusNotificationTopic = lambdaComponent.providesUrlStatusNotificationTopic();
         this.dlqAdapter = lambdaComponent.providesSQSAdapter();
         this.executeUrlReviewWorkflowDlqUrl = lambdaComponent.providesExecuteUrlReviewWorkflowDlqUrl();
         this.weblabHelper = lambdaComponent.provideWeblabHelper();
+        this.urlReviewExecutorService = lambdaComponent.providesUrlReviewExecutorService();
+        this.urlCanonicalizer = lambdaComponent.providesUrlCanonicalizer();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -95,6 +109,20 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
     @Override
     public void handleRequest(final InputStream inputStream, final OutputStream outputStream,
                               final Context context) {
+        // Per url metrics are aggregated in memory and published once at the end of the invocation
+        cloudWatchMetricsHelper.enableBuffering();
+        try {
+            executeUrlReviewWorkflows(inputStream);
+        } finally {
+            try {
+                flushStatusNotifications();
+            } finally {
+                cloudWatchMetricsHelper.flushBufferedMetrics();
+            }
+        }
+    }
+
+    private void executeUrlReviewWorkflows(final InputStream inputStream) {
         TriggerURLReviewRequest request;
         try {
             request = mapper.readValue(inputStream, TriggerURLReviewRequest.class);
@@ -120,37 +148,36 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
             return;
         }
 
-        Map<String, List<String>> failedEntries = new HashMap<>();
-        reviewUrlMetadata.forEach((key, urls) -> {
-            if (CollectionUtils.isEmpty(urls)) {
-                log.info("No URLs present for the urlType {}", key);
-                return;
-            }
-
-            List<String> failedUrls = new ArrayList<>();
-            urls.forEach(url -> {
-                /*
-                Note : MetricFilter syntax pattern should be updated in CDK package accordingly
-                if there is a change in Log message
-                */
-                log.info("[EXECUTE_DOMAIN_URL_REVIEW] process UrlReviewRequest for url: {}, urlType: {}" +
-                                " clientRefGrpId: {} and urlSource: {}",
-                        url, key, triggerURLReviewRequest.getClientReferenceGroupId(),
-                        triggerURLReviewRequest.getSource());
-                int statusCode = processUrlReviewRequest(url, stepFunctionArn, triggerURLReviewRequest);
-                if (statusCode == SUCCESS_STATUS_CODE) {
-                    cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
-                            EXECUTE_URL_REVIEW_WORKFLOW_SUCCESS_METRICS);
-                } else {
-                    cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
-                            EXECUTE_URL_REVIEW_WORKFLOW_FAILURE_METRICS);
-                    failedUrls.add(url);
+        // Urls sharing DDB entries are grouped, so each group is reviewed by a single task and never races
+        final UrlReviewGroups urlReviewGroups = UrlReviewGroups.of(reviewUrlMetadata,
+                urlCanonicalizer::toLowercaseUrl, urlCanonicalizer::toStandardizedUrl);
+
+        // Existing DDB entries of all the urls are resolved up front with batched reads
+        final DomainValidationEntryLookup domainValidationEntryLookup = domainValidationBatchLoadAdapter
+                .prefetchEntries(triggerURLReviewRequest.getClientReferenceGroupId(),
+                        urlReviewGroups.getStandardizedUrls());
+
+        // Groups are reviewed concurrently on the bounded url review executor
+        final Map<String, Future<Map<String, Integer>>> groupStatusCodes = new LinkedHashMap<>();
+        urlReviewGroups.getGroups().forEach((standardizedUrl, group) -> groupStatusCodes.put(standardizedUrl,
+                urlReviewExecutorService.submit(() -> executeUrlReviews(standardizedUrl, group, stepFunctionArn,
+                        triggerURLReviewRequest, domainValidationEntryLookup))));
+
+        // Failures are collected per urlType, every requested url gets the status of its lowercase converted url
+        final Map<String, List<String>> failedEntries = new LinkedHashMap<>();
+        urlReviewGroups.getUnconvertedUrls().forEach(requestedUrl -> {
+            log.info("Unable to convert url {} of urlType {} for review", requestedUrl.getUrl(),
+                    requestedUrl.getUrlType());
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(EXECUTE_URL_REVIEW_WORKFLOW_FAILURE_METRICS);
+            addFailedEntry(failedEntries, requestedUrl);
+        });
+        groupStatusCodes.forEach((standardizedUrl, statusCodes) -> {
+            final Map<String, Integer> lowercaseUrlStatusCodes = getStatusCodes(statusCodes, standardizedUrl);
+            urlReviewGroups.getGroups().get(standardizedUrl).forEach((lowercaseUrl, requestedUrls) -> {
+                if (!Objects.equals(lowercaseUrlStatusCodes.get(lowercaseUrl), SUCCESS_STATUS_CODE)) {
+                    requestedUrls.forEach(requestedUrl -> addFailedEntry(failedEntries, requestedUrl));
                 }
             });
-
-            if (!CollectionUtils.isEmpty(failedUrls)) {
-                failedEntries.put(key, failedUrls);
-            }
         });
 
         if (!CollectionUtils.isEmpty(failedEntries.entrySet())) {
@@ -160,23 +187,91 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
         }
     }
 
-    private int processUrlReviewRequest(final String url, final String stepFunctionArn,
-                                        final TriggerURLReviewRequest triggerURLReviewRequest) {
+    private void addFailedEntry(final Map<String, List<String>> failedEntries, final RequestedUrl requestedUrl) {
+        failedEntries.computeIfAbsent(requestedUrl.getUrlType(), urlType -> new ArrayList<>())
+                .add(requestedUrl.getUrl());
+    }
+
+    /**
+     * Reviews the urls of a group one after the other. The prefetched entries of the group are invalidated after
+     * each review, so each review sees the DDB writes of the previous ones.
+     * @return status code by lowercase converted url
+     */
+    private Map<String, Integer> executeUrlReviews(final String standardizedUrl,
+                                                   final Map<String, List<RequestedUrl>> group,
+                                                   final String stepFunctionArn,
+                                                   final TriggerURLReviewRequest triggerURLReviewRequest,
+                                                   final DomainValidationEntryLookup domainValidationEntryLookup) {
+        final Map<String, Integer> statusCodes = new HashMap<>();
+        group.forEach((lowercaseUrl, requestedUrls) -> {
+            try {
+                statusCodes.put(lowercaseUrl, executeUrlReview(requestedUrls.get(0), lowercaseUrl, standardizedUrl,
+                        stepFunctionArn, triggerURLReviewRequest, domainValidationEntryLookup));
+            } finally {
+                domainValidationEntryLookup.invalidate(standardizedUrl);
+            }
+        });
+        return statusCodes;
+    }
+
+    private int executeUrlReview(final RequestedUrl requestedUrl, final String lowercaseUrl,
+                                 final String standardizedUrl, final String stepFunctionArn,
+                                 final TriggerURLReviewRequest triggerURLReviewRequest,
+                                 final DomainValidationEntryLookup domainValidationEntryLookup) {
+        /*
+        Note : MetricFilter syntax pattern should be updated in CDK package accordingly
+        if there is a change in Log message
+        */
+        log.info("[EXECUTE_DOMAIN_URL_REVIEW] process UrlReviewRequest for url: {}, urlType: {}" +
+                        " clientRefGrpId: {} and urlSource: {}",
+                requestedUrl.getUrl(), requestedUrl.getUrlType(), triggerURLReviewRequest.getClientReferenceGroupId(),
+                triggerURLReviewRequest.getSource());
+        int statusCode = processUrlReviewRequest(lowercaseUrl, standardizedUrl, stepFunctionArn,
+                triggerURLReviewRequest, domainValidationEntryLookup);
+        if (statusCode == SUCCESS_STATUS_CODE) {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    EXECUTE_URL_REVIEW_WORKFLOW_SUCCESS_METRICS);
+        } else {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    EXECUTE_URL_REVIEW_WORKFLOW_FAILURE_METRICS);
+        }
+        return statusCode;
+    }
+
+    /**
+     * Waits for the url reviews of a group to complete, any unexpected failure fails every url of the group.
+     */
+    private Map<String, Integer> getStatusCodes(final Future<Map<String, Integer>> statusCodes,
+                                                final String standardizedUrl) {
+        try {
+            return statusCodes.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Interrupted while waiting for UrlReviewRequests of standardized url: {}", standardizedUrl, e);
+        } catch (final ExecutionException e) {
+            log.info("Exception encountered while processing UrlReviewRequests of standardized url: {}",
+                    standardizedUrl, e.getCause());
+        }
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(EXECUTE_URL_REVIEW_WORKFLOW_FAILURE_METRICS);
+        return Collections.emptyMap();
+    }
+
+    private int processUrlReviewRequest(final String lowercaseUrl, final String standardizedUrl,
+                                        final String stepFunctionArn,
+                                        final TriggerURLReviewRequest triggerURLReviewRequest,
+                                        final DomainValidationEntryLookup domainValidationEntryLookup) {
         URLReviewRequest urlReviewRequest;
         final long reviewTime = Instant.now().toEpochMilli();
-        String lowercaseUrl;
         try {
-            lowercaseUrl = getLowerCaseConvertedURL(url);
             urlReviewRequest = getUrlReviewRequest(triggerURLReviewRequest, lowercaseUrl);
 
             //TODO : Remove the below (if)block after deduping/cleaning the existing variant url entries in DB
             boolean isReviewProcessedWithExistingVariantUrl = processWithExistingValidVariantUrlStatus(urlReviewRequest,
-                    lowercaseUrl, reviewTime);
+                    lowercaseUrl, standardizedUrl, reviewTime, domainValidationEntryLookup);
             if (isReviewProcessedWithExistingVariantUrl) {
                 return SUCCESS_STATUS_CODE;
             }
 
-            final String standardizedUrl = URLStandardizeUtil.standardize(lowercaseUrl);
             if (weblabHelper.isWeblabDialedUpForDedupingVariantUrls(urlReviewRequest.getClientReferenceGroupId())) {
                 urlReviewRequest.setReviewURL(standardizedUrl);
 
@@ -240,9 +335,12 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
      */
     private boolean processWithExistingValidVariantUrlStatus(final URLReviewRequest urlReviewRequest,
                                                              final String lowercaseUrl,
-                                                             final long reviewTime) {
-        AmazonPayDomainValidationItem domainValidationItem = domainValidationDDBAdapter.loadEntry(
-                urlReviewRequest.getClientReferenceGroupId(), lowercaseUrl);
+                                                             final String standardizedUrl,
+                                                             final long reviewTime,
+                                                             final DomainValidationEntryLookup
+                                                                     domainValidationEntryLookup) {
+        AmazonPayDomainValidationItem domainValidationItem = domainValidationEntryLookup.loadEntry(standardizedUrl,
+                lowercaseUrl);
         if (isUrlActiveWithValidInvestigationStatus(domainValidationItem)) {
             log.info("ClientReferenceGroupId {}, Variant URL {} already active and " +
                             "investigation status is valid",
@@ -403,14 +501,27 @@ public class ExecuteUrlReviewWorkflowHandler implements RequestStreamHandler {
         try {
             log.info("Publishing message to SNS with ClientReferenceGroupId: {}, URL: {}, Status: {}",
                     clientReferenceGroupId, url, reviewStatus);
-            snsAdapter.publishMessage(mapper.writeValueAsString(urlReviewStatusNotification),
-                    urlStatusNotificationTopic);
+            urlStatusNotificationBatcher.add(urlStatusNotificationTopic,
+                    mapper.writeValueAsString(urlReviewStatusNotification));
         } catch (final Exception e) {
             cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(URL_STATUS_NOTIFICATION_TOPIC_FAILED);
             log.info("Error publishing message to sns topic {}", urlStatusNotificationTopic, e);
         }
     }
 
+    /**
+     * Publishes the review url notifications buffered during the invocation
+     */
+    private void flushStatusNotifications() {
+        final List<String> failedMessages = urlStatusNotificationBatcher.flush();
+        if (!failedMessages.isEmpty()) {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(URL_STATUS_NOTIFICATION_TOPIC_FAILED,
+                    failedMessages.size());
+            log.info("Error publishing {} messages to sns topic {}", failedMessages.size(),
+                    urlStatusNotificationTopic);
+        }
+    }
+
     private int updateDomainValidationDBStatus(final URLReviewRequest urlReviewRequest, final String status) {
         final AmazonPayDomainValidationItem ddbItem = AmazonPayDomainValidationItem.builder()
                 .clientReferenceGroupId(urlReviewRequest.getClientReferenceGroupId())
@@ -22,14 +22,15 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.CollectionUtils;
 
+import dagger.Lazy;
 import lombok.NonNull;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.SQS;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.QueueEvent;
 import com.amazon.amazonpaymerchanturl.model.UrlVendorReviewScanSpecInput;
@@ -72,19 +73,20 @@ public class ExecuteVendorResponseWorkflowErrorQueuePoller implements RequestStr
     private final ObjectMapper objectMapper;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
     private final CallbackWorkflowDeterminatorTask callbackWorkflowDeterminatorTask;
-    private final AmazonSQS sqsClient;
+    private final Lazy<AmazonSQS> sqsClient;
     private final LambdaResponseUtil lambdaResponseUtil;
     private final String errorQueueUrl;
 
     public ExecuteVendorResponseWorkflowErrorQueuePoller() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.callbackWorkflowDeterminatorTask = lambdaComponent.providesCallbackWorkflowDeterminatorTask();
-        this.sqsClient = lambdaComponent.providesSQSServiceClient();
+        this.sqsClient = lambdaComponent.providesLazySQSServiceClient();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.errorQueueUrl = lambdaComponent.providesExecuteVendorResponseWorkflowErrorQueueUrl();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -115,7 +117,7 @@ public class ExecuteVendorResponseWorkflowErrorQueuePoller implements RequestStr
 
                 SQS.deleteMsgFromLambdaQueue(
                         SQS.DeleteMsgFromLambdaQueueInput.builder()
-                                .sqsClient(this.sqsClient)
+                                .sqsClient(this.sqsClient.get())
                                 .queueUrl(this.errorQueueUrl)
                                 .receiptHandle(sqsRecord.getReceiptHandle())
                                 .cloudWatchMetricsHelper(this.cloudWatchMetricsHelper)
@@ -33,9 +33,8 @@ import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.MessageS3Pointer;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
-import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
 
 import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
 import org.apache.commons.lang3.StringUtils;
@@ -68,17 +67,18 @@ public class ExecuteVendorResponseWorkflowHandler {
     private final ITranslator<List<String>, SendMessageBatchRequest> sqsBatchRequestTranslator;
 
     public ExecuteVendorResponseWorkflowHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapperWithDefaultTyping();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.sqsAdapter = lambdaComponent.providesSQSAdapter();
         this.s3Adapter = lambdaComponent.providesS3Adapter();
         this.callbackWorkflowDeterminatorTask = lambdaComponent.providesCallbackWorkflowDeterminatorTask();
-        urlVendorReviewLibComponent = DaggerUrlVendorReviewLibComponent.create();
+        urlVendorReviewLibComponent = LambdaComponentProvider.getUrlVendorReviewLibComponent();
         vendorCallbackHandlerFactory = urlVendorReviewLibComponent.getVendorCallbackHandlerFactory();
         this.vendorResponseValidationErrorQueueUrl = lambdaComponent.providesVendorResponseValidationErrorQueueUrl();
         this.sqsBatchRequestTranslator = lambdaComponent.providesSQSBatchRequestTranslator();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -4,7 +4,7 @@ import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapte
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.adapter.ParagonInvestigationServiceAdapter;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.InitiateManualReviewRequest;
@@ -67,8 +67,8 @@ public class InitiateManualReviewHandler {
     private final ParagonInvestigationServiceAdapter paragonInvestigationServiceAdapter;
 
     public InitiateManualReviewHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.mapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
@@ -77,6 +77,7 @@ public class InitiateManualReviewHandler {
         this.queueIdToRiskLevelMap = lambdaComponent.providesQueueIDToRiskLevelMap();
         this.queueIdForPeriodicReviewToRiskLevelMap = lambdaComponent.providesQueueIDForPeriodicReviewToRiskLevelMap();
         this.paragonInvestigationServiceAdapter = lambdaComponent.getParagonInvestigationServiceAdapter();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -5,8 +5,8 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
@@ -15,7 +15,6 @@ import com.amazon.amazonpaymerchanturl.model.URLReviewRequest;
 import com.amazon.amazonpaymerchanturl.utils.HandlersUtil;
 import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
-import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
@@ -52,14 +51,15 @@ public class InitiateVendorReviewHandler {
     private final VendorReviewHandlerFactory vendorReviewHandlerFactory;
 
     public InitiateVendorReviewHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.jsonObjectMapperUtil = lambdaComponent.providesJSONObjectMapperUtil();
         this.urlInvestigationDDBAdapter = lambdaComponent.providesUrlInvestigationDDBAdapter();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
-        urlVendorReviewLibComponent = DaggerUrlVendorReviewLibComponent.create();
+        urlVendorReviewLibComponent = LambdaComponentProvider.getUrlVendorReviewLibComponent();
         vendorReviewHandlerFactory = urlVendorReviewLibComponent.getVendorReviewHandlerFactory();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
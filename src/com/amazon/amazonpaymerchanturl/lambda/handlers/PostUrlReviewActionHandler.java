@@ -1,8 +1,8 @@
 package com.amazon.amazonpaymerchanturl.lambda.handlers;
 
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.factory.PostUrlReviewActionTaskFactory;
 import com.amazon.amazonpaymerchanturl.model.LambdaResponseInput;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
@@ -33,11 +33,12 @@ public class PostUrlReviewActionHandler implements RequestStreamHandler {
     private final PostUrlReviewActionTaskFactory postUrlReviewActionTaskFactory;
 
     public PostUrlReviewActionHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.postUrlReviewActionTaskFactory = lambdaComponent.providesPostUrlReviewActionTaskFactory();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -2,8 +2,8 @@ package com.amazon.amazonpaymerchanturl.lambda.handlers;
 
 import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.LambdaResponseInput;
@@ -45,12 +45,13 @@ public class ProcessManualResponseHandler {
     private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
 
     public ProcessManualResponseHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.urlInvestigationDDBAdapter = lambdaComponent.providesUrlInvestigationDDBAdapter();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
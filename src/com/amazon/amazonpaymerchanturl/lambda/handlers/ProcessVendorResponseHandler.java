@@ -10,8 +10,8 @@ import static com.amazon.amazonpaymerchanturl.constants.VendorReviewConstants.EV
 import static com.amazon.amazonpaymerchanturl.utils.CustomInfoUtil.getMarketplaceId;
 import static com.amazon.amazonpaymerchanturl.utils.CustomInfoUtil.getMerchantId;
 
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
@@ -20,7 +20,6 @@ import com.amazon.amazonpaymerchanturl.model.UrlVendorReviewResponseInput;
 import com.amazon.amazonpaymerchanturl.model.UrlVendorReviewResponseOutput;
 import com.amazon.amazonpaymerchanturl.provider.WeblabTreatmentInformationProvider;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
-import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
@@ -58,14 +57,15 @@ public class ProcessVendorResponseHandler implements RequestStreamHandler {
     private final WeblabTreatmentInformationProvider weblabProvider;
 
     public ProcessVendorResponseHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.objectMapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
-        urlVendorReviewLibComponent = DaggerUrlVendorReviewLibComponent.create();
+        urlVendorReviewLibComponent = LambdaComponentProvider.getUrlVendorReviewLibComponent();
         vendorProcessCallbackHandlerFactory = urlVendorReviewLibComponent.getVendorProcessCallbackHandlerfactory();
         this.weblabProvider = lambdaComponent.provideWeblabTreatmentInformationProvider();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
@@ -5,8 +5,8 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
 import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
 import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.constants.VendorUpdateType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLInvalidInputException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
@@ -17,7 +17,6 @@ import com.amazon.amazonpaymerchanturl.model.UpdateVendorOnInvestigationRequest;
 import com.amazon.amazonpaymerchanturl.utils.CustomInfoUtil;
 import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
-import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
@@ -60,15 +59,16 @@ public class UpdateVendorOnInvestigationHandler implements RequestStreamHandler
     private static final String AUTO_DEBOARD_URL_DVS_WEBLAB_NAME = "AUTO_DEBOARD_URL_DVS_570258";
 
     public UpdateVendorOnInvestigationHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.jsonObjectMapperUtil = lambdaComponent.providesJSONObjectMapperUtil();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.domainValidationDDBAdapter = lambdaComponent.providesDomainValidationDDBAdapter();
         this.weblabHelper = lambdaComponent.provideWeblabHelper();
-        urlVendorReviewLibComponent = DaggerUrlVendorReviewLibComponent.create();
+        urlVendorReviewLibComponent = LambdaComponentProvider.getUrlVendorReviewLibComponent();
         vendorDeboardUrlHandlerFactory = urlVendorReviewLibComponent.getVendorDeboardUrlHandlerFactory();
         vendorReviewHandlerFactory = urlVendorReviewLibComponent.getVendorReviewHandlerFactory();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
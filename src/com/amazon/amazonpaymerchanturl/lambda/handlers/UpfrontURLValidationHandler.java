@@ -1,7 +1,7 @@
 package com.amazon.amazonpaymerchanturl.lambda.handlers;
 
-import com.amazon.amazonpaymerchanturl.component.DaggerLambdaComponent;
 import com.amazon.amazonpaymerchanturl.component.LambdaComponent;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 
 import com.amazon.amazonpaymerchanturl.model.LambdaResponseInput;
@@ -14,7 +14,6 @@ import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.FAILED
 import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
 
 import com.amazon.apurlvalidation.UrlValidation;
-import com.amazon.urlvalidationdaggerclientconfig.component.DaggerURLValidationComponent;
 import com.amazon.apurlvalidation.model.UrlResponse;
 import com.amazonaws.services.lambda.runtime.Context;
 
@@ -55,13 +54,14 @@ public class UpfrontURLValidationHandler {
     private static final String AUTO_DENIED = "AutoDenied";
 
     public UpfrontURLValidationHandler() {
-        lambdaComponent = DaggerLambdaComponent.create();
-        lambdaComponent.initializeAppConfig();
+        final long initStartNanos = System.nanoTime();
+        lambdaComponent = LambdaComponentProvider.getLambdaComponent();
         this.mapper = lambdaComponent.providesObjectMapper();
         this.cloudWatchMetricsHelper = lambdaComponent.providesCloudWatchMetricsHelper();
-        this.urlValidation = DaggerURLValidationComponent.create().getUrlValidation();
+        this.urlValidation = LambdaComponentProvider.getUrlValidation();
         this.lambdaResponseUtil = lambdaComponent.provideLambdaResponseUtil();
         this.urlValidationResultProcessor = lambdaComponent.provideURLValidationResultProcessor();
+        LambdaComponentProvider.logInitDuration(getClass(), initStartNanos);
     }
 
     /**
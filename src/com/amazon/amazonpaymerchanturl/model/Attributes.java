@@ -15,4 +15,7 @@ import lombok.NoArgsConstructor;
 public class Attributes {
     @JsonProperty("SentTimestamp")
     private String sentTimestamp;
+
+    @JsonProperty("ApproximateReceiveCount")
+    private String approximateReceiveCount;
 }
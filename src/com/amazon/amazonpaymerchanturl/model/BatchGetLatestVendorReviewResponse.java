@@ -0,0 +1,18 @@
+package com.amazon.amazonpaymerchanturl.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * BatchGetLatestVendorReviewResponse Response body, the latest vendor review response of every requested url.
+ */
+@Getter
+@Builder
+public class BatchGetLatestVendorReviewResponse {
+
+    final String clientReferenceGroupId;
+
+    final Map<String, BatchVendorReviewResponseResult> responses;
+}
@@ -0,0 +1,24 @@
+package com.amazon.amazonpaymerchanturl.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pojo to get BatchGetLatestVendorReviewResponse Lambda request body.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetLatestVendorReviewResponseRequest {
+
+    @JsonProperty("urls")
+    private List<String> urls;
+}
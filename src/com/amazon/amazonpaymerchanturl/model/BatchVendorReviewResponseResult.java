@@ -0,0 +1,28 @@
+package com.amazon.amazonpaymerchanturl.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Latest vendor review response of a url of a BatchGetLatestVendorReviewResponse request.
+ *
+ * A successful url holds its GetLatestVendorReviewResponse embedded as a JSON object, a failed url holds the
+ * error message of its status code.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchVendorReviewResponseResult {
+
+    final Integer statusCode;
+
+    /**
+     * Serialized GetLatestVendorReviewResponse, written as is in the batch response body.
+     */
+    @JsonRawValue
+    final String response;
+
+    final String error;
+}
@@ -0,0 +1,18 @@
+package com.amazon.amazonpaymerchanturl.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Serialized GetLatestVendorReviewResponse along with the review it was built from.
+ */
+@Getter
+@Builder
+public class CachedVendorReviewResponse {
+
+    final Long reviewStartTime;
+
+    final Long reviewEndTime;
+
+    final String responseBody;
+}
@@ -0,0 +1,16 @@
+package com.amazon.amazonpaymerchanturl.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Status code and body of the latest vendor review response of a url.
+ */
+@Getter
+@Builder
+public class VendorReviewResponseResult {
+
+    final Integer statusCode;
+
+    final String body;
+}
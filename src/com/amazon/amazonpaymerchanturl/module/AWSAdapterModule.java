@@ -1,18 +1,31 @@
 package com.amazon.amazonpaymerchanturl.module;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
 
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaymerchanturl.adapter.DomainValidationBatchLoadAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
 import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.stepfunctions.AWSStepFunctions;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.concurrent.ExecutorService;
+
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.S3_RANGED_GET_ENABLED;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.S3_RANGED_GET_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.S3_RANGED_GET_PART_SIZE_IN_BYTES;
+
 /**
  * Service configuration class for lambda handler.
  * All the lambda specific aws adapters must be defined in AWSAdapterModule.
@@ -20,38 +33,67 @@ import dagger.Provides;
 @Module
 public class AWSAdapterModule {
 
+    private static final long DEFAULT_S3_RANGED_GET_PART_SIZE_IN_BYTES = 8L * 1024 * 1024;
+
     /**
-     * Provides s3 adapter.
-     * @param s3Client       the s3 client
-     * @return               the s3 adapter
+     * Provides s3 adapter. When ranged gets are enabled, objects larger than a part are downloaded as concurrent
+     * ranged gets, otherwise every object is downloaded with a single get.
+     * @param s3Client                  the s3 client, built on first use
+     * @param rangedGetExecutorService  the executor running the ranged gets
+     * @return                          the s3 adapter
      */
     @Singleton
     @Provides
-    public S3Adapter providesS3Adapter(final AmazonS3 s3Client) {
-        return new S3Adapter(s3Client);
+    public S3Adapter providesS3Adapter(final Lazy<AmazonS3> s3Client,
+                                       @Named(S3_RANGED_GET_EXECUTOR_SERVICE)
+                                       final ExecutorService rangedGetExecutorService) {
+        if (!BooleanUtils.toBoolean(System.getenv(S3_RANGED_GET_ENABLED))) {
+            return new S3Adapter(s3Client);
+        }
+        final long partSizeInBytes = NumberUtils.toLong(System.getenv(S3_RANGED_GET_PART_SIZE_IN_BYTES),
+                DEFAULT_S3_RANGED_GET_PART_SIZE_IN_BYTES);
+        return new S3Adapter(s3Client, rangedGetExecutorService,
+                partSizeInBytes > 0 ? partSizeInBytes : DEFAULT_S3_RANGED_GET_PART_SIZE_IN_BYTES);
     }
 
     /**
      * Provides StepFunction adapter.
-     * @param stepFunction   the stepFunction client
+     * @param stepFunction   the stepFunction client, built on first use
      * @return               the stepFunction adapter
      */
     @Singleton
     @Provides
-    public StepFunctionAdapter providesStepFunctionAdapter(final AWSStepFunctions stepFunction) {
+    public StepFunctionAdapter providesStepFunctionAdapter(final Lazy<AWSStepFunctions> stepFunction) {
         return new StepFunctionAdapter(stepFunction);
     }
 
     /**
      * Provides sqs adapter.
-     * @param sqsClient                                     the sqs client
+     * @param sqsClient                                     the sqs client, built on first use
      * @param cloudWatchMetricsHelper                       the cloud watch metrics helper
      * @return                                              sqs adapter
      */
     @Singleton
     @Provides
-    public SQSAdapter providesSQSAdapter(final AmazonSQS sqsClient,
+    public SQSAdapter providesSQSAdapter(final Lazy<AmazonSQS> sqsClient,
                                          final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
         return new SQSAdapter(sqsClient, cloudWatchMetricsHelper);
     }
+
+    /**
+     * Provides DomainValidation DDB batch load adapter.
+     * @param dynamoDBMapper                                the dynamoDB mapper
+     * @param domainValidationDDBAdapter                    the domainValidation DDB adapter
+     * @param cloudWatchMetricsHelper                       the cloud watch metrics helper
+     * @return                                              domainValidation batch load adapter
+     */
+    @Singleton
+    @Provides
+    public DomainValidationBatchLoadAdapter providesDomainValidationBatchLoadAdapter(
+            final DynamoDBMapper dynamoDBMapper,
+            final DomainValidationDDBAdapter domainValidationDDBAdapter,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+        return new DomainValidationBatchLoadAdapter(dynamoDBMapper, domainValidationDDBAdapter,
+                cloudWatchMetricsHelper);
+    }
 }
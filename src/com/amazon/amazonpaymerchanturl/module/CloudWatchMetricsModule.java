@@ -17,17 +17,20 @@ public class CloudWatchMetricsModule {
 
     @Singleton
     @Provides
-    public CloudWatchMetricsHelper providesCloudWatchMetricsHelper(final MetricsAdapter metricsAdapter) {
-        return new CloudWatchMetricsHelper(metricsAdapter);
+    public CloudWatchMetricsHelper providesCloudWatchMetricsHelper(final MetricsAdapter metricsAdapter,
+                                                                   final AmazonCloudWatch amazonCloudWatch) {
+        return new CloudWatchMetricsHelper(metricsAdapter, amazonCloudWatch, providesMetricNamespace());
     }
 
     @Singleton
     @Provides
-    public MetricsAdapter providesMetricsAdaptor() {
-        return new MetricsAdapter(providesAmazonCloudWatchClient(), providesMetricNamespace());
+    public MetricsAdapter providesMetricsAdaptor(final AmazonCloudWatch amazonCloudWatch) {
+        return new MetricsAdapter(amazonCloudWatch, providesMetricNamespace());
     }
 
-    private AmazonCloudWatch providesAmazonCloudWatchClient() {
+    @Singleton
+    @Provides
+    public AmazonCloudWatch providesAmazonCloudWatchClient() {
         return AmazonCloudWatchClientBuilder.standard().build();
     }
 
@@ -3,24 +3,46 @@ package com.amazon.amazonpaymerchanturl.module;
 import amazon.platform.config.AppConfig;
 import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
 import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
+import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
 import com.amazon.amazonpaymerchanturl.adapter.StegoServiceAdapter;
+import com.amazon.amazonpaymerchanturl.component.LambdaComponentProvider;
+import com.amazon.amazonpaymerchanturl.constants.DeadLetterQueue;
 import com.amazon.amazonpaymerchanturl.constants.ModuleConstants;
+import com.amazon.amazonpaymerchanturl.processor.BuildDomainValidationUrlFilterProcessor;
+import com.amazon.amazonpaymerchanturl.processor.BulkDeleteUrlProcessor;
+import com.amazon.amazonpaymerchanturl.processor.DLQMessageReplayProcessor;
 import com.amazon.amazonpaymerchanturl.processor.DeleteUrlProcessor;
+import com.amazon.amazonpaymerchanturl.processor.GetLatestVendorReviewResponseProcessor;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor.MetricCheckpointStore;
 import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.processor.UrlInvestigationMetricProcessor;
+import com.amazon.amazonpaymerchanturl.urlinvestigationmetrics.utils.MetricUtil;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.UrlCanonicalizer;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
+import com.amazon.amazonpaymerchanturl.helper.VendorReviewResponseCache;
+import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
 import com.amazon.amazonpaymerchanturl.model.AmazonPayMerchantURLAppConfig;
 import com.amazon.amazonpaymerchanturl.processor.URLValidationResultProcessor;
+import com.amazon.amazonpaymerchanturl.provider.DetailedInspectionEvidenceProvider;
+import com.amazon.amazonpaymerchanturl.provider.DomainValidationUrlFilterProvider;
 import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
 import com.amazon.amazonpaymerchanturl.utils.LambdaResponseUtil;
 import com.amazon.amazonpaymerchanturl.utils.StegoDBUrlUpdateUtil;
+import com.amazon.amazonpaymerchanturl.utils.URLCaseSensitivityConvertorUtil;
+import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
 import com.amazon.amazonpaymerchanturl.utils.UrlStatusNotificationUtil;
 import com.amazon.lambdaskurge.adapter.SNSAdapter;
+import com.amazon.urlvendorreviewlib.factory.VendorDeboardUrlHandlerFactory;
+import com.amazon.urlvendorreviewlib.factory.VendorReviewHandlerFactory;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.cloudcover.agent.CloudCoverJavaAgent;
 import com.amazonaws.cloudcover.agent.CloudCoverJavaAgentBuilder;
 import com.amazonaws.cloudcover.agent.CloudCoverJavaAgentNoOpImpl;
 import com.amazonaws.cloudcover.agent.config.CloudCoverCoverageApplication;
 import com.amazonaws.cloudcover.agent.config.CloudCoverCoverageGroup;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.sqs.AmazonSQS;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,25 +52,48 @@ import com.amazon.cloudauth.client.CloudAuthCredentials;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import java.nio.file.Paths;
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.AWS_DEFAULT_REGION;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.BI_DELTA_SYNC_DLQ_URL;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DELETE_URL_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_CACHE_MAX_SIZE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_CACHE_TTL_SECONDS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_DEADLINE_MILLIS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DLQ_REPLAY_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DLQ_REPLAY_MAX_RECEIVE_COUNT;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DOMAIN_VALIDATION_URL_FILTER_ENABLED;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DOMAIN_VALIDATION_URL_FILTER_EXPECTED_ENTRIES;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DOMAIN_VALIDATION_URL_FILTER_MAX_AGE_MINUTES;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_MANUAL_RESPONSE_WORKFLOW_DLQ_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_URL_REVIEW_WORKFLOW_DLQ_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_VENDOR_RESPONSE_WORKFLOW_ERROR_QUEUE_URL;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_HOLIDAYS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_INCREMENTAL_ENABLED;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_QUERY_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_CANONICALIZER_FAST_PATH_ENABLED;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_RESPONSE_VALIDATION_ERROR_QUEUE_URL;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_REVIEW_RESPONSE_CACHE_MAX_SIZE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_REVIEW_RESPONSE_CACHE_TTL_SECONDS;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE;
 
 @Module
 public class ConfigModule {
@@ -67,6 +112,13 @@ public class ConfigModule {
     private static final String PIPELINE_ID = "pipelineId";
     private static final String CLOUD_COVER_PACKAGE_LIST = "cloudcover.packageList";
     private static final String CLOUD_COVER_ENABLE = "cloudcover.DomainValidationEnable";
+    private static final long DEFAULT_DETAILED_INSPECTION_DEADLINE_MILLIS = 5_000;
+    private static final long DEFAULT_DETAILED_INSPECTION_CACHE_TTL_SECONDS = 86_400;
+    private static final long DEFAULT_DETAILED_INSPECTION_CACHE_MAX_SIZE = 10_000;
+    private static final long DEFAULT_VENDOR_REVIEW_RESPONSE_CACHE_TTL_SECONDS = 3_600;
+    private static final long DEFAULT_VENDOR_REVIEW_RESPONSE_CACHE_MAX_SIZE = 10_000;
+    private static final long DEFAULT_DOMAIN_VALIDATION_URL_FILTER_MAX_AGE_MINUTES = 180;
+    private static final long DEFAULT_DOMAIN_VALIDATION_URL_FILTER_EXPECTED_ENTRIES = 5_000_000;
 
     @Singleton
     @Provides
@@ -217,8 +269,30 @@ public class ConfigModule {
     @Provides
     public UrlInvestigationMetricProcessor provideUrlInvestigationMetricProcessor(
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            final Clock systemClock) {
-        return new UrlInvestigationMetricProcessor(urlInvestigationDDBAdapter, systemClock);
+            final DynamoDBMapper dynamoDBMapper,
+            final Clock systemClock,
+            @Named(METRICS_QUERY_EXECUTOR_SERVICE) final ExecutorService metricsQueryExecutorService,
+            @Named(METRICS_HOLIDAYS) final Set<LocalDate> holidays,
+            final MetricCheckpointStore metricCheckpointStore) {
+        return new UrlInvestigationMetricProcessor(urlInvestigationDDBAdapter, dynamoDBMapper, systemClock,
+                metricsQueryExecutorService, holidays, metricCheckpointStore);
+    }
+
+    @Singleton
+    @Provides
+    public MetricCheckpointStore providesMetricCheckpointStore(
+            final S3Adapter s3Adapter,
+            @Named("BUCKET_FOR_METRICS_REPORT") final String s3BucketNameForReport,
+            @Named(ModuleConstants.OBJECT_MAPPER) final ObjectMapper mapper) {
+        return new MetricCheckpointStore(s3Adapter, s3BucketNameForReport, mapper,
+                BooleanUtils.toBoolean(System.getenv(METRICS_INCREMENTAL_ENABLED)));
+    }
+
+    @Singleton
+    @Provides
+    @Named(METRICS_HOLIDAYS)
+    public Set<LocalDate> providesMetricsHolidays() {
+        return MetricUtil.parseHolidays(System.getenv(METRICS_HOLIDAYS));
     }
 
     @Singleton
@@ -291,8 +365,143 @@ public class ConfigModule {
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final CloudWatchMetricsHelper cloudWatchMetricsHelper,
             final UrlStatusNotificationUtil urlStatusNotificationUtil,
+            final VendorDeboardUrlHandlerFactory vendorDeboardUrlHandlerFactory,
             @Named(ModuleConstants.URL_STATUS_TOPIC) final String urlNotificationTopic) {
         return new DeleteUrlProcessor(domainValidationDDBAdapter, cloudWatchMetricsHelper,
-                urlStatusNotificationUtil, urlNotificationTopic);
+                urlStatusNotificationUtil, vendorDeboardUrlHandlerFactory, urlNotificationTopic);
+    }
+
+    /**
+     * Provides the vendor deboard url handler factory of the url vendor review lib component of the container.
+     */
+    @Singleton
+    @Provides
+    public VendorDeboardUrlHandlerFactory providesVendorDeboardUrlHandlerFactory() {
+        return LambdaComponentProvider.getUrlVendorReviewLibComponent().getVendorDeboardUrlHandlerFactory();
+    }
+
+    @Singleton
+    @Provides
+    public BulkDeleteUrlProcessor providesBulkDeleteUrlProcessor(
+            final DeleteUrlProcessor deleteUrlProcessor,
+            final DomainValidationDDBAdapter domainValidationDDBAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
+            @Named(ModuleConstants.OBJECT_MAPPER) final ObjectMapper objectMapper,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+            @Named(ModuleConstants.URL_STATUS_TOPIC) final String urlNotificationTopic,
+            @Named(DELETE_URL_EXECUTOR_SERVICE) final ExecutorService deleteUrlExecutorService) {
+        return new BulkDeleteUrlProcessor(deleteUrlProcessor, domainValidationDDBAdapter, urlStatusNotificationBatcher,
+                objectMapper, cloudWatchMetricsHelper, urlNotificationTopic, deleteUrlExecutorService);
+    }
+
+    /**
+     * Provides the DomainValidation url filter provider, the filter is persisted in the DomainValidation table bucket.
+     * @return the DomainValidation url filter provider
+     */
+    @Singleton
+    @Provides
+    public DomainValidationUrlFilterProvider providesDomainValidationUrlFilterProvider(
+            final S3Adapter s3Adapter,
+            @Named("BUCKET_FOR_BI_DELTA_SYNC") final String domainValidationTableS3Bucket,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+        return new DomainValidationUrlFilterProvider(s3Adapter, domainValidationTableS3Bucket, cloudWatchMetricsHelper,
+                BooleanUtils.toBoolean(System.getenv(DOMAIN_VALIDATION_URL_FILTER_ENABLED)),
+                getPositiveLongFromEnv(DOMAIN_VALIDATION_URL_FILTER_MAX_AGE_MINUTES,
+                        DEFAULT_DOMAIN_VALIDATION_URL_FILTER_MAX_AGE_MINUTES));
+    }
+
+    @Singleton
+    @Provides
+    public BuildDomainValidationUrlFilterProcessor providesBuildDomainValidationUrlFilterProcessor(
+            final DynamoDBMapper dynamoDBMapper,
+            final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+        return new BuildDomainValidationUrlFilterProcessor(dynamoDBMapper, domainValidationUrlFilterProvider,
+                cloudWatchMetricsHelper,
+                getPositiveLongFromEnv(DOMAIN_VALIDATION_URL_FILTER_EXPECTED_ENTRIES,
+                        DEFAULT_DOMAIN_VALIDATION_URL_FILTER_EXPECTED_ENTRIES));
+    }
+
+    /**
+     * Provides the vendor review handler factory of the url vendor review lib component of the container.
+     */
+    @Singleton
+    @Provides
+    public VendorReviewHandlerFactory providesVendorReviewHandlerFactory() {
+        return LambdaComponentProvider.getUrlVendorReviewLibComponent().getVendorReviewHandlerFactory();
+    }
+
+    @Singleton
+    @Provides
+    public DetailedInspectionEvidenceProvider providesDetailedInspectionEvidenceProvider(
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+            @Named(DETAILED_INSPECTION_EXECUTOR_SERVICE) final ExecutorService detailedInspectionExecutorService,
+            final VendorReviewHandlerFactory vendorReviewHandlerFactory) {
+        return new DetailedInspectionEvidenceProvider(cloudWatchMetricsHelper, detailedInspectionExecutorService,
+                vendorReviewHandlerFactory,
+                getPositiveLongFromEnv(DETAILED_INSPECTION_DEADLINE_MILLIS,
+                        DEFAULT_DETAILED_INSPECTION_DEADLINE_MILLIS),
+                getPositiveLongFromEnv(DETAILED_INSPECTION_CACHE_TTL_SECONDS,
+                        DEFAULT_DETAILED_INSPECTION_CACHE_TTL_SECONDS),
+                getPositiveLongFromEnv(DETAILED_INSPECTION_CACHE_MAX_SIZE,
+                        DEFAULT_DETAILED_INSPECTION_CACHE_MAX_SIZE));
+    }
+
+    /**
+     * Provides the in-process vendor review response cache.
+     * @return the vendor review response cache
+     */
+    @Singleton
+    @Provides
+    public VendorReviewResponseCache providesVendorReviewResponseCache() {
+        return new VendorReviewResponseCache(
+                getPositiveLongFromEnv(VENDOR_REVIEW_RESPONSE_CACHE_TTL_SECONDS,
+                        DEFAULT_VENDOR_REVIEW_RESPONSE_CACHE_TTL_SECONDS),
+                getPositiveLongFromEnv(VENDOR_REVIEW_RESPONSE_CACHE_MAX_SIZE,
+                        DEFAULT_VENDOR_REVIEW_RESPONSE_CACHE_MAX_SIZE));
+    }
+
+    /**
+     * Provides the url canonicalizer, converting urls with the url utils unless the fast path is enabled.
+     * @return the url canonicalizer
+     */
+    @Singleton
+    @Provides
+    public UrlCanonicalizer providesUrlCanonicalizer() {
+        return new UrlCanonicalizer(URLCaseSensitivityConvertorUtil::getLowerCaseConvertedURL,
+                URLStandardizeUtil::standardize,
+                BooleanUtils.toBoolean(System.getenv(URL_CANONICALIZER_FAST_PATH_ENABLED)));
+    }
+
+    @Singleton
+    @Provides
+    public GetLatestVendorReviewResponseProcessor providesGetLatestVendorReviewResponseProcessor(
+            final JSONObjectMapperUtil jsonObjectMapperUtil,
+            final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+            final DetailedInspectionEvidenceProvider detailedInspectionEvidenceProvider,
+            final VendorReviewResponseCache vendorReviewResponseCache,
+            final WeblabHelper weblabHelper,
+            @Named(VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE) final ExecutorService vendorReviewResponseExecutorService) {
+        return new GetLatestVendorReviewResponseProcessor(jsonObjectMapperUtil, urlInvestigationDDBAdapter,
+                cloudWatchMetricsHelper, detailedInspectionEvidenceProvider, vendorReviewResponseCache, weblabHelper,
+                vendorReviewResponseExecutorService);
+    }
+
+    @Singleton
+    @Provides
+    public DLQMessageReplayProcessor providesDLQMessageReplayProcessor(
+            final Lazy<AWSLambda> lambdaClient,
+            final Lazy<AmazonSQS> sqsClient,
+            final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+            @Named(DLQ_REPLAY_EXECUTOR_SERVICE) final ExecutorService dlqReplayExecutorService) {
+        return new DLQMessageReplayProcessor(lambdaClient, sqsClient, cloudWatchMetricsHelper,
+                dlqReplayExecutorService, getPositiveLongFromEnv(DLQ_REPLAY_MAX_RECEIVE_COUNT,
+                DeadLetterQueue.RETRY_UPPER_LIMIT));
+    }
+
+    private static long getPositiveLongFromEnv(final String name, final long defaultValue) {
+        final long value = NumberUtils.toLong(System.getenv(name), defaultValue);
+        return value > 0 ? value : defaultValue;
     }
 }
@@ -0,0 +1,190 @@
+package com.amazon.amazonpaymerchanturl.module;
+
+import dagger.Module;
+import dagger.Provides;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.CALLBACK_WORKFLOW_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.CALLBACK_WORKFLOW_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DELETE_URL_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DELETE_URL_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DETAILED_INSPECTION_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DLQ_REPLAY_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DLQ_REPLAY_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_URL_REVIEW_WORKFLOW_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_QUERY_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.METRICS_QUERY_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.S3_RANGED_GET_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.S3_RANGED_GET_PARALLELISM;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_REVIEW_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.VENDOR_REVIEW_RESPONSE_PARALLELISM;
+
+/**
+ * Service configuration class for the executors used to fan out blocking downstream calls.
+ * Executors are created once per container and reused across invocations.
+ */
+@Module
+public class ExecutorModule {
+
+    private static final int DEFAULT_URL_REVIEW_PARALLELISM = 8;
+    private static final int DEFAULT_DLQ_REPLAY_PARALLELISM = 16;
+    private static final int DEFAULT_CALLBACK_WORKFLOW_PARALLELISM = 8;
+    private static final int DEFAULT_DELETE_URL_PARALLELISM = 16;
+    private static final int DEFAULT_S3_RANGED_GET_PARALLELISM = 4;
+    private static final int DEFAULT_DETAILED_INSPECTION_PARALLELISM = 8;
+    private static final int DEFAULT_VENDOR_REVIEW_RESPONSE_PARALLELISM = 8;
+    private static final int DEFAULT_METRICS_QUERY_PARALLELISM = 8;
+
+    /**
+     * Provides the degree of parallelism for per url processing in executeUrlReviewWorkflow lambda.
+     * @return  the configured parallelism, or the default if the environment variable is absent or invalid
+     */
+    @Singleton
+    @Provides
+    @Named(EXECUTE_URL_REVIEW_WORKFLOW_PARALLELISM)
+    public Integer providesExecuteUrlReviewWorkflowParallelism() {
+        return getPositiveIntegerFromEnv(EXECUTE_URL_REVIEW_WORKFLOW_PARALLELISM, DEFAULT_URL_REVIEW_PARALLELISM);
+    }
+
+    /**
+     * Provides the bounded executor used to process the urls of a review request concurrently.
+     * @param parallelism   the maximum number of urls processed at a time
+     * @return              the url review executor service
+     */
+    @Singleton
+    @Provides
+    @Named(URL_REVIEW_EXECUTOR_SERVICE)
+    public ExecutorService providesUrlReviewExecutorService(
+            @Named(EXECUTE_URL_REVIEW_WORKFLOW_PARALLELISM) final Integer parallelism) {
+        return Executors.newFixedThreadPool(parallelism, daemonThreadFactory(URL_REVIEW_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to replay DLQ messages of async lambda functions.
+     * The pool is sized for blocking lambda and sqs calls rather than for the vCPUs of the lambda.
+     * @return              the DLQ replay executor service
+     */
+    @Singleton
+    @Provides
+    @Named(DLQ_REPLAY_EXECUTOR_SERVICE)
+    public ExecutorService providesDLQReplayExecutorService() {
+        return Executors.newFixedThreadPool(
+                getPositiveIntegerFromEnv(DLQ_REPLAY_PARALLELISM, DEFAULT_DLQ_REPLAY_PARALLELISM),
+                daemonThreadFactory(DLQ_REPLAY_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the number of ordered lanes used to process the scan items of a vendor callback.
+     * @return  the configured parallelism, or the default if the environment variable is absent or invalid
+     */
+    @Singleton
+    @Provides
+    @Named(CALLBACK_WORKFLOW_PARALLELISM)
+    public Integer providesCallbackWorkflowParallelism() {
+        return getPositiveIntegerFromEnv(CALLBACK_WORKFLOW_PARALLELISM, DEFAULT_CALLBACK_WORKFLOW_PARALLELISM);
+    }
+
+    /**
+     * Provides the bounded executor running the ordered lanes of vendor callback scan items.
+     * @param parallelism   the number of lanes of a callback
+     * @return              the callback workflow executor service
+     */
+    @Singleton
+    @Provides
+    @Named(CALLBACK_WORKFLOW_EXECUTOR_SERVICE)
+    public ExecutorService providesCallbackWorkflowExecutorService(
+            @Named(CALLBACK_WORKFLOW_PARALLELISM) final Integer parallelism) {
+        return Executors.newFixedThreadPool(parallelism, daemonThreadFactory(CALLBACK_WORKFLOW_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to deboard and notify the urls of a deleted merchant.
+     * @return              the delete url executor service
+     */
+    @Singleton
+    @Provides
+    @Named(DELETE_URL_EXECUTOR_SERVICE)
+    public ExecutorService providesDeleteUrlExecutorService() {
+        return Executors.newFixedThreadPool(
+                getPositiveIntegerFromEnv(DELETE_URL_PARALLELISM, DEFAULT_DELETE_URL_PARALLELISM),
+                daemonThreadFactory(DELETE_URL_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to download the parts of large S3 objects concurrently.
+     * @return              the S3 ranged get executor service
+     */
+    @Singleton
+    @Provides
+    @Named(S3_RANGED_GET_EXECUTOR_SERVICE)
+    public ExecutorService providesS3RangedGetExecutorService() {
+        return Executors.newFixedThreadPool(
+                getPositiveIntegerFromEnv(S3_RANGED_GET_PARALLELISM, DEFAULT_S3_RANGED_GET_PARALLELISM),
+                daemonThreadFactory(S3_RANGED_GET_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to fetch the detailed inspections of a vendor review concurrently.
+     * @return              the detailed inspection executor service
+     */
+    @Singleton
+    @Provides
+    @Named(DETAILED_INSPECTION_EXECUTOR_SERVICE)
+    public ExecutorService providesDetailedInspectionExecutorService() {
+        return Executors.newFixedThreadPool(
+                getPositiveIntegerFromEnv(DETAILED_INSPECTION_PARALLELISM, DEFAULT_DETAILED_INSPECTION_PARALLELISM),
+                daemonThreadFactory(DETAILED_INSPECTION_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to build the latest vendor review responses of several urls concurrently.
+     * @return              the vendor review response executor service
+     */
+    @Singleton
+    @Provides
+    @Named(VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE)
+    public ExecutorService providesVendorReviewResponseExecutorService() {
+        final int parallelism = getPositiveIntegerFromEnv(VENDOR_REVIEW_RESPONSE_PARALLELISM,
+                DEFAULT_VENDOR_REVIEW_RESPONSE_PARALLELISM);
+        return Executors.newFixedThreadPool(parallelism, daemonThreadFactory(VENDOR_REVIEW_RESPONSE_EXECUTOR_SERVICE));
+    }
+
+    /**
+     * Provides the I/O sized executor used to query the day partitions of the SLA metrics concurrently.
+     * @return              the metrics query executor service
+     */
+    @Singleton
+    @Provides
+    @Named(METRICS_QUERY_EXECUTOR_SERVICE)
+    public ExecutorService providesMetricsQueryExecutorService() {
+        return Executors.newFixedThreadPool(
+                getPositiveIntegerFromEnv(METRICS_QUERY_PARALLELISM, DEFAULT_METRICS_QUERY_PARALLELISM),
+                daemonThreadFactory(METRICS_QUERY_EXECUTOR_SERVICE));
+    }
+
+    private static int getPositiveIntegerFromEnv(final String name, final int defaultValue) {
+        final int value = NumberUtils.toInt(System.getenv(name), defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Daemon threads so an idle pool never keeps the lambda runtime from shutting down.
+     */
+    private static ThreadFactory daemonThreadFactory(final String prefix) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,7 +2,9 @@ package com.amazon.amazonpaymerchanturl.module;
 
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.AWS_DEFAULT_REGION;
 
+import com.amazon.amazonpaymerchanturl.adapter.SNSPublishBatchAdapter;
 import com.amazon.amazonpaymerchanturl.constants.ModuleConstants;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.services.sns.AmazonSNS;
@@ -25,6 +27,20 @@ public class SNSModule {
         return new SNSAdapter(amazonSNS);
     }
 
+    @Singleton
+    @Provides
+    public SNSPublishBatchAdapter providesSNSPublishBatchAdapter(
+            @Named(URL_STATUS_SNS_CLIENT) final AmazonSNS amazonSNS) {
+        return new SNSPublishBatchAdapter(amazonSNS);
+    }
+
+    @Singleton
+    @Provides
+    public UrlStatusNotificationBatcher providesUrlStatusNotificationBatcher(
+            final SNSPublishBatchAdapter snsPublishBatchAdapter) {
+        return new UrlStatusNotificationBatcher(snsPublishBatchAdapter);
+    }
+
     @Singleton
     @Provides
     @Named(URL_STATUS_SNS_CLIENT)
@@ -19,11 +19,14 @@ import com.amazon.paragoninvestigationservice.RetryableDependencyException;
 import com.amazon.slapshot.coral.CSSlapshotServiceClient;
 import dagger.Module;
 import dagger.Provides;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import javax.inject.Singleton;
 
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.CLOUD_AUTH;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.DELIMITER;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.WEBLAB_TREATMENT_CACHE_MAX_SIZE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.WEBLAB_TREATMENT_CACHE_TTL_SECONDS;
 
 /**
  * Class to get {@link WeblabTreatmentInformationProvider} and {@link CSSlapshotServiceClient}.
@@ -63,6 +66,8 @@ public class SlapshotServiceModule {
 
     /**
      * Method to provide WeblabTreatmentInformationProvider.
+     * Treatment cache ttl and size are read from the environment, defaulting to the provider's defaults when they
+     * are absent, invalid or not positive.
      * @param slapshotAdapter SlapshotAdapter Instance
      * @param cloudWatchMetricsHelper CloudwatchMetricsHElper Instance
      * @return WeblabTreatmentInformationProvider.
@@ -72,7 +77,11 @@ public class SlapshotServiceModule {
     public WeblabTreatmentInformationProvider provideWeblabTreatmentInformationProvider(
             final SlapshotAdapter slapshotAdapter,
             final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
-        return new WeblabTreatmentInformationProvider(slapshotAdapter, cloudWatchMetricsHelper);
+        return new WeblabTreatmentInformationProvider(slapshotAdapter, cloudWatchMetricsHelper,
+                getPositiveLongFromEnv(WEBLAB_TREATMENT_CACHE_TTL_SECONDS,
+                        WeblabTreatmentInformationProvider.DEFAULT_CACHE_TTL_SECONDS),
+                getPositiveLongFromEnv(WEBLAB_TREATMENT_CACHE_MAX_SIZE,
+                        WeblabTreatmentInformationProvider.DEFAULT_CACHE_MAX_SIZE));
     }
 
     @Provides
@@ -86,4 +95,9 @@ public class SlapshotServiceModule {
     public WeblabHelper provideWeblabHelper(final WeblabTreatmentInformationProvider weblabProvider) {
         return new WeblabHelper(weblabProvider);
     }
+
+    private static long getPositiveLongFromEnv(final String name, final long defaultValue) {
+        final long value = NumberUtils.toLong(System.getenv(name), defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
 }
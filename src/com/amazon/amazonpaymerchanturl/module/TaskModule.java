@@ -1,6 +1,7 @@
 package com.amazon.amazonpaymerchanturl.module;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -10,19 +11,22 @@ import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapte
 import com.amazon.amazonpaymerchanturl.adapter.SQSAdapter;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
+import com.amazon.amazonpaymerchanturl.provider.DomainValidationUrlFilterProvider;
 import com.amazon.amazonpaymerchanturl.task.CallbackWorkflowDeterminatorTask;
 import com.amazon.amazonpaymerchanturl.task.GetAllFailedWorkflowsTask;
 import com.amazon.amazonpaymerchanturl.task.RetryWorkflowsTask;
 import com.amazon.amazonpaymerchanturl.task.StartManualWorkflowTask;
 import com.amazon.amazonpaymerchanturl.task.UpdateAndSendNotificationInGivenRangeTask;
 import com.amazon.amazonpaymerchanturl.task.UpdateAndSendNotificationTask;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dagger.Module;
 import dagger.Provides;
 
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.CALLBACK_WORKFLOW_EXECUTOR_SERVICE;
+import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.CALLBACK_WORKFLOW_PARALLELISM;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.EXECUTE_VENDOR_RESPONSE_WORKFLOW_ERROR_QUEUE_URL;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.GET_ALL_FAILED_WORKFLOWS_TASK;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.OBJECT_MAPPER;
@@ -31,7 +35,6 @@ import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.START_MA
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.UPDATE_AND_SEND_NOTIFICATION_IN_GIVEN_RANGE_TASK;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.UPDATE_AND_SEND_NOTIFICATION_TASK;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_REVIEW_WORKFLOW_MAP;
-import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_STATUS_SNS_ADAPTER;
 import static com.amazon.amazonpaymerchanturl.constants.ModuleConstants.URL_STATUS_TOPIC;
 
 /**
@@ -50,6 +53,10 @@ public class TaskModule {
      * @param objectMapper                         the object mapper.
      * @param sqsAdapter                           the sqs adapter
      * @param queueUrl                             the sqs queue url.
+     * @param weblabHelper                         the weblab helper.
+     * @param domainValidationUrlFilterProvider    the domain validation url filter provider.
+     * @param callbackWorkflowExecutorService      the executor running the lanes of scan items.
+     * @param callbackWorkflowParallelism          the number of lanes of scan items.
      * @return CallbackWorkflowDeterminatorTask    the callback workflow determinator task.
      */
     @Singleton
@@ -65,10 +72,14 @@ public class TaskModule {
             @Named(OBJECT_MAPPER) final ObjectMapper objectMapper,
             final SQSAdapter sqsAdapter,
             @Named(EXECUTE_VENDOR_RESPONSE_WORKFLOW_ERROR_QUEUE_URL) final String queueUrl,
-            final WeblabHelper weblabHelper) {
+            final WeblabHelper weblabHelper,
+            final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider,
+            @Named(CALLBACK_WORKFLOW_EXECUTOR_SERVICE) final ExecutorService callbackWorkflowExecutorService,
+            @Named(CALLBACK_WORKFLOW_PARALLELISM) final Integer callbackWorkflowParallelism) {
         return new CallbackWorkflowDeterminatorTask(domainValidationDDBAdapter, urlInvestigationDDBAdapter,
                 cloudWatchMetricsHelper, stepFunctionAdapter, urlReviewWorkflowMap, objectMapper, sqsAdapter, queueUrl,
-                weblabHelper);
+                weblabHelper, domainValidationUrlFilterProvider, callbackWorkflowExecutorService,
+                callbackWorkflowParallelism);
     }
     //CHECKSTYLE:UNSUPPRESS:ParameterNumber
 
@@ -84,11 +95,12 @@ public class TaskModule {
             final StepFunctionAdapter stepFunctionAdapter,
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            @Named(URL_STATUS_SNS_ADAPTER) final SNSAdapter snsAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
             @Named(URL_STATUS_TOPIC) final String urlStatusNotificationTopic,
             @Named(URL_REVIEW_WORKFLOW_MAP) final Map<String, String> urlReviewWorkflowMap) {
         return new UpdateAndSendNotificationTask(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter,
-                urlInvestigationDDBAdapter, snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlInvestigationDDBAdapter, urlStatusNotificationBatcher, urlStatusNotificationTopic,
+                urlReviewWorkflowMap);
     }
 
     /**
@@ -103,12 +115,12 @@ public class TaskModule {
             final StepFunctionAdapter stepFunctionAdapter,
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            @Named(URL_STATUS_SNS_ADAPTER) final SNSAdapter snsAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
             @Named(URL_STATUS_TOPIC) final String urlStatusNotificationTopic,
             @Named(URL_REVIEW_WORKFLOW_MAP) final Map<String, String> urlReviewWorkflowMap) {
         return new UpdateAndSendNotificationInGivenRangeTask(objectMapper, stepFunctionAdapter,
-                domainValidationDDBAdapter, urlInvestigationDDBAdapter, snsAdapter, urlStatusNotificationTopic,
-                urlReviewWorkflowMap);
+                domainValidationDDBAdapter, urlInvestigationDDBAdapter, urlStatusNotificationBatcher,
+                urlStatusNotificationTopic, urlReviewWorkflowMap);
     }
 
     /**
@@ -123,11 +135,12 @@ public class TaskModule {
             final StepFunctionAdapter stepFunctionAdapter,
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            @Named(URL_STATUS_SNS_ADAPTER) final SNSAdapter snsAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
             @Named(URL_STATUS_TOPIC) final String urlStatusNotificationTopic,
             @Named(URL_REVIEW_WORKFLOW_MAP) final Map<String, String> urlReviewWorkflowMap) {
         return new GetAllFailedWorkflowsTask(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter,
-                urlInvestigationDDBAdapter, snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlInvestigationDDBAdapter, urlStatusNotificationBatcher, urlStatusNotificationTopic,
+                urlReviewWorkflowMap);
     }
 
     /**
@@ -142,11 +155,12 @@ public class TaskModule {
             final StepFunctionAdapter stepFunctionAdapter,
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            @Named(URL_STATUS_SNS_ADAPTER) final SNSAdapter snsAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
             @Named(URL_STATUS_TOPIC) final String urlStatusNotificationTopic,
             @Named(URL_REVIEW_WORKFLOW_MAP) final Map<String, String> urlReviewWorkflowMap) {
         return new RetryWorkflowsTask(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter,
-                urlInvestigationDDBAdapter, snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlInvestigationDDBAdapter, urlStatusNotificationBatcher, urlStatusNotificationTopic,
+                urlReviewWorkflowMap);
     }
 
     /**
@@ -161,10 +175,11 @@ public class TaskModule {
             final StepFunctionAdapter stepFunctionAdapter,
             final DomainValidationDDBAdapter domainValidationDDBAdapter,
             final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-            @Named(URL_STATUS_SNS_ADAPTER) final SNSAdapter snsAdapter,
+            final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
             @Named(URL_STATUS_TOPIC) final String urlStatusNotificationTopic,
             @Named(URL_REVIEW_WORKFLOW_MAP) final Map<String, String> urlReviewWorkflowMap) {
         return new StartManualWorkflowTask(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter,
-                urlInvestigationDDBAdapter, snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlInvestigationDDBAdapter, urlStatusNotificationBatcher, urlStatusNotificationTopic,
+                urlReviewWorkflowMap);
     }
 }
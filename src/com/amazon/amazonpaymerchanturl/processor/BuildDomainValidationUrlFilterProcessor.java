@@ -0,0 +1,73 @@
+package com.amazon.amazonpaymerchanturl.processor;
+
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationUrlFilter;
+import com.amazon.amazonpaymerchanturl.provider.DomainValidationUrlFilterProvider;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_ENTRIES;
+
+/**
+ * Rebuilds the DomainValidation url filter from a scan of DomainValidation DDB and persists it to S3.
+ *
+ * The filter is stamped with the time the scan started, so entries created during the scan are either in the
+ * filter or newer than it. The scanned items are iterated once and never held in memory.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class BuildDomainValidationUrlFilterProcessor {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int SCAN_SEGMENTS = 4;
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final long expectedEntries;
+
+    /**
+     * Rebuilds and persists the filter.
+     * @return the number of entries added to the filter
+     */
+    public long process() {
+        final DomainValidationUrlFilter filter = DomainValidationUrlFilter.create(expectedEntries,
+                FALSE_POSITIVE_PROBABILITY);
+        final DynamoDBMapperConfig scanConfig = DynamoDBMapperConfig.builder()
+                .withPaginationLoadingStrategy(PaginationLoadingStrategy.ITERATION_ONLY)
+                .build();
+
+        long entries = 0;
+        for (AmazonPayDomainValidationItem item : dynamoDBMapper.parallelScan(AmazonPayDomainValidationItem.class,
+                new DynamoDBScanExpression(), SCAN_SEGMENTS, scanConfig)) {
+            if (StringUtils.isNotEmpty(item.getClientReferenceGroupId())
+                    && StringUtils.isNotEmpty(item.getNormalizedUrl())) {
+                filter.put(item.getClientReferenceGroupId(), item.getNormalizedUrl());
+                entries++;
+            }
+        }
+
+        // An empty filter would skip the lookup of every url, it is never persisted
+        if (entries == 0) {
+            throw new AmazonPayMerchantURLNonRetryableException(
+                    "No entry found in DomainValidation DDB, not saving an empty domain validation url filter.");
+        }
+        if (entries > expectedEntries) {
+            log.warn("Domain validation url filter holds {} entries, more than the {} expected entries",
+                    entries, expectedEntries);
+        }
+        domainValidationUrlFilterProvider.save(filter);
+        log.info("Built domain validation url filter of {} entries with false positive probability {}",
+                entries, filter.getExpectedFalsePositiveProbability());
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_URL_FILTER_ENTRIES,
+                (int) Math.min(entries, Integer.MAX_VALUE));
+        return entries;
+    }
+}
@@ -0,0 +1,202 @@
+package com.amazon.amazonpaymerchanturl.processor;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAONonRetryableException;
+import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.constants.ActiveStatus;
+import com.amazon.amazonpaymerchanturl.constants.UpdateStatusType;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
+import com.amazon.amazonpaymerchanturl.model.DeleteUrlNotificationMessage;
+import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
+import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.PROCESS_DELETE_URL_FAILURE_METRICS_SERVER_ERROR;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.URL_STATUS_NOTIFICATION_TOPIC_FAILED;
+
+/**
+ * Deletes the urls of a merchant in bulk.
+ * <p>
+ * a. Deboards the urls from the vendor concurrently on a bounded executor.
+ * <p>
+ * b. Marks the deboarded urls inactive in DomainValidation DDB concurrently, only the active status and deletion
+ * time of an entry are updated.
+ * <p>
+ * c. Publishes the delete notifications of the inactivated urls with SNS PublishBatch calls.
+ * <p>
+ * A url which fails in any step is reported as failed and skips the remaining steps.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class BulkDeleteUrlProcessor {
+
+    private final DeleteUrlProcessor deleteUrlProcessor;
+    private final DomainValidationDDBAdapter domainValidationDDBAdapter;
+    private final UrlStatusNotificationBatcher urlStatusNotificationBatcher;
+    private final ObjectMapper objectMapper;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final String urlStatusNotificationTopic;
+    private final ExecutorService deleteUrlExecutorService;
+
+    /**
+     * Result of a bulk delete, urls are listed in the order they were given.
+     */
+    @Value
+    public static class BulkDeleteUrlResult {
+        List<String> successUrls;
+        List<String> failedUrls;
+    }
+
+    /**
+     * Deletes the given DomainValidation DDB items.
+     *
+     * @param items                   the items to delete, as read from DomainValidation DDB
+     * @param isVendorDeboardRequired decides whether the url of an item has to be deboarded from the vendor
+     * @param deboardType             the vendor deboard type
+     * @return the urls which were deleted and the urls which failed
+     */
+    public BulkDeleteUrlResult process(@NonNull final List<AmazonPayDomainValidationItem> items,
+                                       @NonNull final Predicate<AmazonPayDomainValidationItem> isVendorDeboardRequired,
+                                       @NonNull final String deboardType) {
+        final Set<String> failedUrls = new HashSet<>();
+
+        final List<AmazonPayDomainValidationItem> deboardedItems = runConcurrently(items,
+                item -> !isVendorDeboardRequired.test(item) || deboardUrl(item, deboardType), failedUrls);
+        final long deletionTime = Instant.now().toEpochMilli();
+        final List<AmazonPayDomainValidationItem> inactivatedItems = runConcurrently(deboardedItems,
+                item -> markInactive(item, deletionTime), failedUrls);
+        publishDeleteUrlNotifications(inactivatedItems, failedUrls);
+
+        final Map<Boolean, List<String>> urlsByStatus = items.stream()
+                .map(AmazonPayDomainValidationItem::getUrl)
+                .collect(Collectors.partitioningBy(url -> !failedUrls.contains(url)));
+        log.info("Deleted {} urls, failed to delete {} urls.", urlsByStatus.get(true).size(),
+                urlsByStatus.get(false).size());
+        return new BulkDeleteUrlResult(urlsByStatus.get(true), urlsByStatus.get(false));
+    }
+
+    /**
+     * Runs the step for every item on the delete url executor.
+     * @return the items for which the step succeeded, the urls of the other items are added to failedUrls
+     */
+    private List<AmazonPayDomainValidationItem> runConcurrently(final List<AmazonPayDomainValidationItem> items,
+                                                                final Predicate<AmazonPayDomainValidationItem> step,
+                                                                final Set<String> failedUrls) {
+        final Map<AmazonPayDomainValidationItem, Future<Boolean>> futures = new LinkedHashMap<>();
+        items.forEach(item -> futures.put(item, deleteUrlExecutorService.submit(() -> step.test(item))));
+
+        final List<AmazonPayDomainValidationItem> succeededItems = new ArrayList<>();
+        futures.forEach((item, future) -> {
+            if (getStatus(future, item)) {
+                succeededItems.add(item);
+            } else {
+                failedUrls.add(item.getUrl());
+            }
+        });
+        return succeededItems;
+    }
+
+    private boolean getStatus(final Future<Boolean> future, final AmazonPayDomainValidationItem item) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while deleting the url: {} for clientReferenceGroupId: {}",
+                    item.getUrl(), item.getClientReferenceGroupId(), e);
+        } catch (final ExecutionException e) {
+            log.error("Exception received while deleting the url: {} for clientReferenceGroupId: {}",
+                    item.getUrl(), item.getClientReferenceGroupId(), e.getCause());
+        }
+        return false;
+    }
+
+    private boolean deboardUrl(final AmazonPayDomainValidationItem item, final String deboardType) {
+        try {
+            deleteUrlProcessor.deboardUrl(item.getClientReferenceGroupId(), item.getUrl(), deboardType);
+            return true;
+        } catch (UrlVendorReviewClientException e) {
+            log.error("Non-retryable exception received. while deboarding the url: {} for "
+                    + "clientReferenceGroupId: {}", item.getUrl(), item.getClientReferenceGroupId(), e);
+        } catch (UrlVendorReviewServerException e) {
+            cloudWatchMetricsHelper
+                    .publishRecordCountMetricToCloudWatch(PROCESS_DELETE_URL_FAILURE_METRICS_SERVER_ERROR);
+            log.error("Retryable exception received. while deboarding the url: {} for "
+                    + "clientReferenceGroupId: {}", item.getUrl(), item.getClientReferenceGroupId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Marks the item inactive with a partial update, the other attributes of the entry are left unchanged.
+     */
+    private boolean markInactive(final AmazonPayDomainValidationItem item, final long deletionTime) {
+        try {
+            domainValidationDDBAdapter.updateEntry(AmazonPayDomainValidationItem.builder()
+                    .clientReferenceGroupId(item.getClientReferenceGroupId())
+                    .url(item.getUrl())
+                    .isActive(Boolean.FALSE)
+                    .deletionTime(deletionTime)
+                    .build());
+            return true;
+        } catch (AmazonPayDomainValidationDAONonRetryableException e) {
+            log.error("Non-retryable exception received. while deleting the url: {} for "
+                    + "clientReferenceGroupId: {}", item.getUrl(), item.getClientReferenceGroupId(), e);
+        } catch (AmazonPayDomainValidationDAORetryableException e) {
+            cloudWatchMetricsHelper
+                    .publishRecordCountMetricToCloudWatch(PROCESS_DELETE_URL_FAILURE_METRICS_SERVER_ERROR);
+            log.error("Retryable exception received. while deleting the url: {} for "
+                    + "clientReferenceGroupId: {}", item.getUrl(), item.getClientReferenceGroupId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Publishes the delete notifications of the items in batches, the urls of the items whose notification could
+     * not be built or published are added to failedUrls.
+     */
+    private void publishDeleteUrlNotifications(final List<AmazonPayDomainValidationItem> items,
+                                               final Set<String> failedUrls) {
+        final Map<String, String> urlsByMessage = new LinkedHashMap<>();
+        for (AmazonPayDomainValidationItem item : items) {
+            try {
+                urlsByMessage.put(objectMapper.writeValueAsString(DeleteUrlNotificationMessage.builder()
+                        .clientReferenceGroupId(item.getClientReferenceGroupId())
+                        .url(item.getUrl())
+                        .updateStatusType(UpdateStatusType.ACTIVE_STATUS)
+                        .urlStatus(ActiveStatus.DISABLED.getValue())
+                        .build()), item.getUrl());
+            } catch (Exception e) {
+                log.error("Error building the delete notification of the url: {} for clientReferenceGroupId: {}",
+                        item.getUrl(), item.getClientReferenceGroupId(), e);
+                failedUrls.add(item.getUrl());
+            }
+        }
+
+        final List<String> failedMessages = urlStatusNotificationBatcher.publish(urlStatusNotificationTopic,
+                new ArrayList<>(urlsByMessage.keySet()));
+        if (!failedMessages.isEmpty()) {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(URL_STATUS_NOTIFICATION_TOPIC_FAILED,
+                    failedMessages.size());
+            failedMessages.forEach(message -> failedUrls.add(urlsByMessage.get(message)));
+        }
+    }
+}
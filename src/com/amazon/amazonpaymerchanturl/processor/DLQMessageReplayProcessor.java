@@ -0,0 +1,220 @@
+package com.amazon.amazonpaymerchanturl.processor;
+
+import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.Lambda;
+import com.amazon.amazonpaymerchanturl.awsSvcUtilFunctions.SQS;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.model.Attributes;
+import com.amazon.amazonpaymerchanturl.model.SQSRecord;
+import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.sqs.AmazonSQS;
+import dagger.Lazy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DLQ_MSG_RECEIVE_LIMIT_EXCEEDED;
+
+/**
+ * Replays messages from the DLQ of an async lambda function.
+ * <p>
+ * a. Re-invokes the origin lambda for every record concurrently on a dedicated I/O sized executor.
+ * <p>
+ * b. Stops replaying once the remaining execution time of the poller runs low, the records which were not
+ * attempted stay in the DLQ for the next poll.
+ * <p>
+ * c. Reports the outcome of every record.
+ * <p>
+ * d. Deletes the records which do not need to stay in the DLQ with DeleteMessageBatch calls.
+ * <p>
+ * e. Fails the poller invocation when records must stay in the DLQ, so the event source mapping does not
+ * acknowledge them with the rest of the batch.
+ * <p>
+ * f. Discards a record which failed again once it was received the maximum number of times, as a record left in
+ * the DLQ keeps its original body and its retry count never advances.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class DLQMessageReplayProcessor {
+
+    private final Lazy<AWSLambda> lambdaClient;
+    private final Lazy<AmazonSQS> sqsClient;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final ExecutorService dlqReplayExecutorService;
+    private final long maxReceiveCount;
+
+    /**
+     * Minimum remaining execution time of the poller required to start replaying a record.
+     */
+    private static final int MIN_REMAINING_TIME_IN_MILLIS = 10_000;
+
+    /**
+     * Outcome of replaying a DLQ record.
+     */
+    public enum ReplayOutcome {
+        /**
+         * The origin lambda was invoked with the record, the record is deleted.
+         */
+        REPLAYED,
+        /**
+         * The invocation failed and a copy of the record was sent back to the DLQ, the record is deleted.
+         */
+        SENT_TO_DLQ,
+        /**
+         * The record is invalid, has exhausted its retries or failed once received the maximum number of times,
+         * the record is deleted.
+         */
+        DISCARDED,
+        /**
+         * The record could not be replayed or sent back to the DLQ, the record stays in the DLQ.
+         */
+        FAILED,
+        /**
+         * The record was not attempted within the remaining execution time, the record stays in the DLQ.
+         */
+        SKIPPED
+    }
+
+    /**
+     * Replays the records to the origin lambda and deletes the handled records from its DLQ.
+     *
+     * @param records          the DLQ records
+     * @param originLambdaName the origin lambda name
+     * @param payloadProvider  builds the replay payload of a record, an empty payload discards the record
+     * @param context          Lambda's context
+     * @return the replay outcome of every record, keyed by receipt handle
+     */
+    public Map<String, ReplayOutcome> replay(@NonNull final List<SQSRecord> records,
+                                             @NonNull final String originLambdaName,
+                                             @NonNull final Function<SQSRecord, String> payloadProvider,
+                                             @NonNull final Context context) {
+        final Map<String, Future<ReplayOutcome>> pendingOutcomes = new LinkedHashMap<>();
+        records.forEach(sqsRecord -> pendingOutcomes.put(sqsRecord.getReceiptHandle(),
+                dlqReplayExecutorService.submit(
+                        () -> replayRecord(sqsRecord, originLambdaName, payloadProvider, context))));
+
+        final Map<String, ReplayOutcome> outcomes = new LinkedHashMap<>();
+        records.forEach(sqsRecord -> outcomes.put(sqsRecord.getReceiptHandle(), discardIfReceiveLimitReached(
+                sqsRecord, getOutcome(pendingOutcomes.get(sqsRecord.getReceiptHandle())), originLambdaName)));
+
+        final List<String> receiptHandlesToDelete = outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue() != ReplayOutcome.FAILED
+                        && entry.getValue() != ReplayOutcome.SKIPPED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        final List<String> failedDeletes = SQS.deleteMsgBatchFromLambdaDLQ(
+                SQS.DeleteMsgBatchFromLambdaDLQInput.builder()
+                        .sqsClient(sqsClient.get())
+                        .lambdaName(originLambdaName)
+                        .receiptHandles(receiptHandlesToDelete)
+                        .cloudWatchMetricsHelper(cloudWatchMetricsHelper)
+                        .context(context).build());
+
+        log.info("Replayed DLQ messages of lambda: {} with outcomes: {}, failed deletes: {}",
+                originLambdaName, countByOutcome(outcomes), failedDeletes.size());
+        return outcomes;
+    }
+
+    /**
+     * Fails the poller invocation when some records could not be handled. The handled records were already deleted
+     * from the DLQ, failing the invocation keeps the event source mapping from deleting the remaining ones, which
+     * become visible again for the next poll.
+     *
+     * @param outcomes         the replay outcome of every record
+     * @param originLambdaName the origin lambda name
+     * @throws AmazonPayMerchantURLRetryableException if a record was FAILED or SKIPPED
+     */
+    public void verifyAllHandled(@NonNull final Map<String, ReplayOutcome> outcomes,
+                                 @NonNull final String originLambdaName) {
+        final long unhandledRecords = outcomes.values().stream()
+                .filter(outcome -> outcome == ReplayOutcome.FAILED || outcome == ReplayOutcome.SKIPPED)
+                .count();
+        if (unhandledRecords > 0) {
+            throw new AmazonPayMerchantURLRetryableException(String.format(
+                    "%d of %d DLQ messages of lambda: %s were not replayed and are left in the DLQ",
+                    unhandledRecords, outcomes.size(), originLambdaName));
+        }
+    }
+
+    private ReplayOutcome replayRecord(final SQSRecord sqsRecord, final String originLambdaName,
+                                       final Function<SQSRecord, String> payloadProvider, final Context context) {
+        if (context.getRemainingTimeInMillis() < MIN_REMAINING_TIME_IN_MILLIS) {
+            return ReplayOutcome.SKIPPED;
+        }
+        log.debug("Invoking origin lambda with input: {}", sqsRecord.getBody());
+        final String payload = payloadProvider.apply(sqsRecord);
+        if (StringUtils.isEmpty(payload)) {
+            return ReplayOutcome.DISCARDED;
+        }
+
+        final Lambda.AsyncInvocationOutcome invocationOutcome = Lambda.invokeLambdaAsyncWithOutcome(
+                Lambda.InvokeLambdaAsyncInput.builder()
+                        .lambdaClient(lambdaClient.get())
+                        .sqsClient(sqsClient.get())
+                        .lambdaName(originLambdaName)
+                        .payload(payload)
+                        .cloudWatchMetricsHelper(cloudWatchMetricsHelper)
+                        .context(context)
+                        .build());
+        switch (invocationOutcome) {
+            case INVOKED:
+                return ReplayOutcome.REPLAYED;
+            case SENT_TO_DLQ:
+                return ReplayOutcome.SENT_TO_DLQ;
+            default:
+                return ReplayOutcome.FAILED;
+        }
+    }
+
+    /**
+     * Discards a FAILED record once it was received the maximum number of times. The other outcomes are returned as
+     * they are.
+     */
+    private ReplayOutcome discardIfReceiveLimitReached(final SQSRecord sqsRecord, final ReplayOutcome outcome,
+                                                       final String originLambdaName) {
+        if (outcome != ReplayOutcome.FAILED) {
+            return outcome;
+        }
+        final Attributes attributes = sqsRecord.getAttributes();
+        final long receiveCount = attributes == null ? 0
+                : NumberUtils.toLong(attributes.getApproximateReceiveCount(), 0);
+        if (receiveCount < maxReceiveCount) {
+            return outcome;
+        }
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DLQ_MSG_RECEIVE_LIMIT_EXCEEDED);
+        log.error("DLQ message of lambda: {} failed after being received {} times. Discarding record: {}",
+                originLambdaName, receiveCount, sqsRecord.getBody());
+        return ReplayOutcome.DISCARDED;
+    }
+
+    private ReplayOutcome getOutcome(final Future<ReplayOutcome> outcome) {
+        try {
+            return outcome.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Interrupted while replaying DLQ message", e);
+        } catch (final ExecutionException e) {
+            log.info("Exception encountered while replaying DLQ message", e.getCause());
+        }
+        return ReplayOutcome.FAILED;
+    }
+
+    private Map<ReplayOutcome, Integer> countByOutcome(final Map<String, ReplayOutcome> outcomes) {
+        final Map<ReplayOutcome, Integer> counts = new EnumMap<>(ReplayOutcome.class);
+        outcomes.values().forEach(outcome -> counts.merge(outcome, 1, Integer::sum));
+        return counts;
+    }
+}
@@ -9,8 +9,6 @@ import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryab
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.utils.UrlStatusNotificationUtil;
-import com.amazon.urlvendorreviewlib.component.DaggerUrlVendorReviewLibComponent;
-import com.amazon.urlvendorreviewlib.component.UrlVendorReviewLibComponent;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
 import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
 import com.amazon.urlvendorreviewlib.factory.VendorDeboardUrlHandlerFactory;
@@ -33,7 +31,6 @@ public class DeleteUrlProcessor {
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
     private final UrlStatusNotificationUtil urlStatusNotificationUtil;
-    private final UrlVendorReviewLibComponent urlVendorReviewLibComponent;
     private final VendorDeboardUrlHandlerFactory vendorDeboardUrlHandlerFactory;
     private final String urlStatusNotificationTopic;
 
@@ -41,13 +38,13 @@ public class DeleteUrlProcessor {
     public DeleteUrlProcessor(final DomainValidationDDBAdapter domainValidationDDBAdapter,
                               final CloudWatchMetricsHelper cloudWatchMetricsHelper,
                               final UrlStatusNotificationUtil urlStatusNotificationUtil,
+                              final VendorDeboardUrlHandlerFactory vendorDeboardUrlHandlerFactory,
                               final String urlStatusNotificationTopic) {
         this.domainValidationDDBAdapter = domainValidationDDBAdapter;
         this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
         this.urlStatusNotificationUtil = urlStatusNotificationUtil;
+        this.vendorDeboardUrlHandlerFactory = vendorDeboardUrlHandlerFactory;
         this.urlStatusNotificationTopic = urlStatusNotificationTopic;
-        urlVendorReviewLibComponent = DaggerUrlVendorReviewLibComponent.create();
-        vendorDeboardUrlHandlerFactory = urlVendorReviewLibComponent.getVendorDeboardUrlHandlerFactory();
     }
 
     public void process(@NonNull final String clientReferenceGroupId, @NonNull final String url,
@@ -79,7 +76,7 @@ public class DeleteUrlProcessor {
         }
     }
 
-    private void deboardUrl(final String clientReferenceGroupId, final String url, final String deboardType) {
+    void deboardUrl(final String clientReferenceGroupId, final String url, final String deboardType) {
         log.info("initiating call to everC to deboard the url: {} for clientReferenceGroupId: {}",
                 url, clientReferenceGroupId);
 
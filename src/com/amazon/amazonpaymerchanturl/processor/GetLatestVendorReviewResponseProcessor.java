@@ -0,0 +1,329 @@
+package com.amazon.amazonpaymerchanturl.processor;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.UrlInvestigationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAONonRetryableException;
+import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidationDAORetryableException;
+import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.VendorReviewResponseCache;
+import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
+import com.amazon.amazonpaymerchanturl.model.CachedVendorReviewResponse;
+import com.amazon.amazonpaymerchanturl.model.GetLatestVendorReviewResponse;
+import com.amazon.amazonpaymerchanturl.model.Inspection;
+import com.amazon.amazonpaymerchanturl.model.VendorReviewResponseResult;
+import com.amazon.amazonpaymerchanturl.provider.DetailedInspectionEvidenceProvider;
+import com.amazon.amazonpaymerchanturl.utils.JSONObjectMapperUtil;
+import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
+import com.amazon.urlvendorreviewmodel.model.EvidenceSpec;
+import com.amazon.urlvendorreviewmodel.model.InspectionSpec;
+import com.amazon.urlvendorreviewmodel.model.ReviewInfo;
+import com.amazon.urlvendorreviewmodel.model.RiskSpec;
+import com.amazon.urlvendorreviewmodel.type.SubInvestigationType;
+import com.google.common.collect.ImmutableSet;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_HIT;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_MISS;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS_DDB_ENTRY_NOT_FOUND;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.BAD_REQUEST;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.BAD_REQUEST_FAILED_STATUS_CODE;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.FAILED_STATUS_CODE;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.INTERNAL_SERVER_ERROR;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.NOT_FOUND;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.NOT_FOUND_FAILED_STATUS_CODE;
+import static com.amazon.amazonpaymerchanturl.constants.ResponseConstants.SUCCESS_STATUS_CODE;
+import static com.amazon.amazonpaymerchanturl.utils.HandlersUtil.createClientReferenceGroupIdUrl;
+
+/**
+ * Builds the latest vendor review response of merchant urls.
+ *
+ * Built responses are cached by clientReferenceGroupId and url. UrlInvestigation DDB is always queried for the latest
+ * review, and a cached response is returned without any vendor call when it was built from that review.
+ * The responses of several urls are built concurrently on a bounded executor.
+ */
+@RequiredArgsConstructor
+@Log4j2
+public class GetLatestVendorReviewResponseProcessor {
+
+    private static final String EVIDENCE_TYPE_SCREENSHOT = "screenshot";
+    private static final Set<String> VENDOR_REVIEW_TYPES = ImmutableSet.of(
+            SubInvestigationType.AUTO_HEAVYWEIGHT.getSubInvestigationType(),
+            SubInvestigationType.AUTO_LIGHTWEIGHT.getSubInvestigationType(),
+            SubInvestigationType.AUTO_MONITORING.getSubInvestigationType());
+
+    private final JSONObjectMapperUtil jsonObjectMapperUtil;
+    private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final DetailedInspectionEvidenceProvider detailedInspectionEvidenceProvider;
+    private final VendorReviewResponseCache vendorReviewResponseCache;
+    private final WeblabHelper weblabHelper;
+    private final ExecutorService vendorReviewResponseExecutorService;
+
+    /**
+     * Builds the latest vendor review responses of the urls concurrently.
+     * @param clientReferenceGroupId the clientReferenceGroupId
+     * @param urls                   the urls
+     * @return the result of every url, in the order of the urls
+     */
+    public Map<String, VendorReviewResponseResult> process(@NonNull final String clientReferenceGroupId,
+                                                           @NonNull final List<String> urls) {
+        final Map<String, Future<VendorReviewResponseResult>> futures = new LinkedHashMap<>();
+        urls.forEach(url -> futures.computeIfAbsent(url, key -> vendorReviewResponseExecutorService.submit(
+                () -> process(clientReferenceGroupId, url))));
+
+        final Map<String, VendorReviewResponseResult> results = new LinkedHashMap<>();
+        futures.forEach((url, future) -> results.put(url, getResult(clientReferenceGroupId, url, future)));
+        return results;
+    }
+
+    /**
+     * Builds the latest vendor review response of the url.
+     * @param clientReferenceGroupId the clientReferenceGroupId
+     * @param url                    the url
+     * @return the status code and body of the response
+     */
+    public VendorReviewResponseResult process(@NonNull final String clientReferenceGroupId,
+                                              @NonNull final String url) {
+        final String clientRefGroupIdDomain = createClientReferenceGroupIdUrl(clientReferenceGroupId, url);
+
+        UrlInvestigationItem latestUrlInvestigationItem;
+        try {
+            log.info("Getting latest vendor review response for clientReferenceGroupId: {} and url: {}",
+                    clientReferenceGroupId, url);
+
+            // Getting DDB entries from UrlInvestigation table based on clientRefGroupIdDomain.
+            final List<UrlInvestigationItem> urlInvestigationItemList = getUrlInvestigationItemsFromDDB(
+                    clientRefGroupIdDomain, clientReferenceGroupId, url);
+
+            latestUrlInvestigationItem = getLatestUrlInvestigationItemBasedOnReviewEndTime(
+                    urlInvestigationItemList).orElse(null);
+
+        } catch (AmazonPayDomainValidationDAONonRetryableException e) {
+            log.error("AmazonPayDomainValidationDAONonRetryableException while getting record DDB Table", e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+            return buildResult(BAD_REQUEST_FAILED_STATUS_CODE, BAD_REQUEST);
+        } catch (AmazonPayDomainValidationDAORetryableException e) {
+            log.error("AmazonPayDomainValidationDAORetryableException while getting record DDB Table", e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+            return buildResult(FAILED_STATUS_CODE, INTERNAL_SERVER_ERROR);
+        }
+
+        if (latestUrlInvestigationItem == null) {
+            log.info("No DDB Entry found for given clientRefGroupIdDomain: {} in UrlInvestigation DDB table",
+                    clientRefGroupIdDomain);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS_DDB_ENTRY_NOT_FOUND);
+            return buildResult(NOT_FOUND_FAILED_STATUS_CODE, NOT_FOUND);
+        }
+
+        String reviewInfoJsonString = latestUrlInvestigationItem.getReviewInfo();
+
+        if (StringUtils.isEmpty(reviewInfoJsonString)) {
+            log.info("No reviewInfo found corresponding to given clientReferenceId: {} and url: {}",
+                    clientReferenceGroupId, url);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+            return buildResult(NOT_FOUND_FAILED_STATUS_CODE, NOT_FOUND);
+        }
+
+        final CachedVendorReviewResponse cachedResponse = vendorReviewResponseCache.get(clientRefGroupIdDomain);
+        if (cachedResponse != null && vendorReviewResponseCache.isBuiltFrom(cachedResponse,
+                latestUrlInvestigationItem.getReviewStartTime(), latestUrlInvestigationItem.getReviewEndTime())) {
+            log.info("Returning cached vendor review response built from the latest review for "
+                    + "clientReferenceGroupId: {} and url: {}", clientReferenceGroupId, url);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_HIT);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS);
+            return buildResult(SUCCESS_STATUS_CODE, cachedResponse.getResponseBody());
+        }
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(GET_LATEST_VENDOR_REVIEW_RESPONSE_CACHE_MISS);
+
+        return deserializeReviewInfoAndBuildGetLatestVendorReviewResponse(clientReferenceGroupId, url,
+                SubInvestigationType.fromValue(latestUrlInvestigationItem.getSubInvestigationType()),
+                reviewInfoJsonString, clientRefGroupIdDomain, latestUrlInvestigationItem);
+    }
+
+    /*
+     * Get the UrlInvestigation Items from DDB based on ClientReferenceGroupId-Url
+     * If No Entry found in DB, Get the UrlInvestigation item for ClientReferenceGroupId-StandardizedUrl
+     */
+    private List<UrlInvestigationItem> getUrlInvestigationItemsFromDDB(final String clientRefGroupIdDomain,
+                                                                       final String clientReferenceGroupId,
+                                                                       final String url) {
+        List<UrlInvestigationItem> urlInvestigationItemList = urlInvestigationDDBAdapter.
+                queryOnClientRefGroupIdDomainAsSecondaryIndex(clientRefGroupIdDomain);
+
+        //TODO : Remove the below block after De-duping the variant URLs in DDB
+        if (weblabHelper.isWeblabDialedUpForDedupingVariantUrls(clientReferenceGroupId) &&
+                CollectionUtils.isEmpty(urlInvestigationItemList)) {
+            final String standardizedUrl = URLStandardizeUtil.standardize(url);
+            final String clientRefGroupIdStandardizedUrl = createClientReferenceGroupIdUrl(clientReferenceGroupId,
+                    standardizedUrl);
+            log.info(String.format("No DDB Entry found for clientRefGroupIdDomain: %s. Looking for StandardizedUrl " +
+                "entry :%s in UrlInvestigation DDB Table", clientReferenceGroupId, clientRefGroupIdStandardizedUrl));
+            urlInvestigationItemList = urlInvestigationDDBAdapter.
+                    queryOnClientRefGroupIdDomainAsSecondaryIndex(clientRefGroupIdStandardizedUrl);
+        }
+        return urlInvestigationItemList;
+    }
+
+    private Optional<UrlInvestigationItem> getLatestUrlInvestigationItemBasedOnReviewEndTime(
+            final List<UrlInvestigationItem> urlInvestigationItemList) {
+
+        if (CollectionUtils.isEmpty(urlInvestigationItemList)) {
+            return Optional.empty();
+        }
+
+        // Returns getLatestUrlInvestigationItemBasedOnReviewEndTime
+        // Filtering is done on the basis of vendorReviewTypes and ReviewEndTime Field not null
+        return urlInvestigationItemList.stream()
+                .filter(urlInvestigationItem -> VENDOR_REVIEW_TYPES.contains(
+                        urlInvestigationItem.getSubInvestigationType())
+                        &&  urlInvestigationItem.getReviewEndTime() != null)
+                .max(Comparator.comparing(UrlInvestigationItem::getReviewEndTime));
+    }
+
+    private VendorReviewResponseResult deserializeReviewInfoAndBuildGetLatestVendorReviewResponse(
+            String clientReferenceGroupId,
+            String url,
+            SubInvestigationType subInvestigationType,
+            String reviewInfoJsonString,
+            String cacheKey,
+            UrlInvestigationItem urlInvestigationItem) {
+        try {
+            final ReviewInfo reviewInfo = jsonObjectMapperUtil.deserialize(reviewInfoJsonString, ReviewInfo.class);
+
+            if (reviewInfo == null || reviewInfo.getInspections() == null || reviewInfo.getInspections().isEmpty()) {
+                log.info("Data Not Found: Either getting empty reviewInfo object or empty inspections list");
+                cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                        GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+                return buildResult(NOT_FOUND_FAILED_STATUS_CODE, NOT_FOUND);
+            }
+
+            final boolean allDetailedEvidencesFetched = updateInspectionsWithDetailedEvidences(
+                    reviewInfo, subInvestigationType);
+
+            //Map reviewInfo data to Vendor ReviewResponse
+            final GetLatestVendorReviewResponse getLatestVendorReviewResponse = buildGetLatestVendorReviewResponse(
+                    clientReferenceGroupId, url, subInvestigationType, reviewInfo.getInspections(),
+                    reviewInfo.getRiskSpec());
+            log.info("Successfully updated the getLatestVendorReviewResponse: {} with detailed inspectionSpec",
+                    getLatestVendorReviewResponse);
+
+            final String latestVendorReviewResponse = jsonObjectMapperUtil.
+                    serialize(getLatestVendorReviewResponse);
+
+            // A response missing some detailed evidences is not cached, so the next request fetches them again
+            if (allDetailedEvidencesFetched) {
+                vendorReviewResponseCache.put(cacheKey, urlInvestigationItem.getReviewStartTime(),
+                        urlInvestigationItem.getReviewEndTime(), latestVendorReviewResponse);
+            }
+
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_SUCCESS_METRICS);
+            return buildResult(SUCCESS_STATUS_CODE, latestVendorReviewResponse);
+        } catch (AmazonPayMerchantURLNonRetryableException e) {
+            log.error("AmazonPayMerchantURLNonRetryableException while deserialising/serialising " +
+                    "reviewInfo or latestVendorReviewResponse", e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+            return buildResult(BAD_REQUEST_FAILED_STATUS_CODE, BAD_REQUEST);
+        }
+    }
+
+    private GetLatestVendorReviewResponse buildGetLatestVendorReviewResponse(
+            final String clientReferenceGroupId,
+            final String url,
+            final SubInvestigationType subInvestigationType,
+            final List<InspectionSpec> inspectionSpecList,
+            final RiskSpec riskSpec) {
+        List<Inspection> inspections = inspectionSpecList.stream()
+                .map(inspectionSpec -> Inspection.builder()
+                        .inspectionType(inspectionSpec.getInspectionType())
+                        .inspectionTypeName(inspectionSpec.getInspectionName())
+                        .inspectionCategory(inspectionSpec.getInspectionCategory())
+                        .inspectionCategoryName(inspectionSpec.getInspectionCategoryName())
+                        .riskLevel((Objects.isNull(inspectionSpec.getRiskSpec())) ? null
+                                : inspectionSpec.getRiskSpec().getRiskLevel())
+                        .evidences(inspectionSpec.getEvidences())
+                        .build())
+                .collect(Collectors.toList());
+
+        return GetLatestVendorReviewResponse.builder()
+                .clientReferenceGroupId(clientReferenceGroupId)
+                .url(url)
+                .reviewType(subInvestigationType)
+                .riskLevel((Objects.isNull(riskSpec)) ? null : riskSpec.getRiskLevel())
+                .inspections(inspections)
+                .build();
+    }
+
+    /*
+     * Replaces the evidences of the inspections with screenshot evidence by the evidences of their detailed
+     * inspection. Returns whether the detailed evidences of all those inspections could be fetched.
+     */
+    private boolean updateInspectionsWithDetailedEvidences(
+            final ReviewInfo reviewInfo,
+            final SubInvestigationType subInvestigationType) {
+        // Calling vendor and updating the evidencesList only for EvidenceType Screenshot
+        final List<String> screenshotInspectionIds = reviewInfo.getInspections().stream()
+                .filter(inspectionSpec -> Objects.nonNull(inspectionSpec.getEvidences())
+                        && inspectionSpec.getEvidences().stream().anyMatch(evidenceSpec ->
+                        evidenceSpec.getEvidenceType().equals(EVIDENCE_TYPE_SCREENSHOT)))
+                .map(InspectionSpec::getInspectionId)
+                .collect(Collectors.toList());
+        if (screenshotInspectionIds.isEmpty()) {
+            return true;
+        }
+
+        final Map<String, List<EvidenceSpec>> detailedEvidences = detailedInspectionEvidenceProvider.getEvidences(
+                subInvestigationType, reviewInfo.getExternalClientId(), reviewInfo.getUrlId(),
+                screenshotInspectionIds);
+        reviewInfo.getInspections().stream()
+                .filter(inspectionSpec -> detailedEvidences.containsKey(inspectionSpec.getInspectionId()))
+                .forEach(inspectionSpec -> inspectionSpec.setEvidences(
+                        detailedEvidences.get(inspectionSpec.getInspectionId())));
+        return detailedEvidences.keySet().containsAll(screenshotInspectionIds);
+    }
+
+    private VendorReviewResponseResult getResult(final String clientReferenceGroupId, final String url,
+                                                 final Future<VendorReviewResponseResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while getting latest vendor review response for clientReferenceGroupId: {} "
+                    + "and url: {}", clientReferenceGroupId, url, e);
+        } catch (ExecutionException e) {
+            log.error("Exception while getting latest vendor review response for clientReferenceGroupId: {} "
+                    + "and url: {}", clientReferenceGroupId, url, e.getCause());
+        }
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(GET_LATEST_VENDOR_REVIEW_RESPONSE_FAILURE_METRICS);
+        return buildResult(FAILED_STATUS_CODE, INTERNAL_SERVER_ERROR);
+    }
+
+    private VendorReviewResponseResult buildResult(final Integer statusCode, final String body) {
+        return VendorReviewResponseResult.builder().statusCode(statusCode).body(body).build();
+    }
+}
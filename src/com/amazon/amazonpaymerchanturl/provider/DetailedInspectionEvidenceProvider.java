@@ -0,0 +1,156 @@
+package com.amazon.amazonpaymerchanturl.provider;
+
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewClientException;
+import com.amazon.urlvendorreviewlib.exceptions.UrlVendorReviewServerException;
+import com.amazon.urlvendorreviewlib.factory.VendorReviewHandlerFactory;
+import com.amazon.urlvendorreviewmodel.model.EvidenceSpec;
+import com.amazon.urlvendorreviewmodel.request.GetDetailedInspectionRequest;
+import com.amazon.urlvendorreviewmodel.type.SubInvestigationType;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DETAILED_INSPECTION_CACHE_HIT;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DETAILED_INSPECTION_CACHE_MISS;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DETAILED_INSPECTION_FETCH_TIMEOUT;
+import static com.amazon.amazonpaymerchanturl.constants.VendorReviewConstants.EVERCOMPLIANT_ID;
+
+/**
+ * Class to get the evidences of detailed inspections from the vendor.
+ *
+ * The detailed inspections of a review are fetched concurrently and a request waits for them until its deadline.
+ * Evidences of a completed review never change, so they are cached per container keyed by external client,
+ * url and inspection. Failed and timed out fetches are not cached.
+ */
+@Log4j2
+public class DetailedInspectionEvidenceProvider {
+
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final ExecutorService detailedInspectionExecutorService;
+    private final long deadlineMillis;
+    private final VendorReviewHandlerFactory vendorReviewHandlerFactory;
+    private final Cache<DetailedInspectionKey, List<EvidenceSpec>> evidenceCache;
+
+    public DetailedInspectionEvidenceProvider(@NonNull final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+                                              @NonNull final ExecutorService detailedInspectionExecutorService,
+                                              @NonNull final VendorReviewHandlerFactory vendorReviewHandlerFactory,
+                                              final long deadlineMillis,
+                                              final long cacheTtlSeconds,
+                                              final long cacheMaxSize) {
+        this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
+        this.detailedInspectionExecutorService = detailedInspectionExecutorService;
+        this.deadlineMillis = deadlineMillis;
+        this.vendorReviewHandlerFactory = vendorReviewHandlerFactory;
+        this.evidenceCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
+    /**
+     * Method to get the evidences of the detailed inspections of a vendor review.
+     * @param subInvestigationType the sub investigation type of the review
+     * @param externalClientId     the vendor external client id
+     * @param urlId                the vendor url id
+     * @param inspectionIds        the inspections to get the evidences for
+     * @return evidences by inspection id, inspections which could not be fetched within the deadline are absent
+     */
+    public Map<String, List<EvidenceSpec>> getEvidences(@NonNull final SubInvestigationType subInvestigationType,
+                                                        final String externalClientId,
+                                                        final String urlId,
+                                                        @NonNull final Collection<String> inspectionIds) {
+        final Map<String, List<EvidenceSpec>> evidences = new HashMap<>();
+        final Map<DetailedInspectionKey, Future<List<EvidenceSpec>>> futures = new LinkedHashMap<>();
+        for (String inspectionId : inspectionIds) {
+            final DetailedInspectionKey key = new DetailedInspectionKey(externalClientId, urlId, inspectionId);
+            final List<EvidenceSpec> cachedEvidences = evidenceCache.getIfPresent(key);
+            if (cachedEvidences != null) {
+                evidences.put(inspectionId, cachedEvidences);
+            } else if (!futures.containsKey(key)) {
+                futures.put(key, detailedInspectionExecutorService.submit(() ->
+                        vendorCallToGetEvidenceSpecList(subInvestigationType, key)));
+            }
+        }
+        publishCount(DETAILED_INSPECTION_CACHE_HIT, evidences.size());
+        publishCount(DETAILED_INSPECTION_CACHE_MISS, futures.size());
+
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        futures.forEach((key, future) -> {
+            final List<EvidenceSpec> fetchedEvidences = getBeforeDeadline(key, future, deadlineNanos);
+            if (fetchedEvidences != null) {
+                evidenceCache.put(key, fetchedEvidences);
+                evidences.put(key.getInspectionId(), fetchedEvidences);
+            }
+        });
+        return evidences;
+    }
+
+    private List<EvidenceSpec> getBeforeDeadline(final DetailedInspectionKey key,
+                                                 final Future<List<EvidenceSpec>> future,
+                                                 final long deadlineNanos) {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DETAILED_INSPECTION_FETCH_TIMEOUT);
+            log.error("Detailed inspection fetch timed out after {} ms for {}", deadlineMillis, key);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while fetching detailed inspection for {}", key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UrlVendorReviewClientException
+                    || e.getCause() instanceof UrlVendorReviewServerException) {
+                log.error("Exception while receiving response from Sparta " +
+                        "while fetching detailed inspection.", e.getCause());
+            } else {
+                log.error("Unexpected exception while fetching detailed inspection for {}", key, e.getCause());
+            }
+        }
+        return null;
+    }
+
+    private List<EvidenceSpec> vendorCallToGetEvidenceSpecList(final SubInvestigationType subInvestigationType,
+                                                               final DetailedInspectionKey key) {
+        final GetDetailedInspectionRequest getDetailedInspectionRequest = GetDetailedInspectionRequest.builder()
+                .subInvestigationType(subInvestigationType.getSubInvestigationType())
+                .externalClientId(key.getExternalClientId())
+                .urlId(key.getUrlId())
+                .inspectionId(key.getInspectionId())
+                .build();
+        log.info("Calling Vendor with externalClientId: {}, urlId: {} " +
+                "for evidenceType screenshot to get detailed inspection.", key.getExternalClientId(), key.getUrlId());
+        // TODO: Remove hardCode EverCompliant Id, when we have multiple vendors.
+        return vendorReviewHandlerFactory
+                .produceVendorHandler(EVERCOMPLIANT_ID)
+                .getDetailedInspection(getDetailedInspectionRequest)
+                .getEvidences();
+    }
+
+    private void publishCount(final String metricName, final int count) {
+        if (count > 0) {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(metricName, count);
+        }
+    }
+
+    @Value
+    private static class DetailedInspectionKey {
+        String externalClientId;
+        String urlId;
+        String inspectionId;
+    }
+}
@@ -0,0 +1,115 @@
+package com.amazon.amazonpaymerchanturl.provider;
+
+import com.amazon.amazonpaymerchanturl.adapter.S3Adapter;
+import com.amazon.amazonpaymerchanturl.adapter.S3MultipartUploadOutputStream;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationUrlFilter;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import lombok.NonNull;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_AGE;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_LOAD_FAILED;
+
+/**
+ * Class to get the DomainValidation url filter persisted to S3.
+ *
+ * The filter is loaded once per container and reloaded after the reload interval, so a container picks up the
+ * filters rebuilt while it is alive. No filter is returned when the filter is disabled, could not be loaded or is
+ * older than the maximum age, in which case every url is looked up in DDB.
+ */
+@Log4j2
+public class DomainValidationUrlFilterProvider {
+
+    private static final String FILTER_S3_KEY = "filters/domain-validation-normalized-url.bloom";
+    private static final String FILTER_CONTENT_TYPE = "application/octet-stream";
+    private static final long RELOAD_INTERVAL_MINUTES = 15;
+
+    private final S3Adapter s3Adapter;
+    private final String s3BucketName;
+    private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final Supplier<Optional<DomainValidationUrlFilter>> filterSupplier;
+
+    public DomainValidationUrlFilterProvider(@NonNull final S3Adapter s3Adapter,
+                                             @NonNull final String s3BucketName,
+                                             @NonNull final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+                                             final boolean enabled,
+                                             final long maxAgeMinutes) {
+        this.s3Adapter = s3Adapter;
+        this.s3BucketName = s3BucketName;
+        this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
+        this.enabled = enabled;
+        this.maxAgeMillis = TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+        this.filterSupplier = Suppliers.memoizeWithExpiration(this::load, RELOAD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Method to get the filter to check the urls against before looking them up in DDB.
+     * @return the filter, or null if the urls must all be looked up in DDB
+     */
+    public DomainValidationUrlFilter getFilter() {
+        if (!enabled) {
+            return null;
+        }
+        final DomainValidationUrlFilter filter = filterSupplier.get().orElse(null);
+        if (filter != null && filter.getAgeMillis() > maxAgeMillis) {
+            log.warn("Ignoring domain validation url filter built at {}, older than {} ms",
+                    filter.getBuiltAtMillis(), maxAgeMillis);
+            return null;
+        }
+        return filter;
+    }
+
+    /**
+     * Persists a rebuilt filter, replacing the previous one.
+     * @param filter the filter
+     */
+    public void save(@NonNull final DomainValidationUrlFilter filter) {
+        // The upload is aborted when the stream is closed without being completed
+        try (S3MultipartUploadOutputStream uploadStream = s3Adapter.openMultipartUpload(s3BucketName,
+                FILTER_S3_KEY, FILTER_CONTENT_TYPE, null)) {
+            final OutputStream outputStream = new BufferedOutputStream(uploadStream);
+            filter.writeTo(outputStream);
+            outputStream.flush();
+            uploadStream.complete();
+        } catch (IOException e) {
+            throw new AmazonPayMerchantURLNonRetryableException("Failed to save the domain validation url filter.", e);
+        }
+        log.info("Saved domain validation url filter built at {} to s3 key : {}", filter.getBuiltAtMillis(),
+                FILTER_S3_KEY);
+    }
+
+    private Optional<DomainValidationUrlFilter> load() {
+        final DomainValidationUrlFilter filter;
+        try (InputStream inputStream = new BufferedInputStream(
+                s3Adapter.getRecordsAsStream(s3BucketName, FILTER_S3_KEY))) {
+            filter = DomainValidationUrlFilter.readFrom(inputStream);
+            log.info("Loaded domain validation url filter built at {} with false positive probability {}",
+                    filter.getBuiltAtMillis(), filter.getExpectedFalsePositiveProbability());
+        } catch (Exception e) {
+            log.error("Failed to load domain validation url filter from s3 key : {}", FILTER_S3_KEY, e);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_URL_FILTER_LOAD_FAILED);
+            return Optional.empty();
+        }
+        // The age is published once per load, a failure to publish it must not discard the loaded filter
+        try {
+            cloudWatchMetricsHelper.publishTimeMetricToCloudWatch(DOMAIN_VALIDATION_URL_FILTER_AGE,
+                    filter.getAgeMillis());
+        } catch (Exception e) {
+            log.warn("Failed to publish the age of the domain validation url filter", e);
+        }
+        return Optional.of(filter);
+    }
+}
@@ -5,22 +5,29 @@ import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryab
 import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
 import com.amazon.amazonpaymerchanturl.model.SlapshotContractFulfillmentRequest;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.bouncycastle.util.Arrays;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.WEBLAB_TREATMENT_CACHE_HIT;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.WEBLAB_TREATMENT_CACHE_MISS;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.WEBLAB_TREATMENT_FETCH_FAILED;
 
 /**
  * Class to get  Weblab Treatments
  *
+ * Treatments are cached per container for a configurable time to live, keyed by weblab, merchant and marketplace.
+ * Concurrent misses for the same key are coalesced into a single slapshot call. Failed fetches are not cached.
  */
 @Log4j2
-@RequiredArgsConstructor
 public class WeblabTreatmentInformationProvider {
 
     //Slapshot Input Contract Attributes
@@ -37,12 +44,34 @@ public class WeblabTreatmentInformationProvider {
     private static final String TREATMENT_C = "C";
     private static final String TREATMENT_ATTRIBUTE = "treatment";
 
+    public static final long DEFAULT_CACHE_TTL_SECONDS = 300;
+    public static final long DEFAULT_CACHE_MAX_SIZE = 10_000;
+
     @NonNull
     private final SlapshotAdapter slapshotAdapter;
 
     @NonNull
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
 
+    private final Cache<WeblabTreatmentKey, String> treatmentCache;
+
+    public WeblabTreatmentInformationProvider(@NonNull final SlapshotAdapter slapshotAdapter,
+                                              @NonNull final CloudWatchMetricsHelper cloudWatchMetricsHelper) {
+        this(slapshotAdapter, cloudWatchMetricsHelper, DEFAULT_CACHE_TTL_SECONDS, DEFAULT_CACHE_MAX_SIZE);
+    }
+
+    public WeblabTreatmentInformationProvider(@NonNull final SlapshotAdapter slapshotAdapter,
+                                              @NonNull final CloudWatchMetricsHelper cloudWatchMetricsHelper,
+                                              final long cacheTtlSeconds,
+                                              final long cacheMaxSize) {
+        this.slapshotAdapter = slapshotAdapter;
+        this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
+        this.treatmentCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
+
     /**
      * Method to get  weblab treatment for Merchants.
      * @param merchantId merchant ID
@@ -54,10 +83,54 @@ public class WeblabTreatmentInformationProvider {
                                                 @NonNull String marketplaceId,
                                                 @NonNull String weblabName) {
         log.info("getWebLabTreatmentInformation called for merchantId : " + merchantId);
+        final WeblabTreatmentKey key = new WeblabTreatmentKey(weblabName, merchantId, marketplaceId);
+        final AtomicBoolean fetched = new AtomicBoolean(false);
+        String treatment = null;
+        try {
+            treatment = treatmentCache.get(key, () -> {
+                fetched.set(true);
+                return fetchWebLabTreatment(key);
+            });
+        } catch (Exception e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof AmazonPayMerchantURLNonRetryableException) {
+                log.error("Null or Empty Weblab Treatments Received from SlapshotAdapter , returning C."
+                                + "weblabName: {} merchantId: {} marketplaceId: {} : {}",
+                        weblabName, merchantId, marketplaceId, cause.getMessage());
+            } else {
+                log.error("Unexpected Error while fetching treatment, returning C."
+                                + "weblabName: {} merchantId: {} marketplaceId: {} : {}",
+                        weblabName, merchantId, marketplaceId, cause.getMessage());
+            }
+        }
+
+        // Metrics are published once the treatment is resolved, a metric failure must not change the treatment
+        if (treatment != null) {
+            publishMetric(fetched.get() ? WEBLAB_TREATMENT_CACHE_MISS : WEBLAB_TREATMENT_CACHE_HIT);
+            return treatment;
+        }
+        publishMetric(WEBLAB_TREATMENT_CACHE_MISS);
+        publishMetric(WEBLAB_TREATMENT_FETCH_FAILED);
+        return TREATMENT_C;
+    }
+
+    private void publishMetric(final String metricName) {
+        try {
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(metricName);
+        } catch (Exception e) {
+            log.error("Unable to publish metric {} to cloudwatch.", metricName, e);
+        }
+    }
+
+    /**
+     * Fetches the weblab treatment from slapshot.
+     * @throws AmazonPayMerchantURLNonRetryableException if slapshot returns no treatment
+     */
+    private String fetchWebLabTreatment(final WeblabTreatmentKey key) {
         final Map<String, String> requestParams = new ImmutableMap.Builder<String, String>()
-                .put(WEBLAB_NAME_ATTRIBUTE, weblabName)
-                .put(MERCHANT_ID_ATTRIBUTE, merchantId)
-                .put(MARKETPLACE_ID_ATTRIBUTE, marketplaceId)
+                .put(WEBLAB_NAME_ATTRIBUTE, key.getWeblabName())
+                .put(MERCHANT_ID_ATTRIBUTE, key.getMerchantId())
+                .put(MARKETPLACE_ID_ATTRIBUTE, key.getMarketplaceId())
                 .build();
 
         final SlapshotContractFulfillmentRequest slapshotRequest =
@@ -67,29 +140,25 @@ public class WeblabTreatmentInformationProvider {
                         .projectName(SLAPSHOT_CONTRACT_PROJECT)
                         .requestParams(requestParams)
                         .build();
-        try {
-            final ObjectNode[] treatments = slapshotAdapter.adapt(slapshotRequest, ObjectNode[].class);
-            if (Arrays.isNullOrEmpty(treatments)) {
-                throw new AmazonPayMerchantURLNonRetryableException(String.format(EXCEPTION_MSG, merchantId));
-            }
-            /*
-            Slapshot returns the data elements in the form of array
-            WeblabResponse Node will have one Data Item in the array Ex : [{"treatment":"Value"}]
-            Hence, We will consider only 0th (zero) index for value and there will be no more than one index
-             */
-            final String treatment = treatments[0].get(TREATMENT_ATTRIBUTE).textValue();
-            log.info("Received Weblab - {} Treatment for MerchantID : {} --> {}", weblabName, merchantId, treatment);
-            return treatment;
-        } catch (AmazonPayMerchantURLNonRetryableException e) {
-            log.error("Null or Empty Weblab Treatments Received from SlapshotAdapter , returning C."
-                            + "weblabName: {} merchantId: {} marketplaceId: {} : {}",
-                    weblabName, merchantId, marketplaceId, e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected Error while fetching treatment, returning C."
-                            + "weblabName: {} merchantId: {} marketplaceId: {} : {}",
-                    weblabName, merchantId, marketplaceId, e.getMessage());
+        final ObjectNode[] treatments = slapshotAdapter.adapt(slapshotRequest, ObjectNode[].class);
+        if (Arrays.isNullOrEmpty(treatments)) {
+            throw new AmazonPayMerchantURLNonRetryableException(String.format(EXCEPTION_MSG, key.getMerchantId()));
         }
-        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(WEBLAB_TREATMENT_FETCH_FAILED);
-        return TREATMENT_C;
+        /*
+        Slapshot returns the data elements in the form of array
+        WeblabResponse Node will have one Data Item in the array Ex : [{"treatment":"Value"}]
+        Hence, We will consider only 0th (zero) index for value and there will be no more than one index
+         */
+        final String treatment = treatments[0].get(TREATMENT_ATTRIBUTE).textValue();
+        log.info("Received Weblab - {} Treatment for MerchantID : {} --> {}", key.getWeblabName(),
+                key.getMerchantId(), treatment);
+        return treatment;
+    }
+
+    @Value
+    private static class WeblabTreatmentKey {
+        String weblabName;
+        String merchantId;
+        String marketplaceId;
     }
 }
@@ -5,6 +5,9 @@ import static com.amazon.amazonpaymerchanturl.constants.InvestigationStatus.COMP
 import static com.amazon.amazonpaymerchanturl.constants.InvestigationStatus.IN_REVIEW;
 import static com.amazon.amazonpaymerchanturl.constants.InvestigationStatus.NON_COMPLIANT;
 import static com.amazon.amazonpaymerchanturl.constants.InvestigationStatus.NON_COMPLIANT_TO_IN_REVIEW;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_FALSE_POSITIVE;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_MISSING_SCAN_CREATED_DATE;
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_URL_FILTER_SKIPPED_LOOKUP;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.EXECUTE_VENDOR_RESPONSE_AUTO_MONITORING_URL;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.EXECUTE_VENDOR_RESPONSE_GET_WORKFLOW_STATUS_ERROR;
 import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.EXECUTE_VENDOR_RESPONSE_INITIATE_URL_REVIEW_WORKFLOW_ERROR;
@@ -19,6 +22,7 @@ import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.URL_REVI
 import static com.amazon.urlvendorreviewlib.constants.LibConstants.AMAZON_PAY_BUSINESS;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,10 +30,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLBaseException;
+import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationUrlFilter;
 import com.amazon.amazonpaymerchanturl.helper.WeblabHelper;
+import com.amazon.amazonpaymerchanturl.provider.DomainValidationUrlFilterProvider;
 import com.amazonaws.services.stepfunctions.model.ExecutionStatus;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -56,10 +67,16 @@ import lombok.extern.log4j.Log4j2;
 
 /**
  * Callback workflow determinator task to initate or resume workflow.
+ * Scan items are processed concurrently on ordered lanes, items of the same clientReferenceGroupId and
+ * normalized url share a lane and are processed in the order they were received.
+ * Monitoring scan items of urls missing from the DomainValidation url filter are dropped without a DDB lookup
+ * when the scan was created before the filter was built.
  */
 @Log4j2
 public class CallbackWorkflowDeterminatorTask {
 
+    private static final long SCAN_CREATED_DATE_CLOCK_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final DomainValidationDDBAdapter domainValidationDDBAdapter;
     private final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
     private final CloudWatchMetricsHelper cloudWatchMetricsHelper;
@@ -69,6 +86,9 @@ public class CallbackWorkflowDeterminatorTask {
     private final SQSAdapter sqsAdapter;
     private final String queueUrl;
     private final WeblabHelper weblabHelper;
+    private final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider;
+    private final ExecutorService callbackWorkflowExecutorService;
+    private final int laneCount;
 
     //CHECKSTYLE:SUPPRESS:ParameterNumber
     public CallbackWorkflowDeterminatorTask(final DomainValidationDDBAdapter domainValidationDDBAdapter,
@@ -79,7 +99,10 @@ public class CallbackWorkflowDeterminatorTask {
                                             final ObjectMapper objectMapper,
                                             final SQSAdapter sqsAdapter,
                                             final String queueUrl,
-                                            final WeblabHelper weblabHelper) {
+                                            final WeblabHelper weblabHelper,
+                                            final DomainValidationUrlFilterProvider domainValidationUrlFilterProvider,
+                                            final ExecutorService callbackWorkflowExecutorService,
+                                            final int laneCount) {
         this.domainValidationDDBAdapter = domainValidationDDBAdapter;
         this.urlInvestigationDDBAdapter = urlInvestigationDDBAdapter;
         this.cloudWatchMetricsHelper = cloudWatchMetricsHelper;
@@ -89,6 +112,9 @@ public class CallbackWorkflowDeterminatorTask {
         this.sqsAdapter = sqsAdapter;
         this.queueUrl = queueUrl;
         this.weblabHelper = weblabHelper;
+        this.domainValidationUrlFilterProvider = domainValidationUrlFilterProvider;
+        this.callbackWorkflowExecutorService = callbackWorkflowExecutorService;
+        this.laneCount = Math.max(1, laneCount);
     }
     //CHECKSTYLE:UNSUPPRESS:ParameterNumber
 
@@ -111,116 +137,202 @@ public class CallbackWorkflowDeterminatorTask {
      *              II) if entry not present in UrlInvestigationDDB for investigation id and sub investigation status,
      *                  log and publish a metric.
      *      2.) If entry not present in DomainValidationDDB for clientReferenceGroupId, url,
-     *          log and publish a metric.
+     *          log and publish a metric. For an auto monitoring scan created before the DomainValidation url
+     *          filter was built, the DDB lookup is skipped when the filter does not contain the url.
      *
      * @param urlVendorReviewScanSpecInput  urlVendorReviewScanSpecInput
      */
     public void initateOrResumeURLReviewWorkflow(@NonNull final UrlVendorReviewScanSpecInput
                                                          urlVendorReviewScanSpecInput) {
 
+        final Long retryCount = urlVendorReviewScanSpecInput.getRetryCount();
+        final DomainValidationUrlFilter urlFilter = domainValidationUrlFilterProvider.getFilter();
+        final List<List<Runnable>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes.add(new ArrayList<>());
+        }
+
         final List<ScanSpec> scanSpecList = urlVendorReviewScanSpecInput.getScanSpecList();
-        scanSpecList.stream().forEach(scanSpec -> {
+        scanSpecList.forEach(scanSpec -> {
             /*
             Note : MetricFilter syntax pattern should be updated in CDK package accordingly
             if there is a change in Log message
             */
             log.info("[WORKFLOW_DETERMINATOR_REQUEST] Initiate or resume url review workflow for {}", scanSpec);
 
-            final String clientReferenceGroupId = scanSpec.getClientId();
-            final String subInvestigationType = scanSpec.getScanType().getSubInvestigationType();
-            final String scanId = scanSpec.getScanId();
-
-            scanSpec.getScanItems().forEach((scanItemId, urlSpec) -> {
-                final String normalizedUrl = urlSpec.getUrl();
-                final ScanSpec scanSpecWithSingleUrl = constructScanSpecWithSingleUrl(scanSpec, scanItemId, urlSpec);
-                log.info("Scanspec with single url {} ", scanSpecWithSingleUrl);
-
-                if (Boolean.FALSE.equals(urlSpec.getReportedUrl())) {
-                    /*
-                    Note : MetricFilter syntax pattern should be updated in CDK package accordingly
-                    if there is a change in Log message
-                    */
-                    log.info("[UN_REPORTED_AND_NOT_ONBORADED_URL] Not processing callback response " +
-                                    "for clientReferenceGroupId: {} and url: {} " +
-                            "as this url is not yet reported by us i.e. not onboarded to EverC",
-                            clientReferenceGroupId, urlSpec.getUrl());
-                    return;
+            final DomainValidationUrlFilter scanUrlFilter = getUrlFilterOfScan(scanSpec, urlFilter);
+            scanSpec.getScanItems().forEach((scanItemId, urlSpec) ->
+                    lanes.get(getLane(scanSpec.getClientId(), urlSpec.getUrl())).add(
+                            () -> processScanItem(scanSpec, scanItemId, urlSpec, retryCount, scanUrlFilter)));
+        });
+        runLanes(lanes);
+    }
+
+    /**
+     * Processes a single scan item of a scan spec, an item which fails with a retryable DDB exception is sent to
+     * the error queue.
+     * @param scanSpec      scan spec
+     * @param scanItemId    scan item id
+     * @param urlSpec       url spec of the scan item
+     * @param retryCount    retry count
+     * @param urlFilter     DomainValidation url filter of the scan, null if every url is looked up in DDB
+     */
+    private void processScanItem(final ScanSpec scanSpec, final String scanItemId, final UrlSpec urlSpec,
+                                 final Long retryCount, final DomainValidationUrlFilter urlFilter) {
+        final String clientReferenceGroupId = scanSpec.getClientId();
+        final String subInvestigationType = scanSpec.getScanType().getSubInvestigationType();
+        final String scanId = scanSpec.getScanId();
+        final String normalizedUrl = urlSpec.getUrl();
+        final ScanSpec scanSpecWithSingleUrl = constructScanSpecWithSingleUrl(scanSpec, scanItemId, urlSpec);
+        log.info("Scanspec with single url {} ", scanSpecWithSingleUrl);
+
+        if (Boolean.FALSE.equals(urlSpec.getReportedUrl())) {
+            /*
+            Note : MetricFilter syntax pattern should be updated in CDK package accordingly
+            if there is a change in Log message
+            */
+            log.info("[UN_REPORTED_AND_NOT_ONBORADED_URL] Not processing callback response " +
+                            "for clientReferenceGroupId: {} and url: {} " +
+                    "as this url is not yet reported by us i.e. not onboarded to EverC",
+                    clientReferenceGroupId, urlSpec.getUrl());
+            return;
+        }
+        final boolean isFilterChecked = urlFilter != null;
+        if (isFilterChecked && !urlFilter.mightContain(clientReferenceGroupId, normalizedUrl)) {
+            log.info("Entry not present in DomainValidation url filter for clientReferenceGroupId {}"
+                    + " and normalizedUrl {} for scanId {}.", clientReferenceGroupId, normalizedUrl, scanId);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_URL_FILTER_SKIPPED_LOOKUP);
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    EXECUTE_VENDOR_RESPONSE_NO_ENTRY_IN_DOMAIN_VALIDATION_DDB);
+            return;
+        }
+        try {
+            List<AmazonPayDomainValidationItem> amazonPayDomainValidationItemList =
+            domainValidationDDBAdapter.queryOnClientRefGrpIdNormalizedUrlIndex(
+                    clientReferenceGroupId, normalizedUrl);
+
+            if (CollectionUtils.isEmpty(amazonPayDomainValidationItemList)) {
+                log.info("Entry not present in DomainValidationDDB for clientReferenceGroupId {}"
+                        + " and normalizedUrl {} for scanId {}.", clientReferenceGroupId,
+                        normalizedUrl, scanId);
+                if (isFilterChecked) {
+                    cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                            DOMAIN_VALIDATION_URL_FILTER_FALSE_POSITIVE);
                 }
-                try {
-                    List<AmazonPayDomainValidationItem> amazonPayDomainValidationItemList =
-                    domainValidationDDBAdapter.queryOnClientRefGrpIdNormalizedUrlIndex(
-                            clientReferenceGroupId, normalizedUrl);
-
-                    if (CollectionUtils.isEmpty(amazonPayDomainValidationItemList)) {
-                        log.info("Entry not present in DomainValidationDDB for clientReferenceGroupId {}"
-                                + " and normalizedUrl {} for scanId {}.", clientReferenceGroupId,
-                                normalizedUrl, scanId);
-                        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
-                                EXECUTE_VENDOR_RESPONSE_NO_ENTRY_IN_DOMAIN_VALIDATION_DDB);
-                        return;
-                    }
+                cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                        EXECUTE_VENDOR_RESPONSE_NO_ENTRY_IN_DOMAIN_VALIDATION_DDB);
+                return;
+            }
 
-                    //TODO : Remove this after deduping all the existing variantURL entries in DDB
-                    /*
-                    Convert the existing variantURL entries (for which Review was completed)
-                    into a single Standardized Url entry for monitoring scan
-                     */
-                    if (isAutoMonitoringScan(subInvestigationType) &&
-                            weblabHelper.isWeblabDialedUpForDedupingVariantUrls(clientReferenceGroupId)) {
-                        amazonPayDomainValidationItemList = dedupeExistingCompletedReviewURls(
-                                amazonPayDomainValidationItemList, clientReferenceGroupId, normalizedUrl);
+            //TODO : Remove this after deduping all the existing variantURL entries in DDB
+            /*
+            Convert the existing variantURL entries (for which Review was completed)
+            into a single Standardized Url entry for monitoring scan
+             */
+            if (isAutoMonitoringScan(subInvestigationType) &&
+                    weblabHelper.isWeblabDialedUpForDedupingVariantUrls(clientReferenceGroupId)) {
+                amazonPayDomainValidationItemList = dedupeExistingCompletedReviewURls(
+                        amazonPayDomainValidationItemList, clientReferenceGroupId, normalizedUrl);
 
-                    }
+            }
 
-                    amazonPayDomainValidationItemList.forEach(domainValidationItem -> {
-                        log.info("Executing callback workflow determinator for SubInvType {} ," +
-                                        "clientReferenceGroupId {}, url {} and normalizedUrl {} for scanId {}",
-                                subInvestigationType, clientReferenceGroupId,
+            amazonPayDomainValidationItemList.forEach(domainValidationItem -> {
+                log.info("Executing callback workflow determinator for SubInvType {} ," +
+                                "clientReferenceGroupId {}, url {} and normalizedUrl {} for scanId {}",
+                        subInvestigationType, clientReferenceGroupId,
+                        domainValidationItem.getUrl(), normalizedUrl, scanId);
+                if (Boolean.FALSE.equals(domainValidationItem.getIsActive())) {
+                    log.info("Review url: {} for clientReferenceGroupId: {} is currently inactive, hence "
+                            + "ignoring the processing of callback response for subInvestigationType:{}",
+                            domainValidationItem.getUrl(), domainValidationItem.getClientReferenceGroupId(),
+                            subInvestigationType);
+                    return;
+                }
+
+                if (isAutoMonitoringScan(subInvestigationType)) {
+                    if (Objects.nonNull(domainValidationItem.getInvestigationStatus())) {
+                        autoMonitoringScanTask(domainValidationItem, scanId, scanSpecWithSingleUrl,
+                                retryCount);
+                    } else {
+                        log.info("Investigation status is null for clientReferenceGroupId {}, url {}"
+                                + " and normalizedUrl {} for scanId {}", clientReferenceGroupId,
                                 domainValidationItem.getUrl(), normalizedUrl, scanId);
-                        if (Boolean.FALSE.equals(domainValidationItem.getIsActive())) {
-                            log.info("Review url: {} for clientReferenceGroupId: {} is currently inactive, hence "
-                                    + "ignoring the processing of callback response for subInvestigationType:{}",
-                                    domainValidationItem.getUrl(), domainValidationItem.getClientReferenceGroupId(),
-                                    subInvestigationType);
-                            return;
-                        }
-
-                        if (isAutoMonitoringScan(subInvestigationType)) {
-                            if (Objects.nonNull(domainValidationItem.getInvestigationStatus())) {
-                                autoMonitoringScanTask(domainValidationItem, scanId, scanSpecWithSingleUrl,
-                                        urlVendorReviewScanSpecInput.getRetryCount());
-                            } else {
-                                log.info("Investigation status is null for clientReferenceGroupId {}, url {}"
-                                        + " and normalizedUrl {} for scanId {}", clientReferenceGroupId,
-                                        domainValidationItem.getUrl(), normalizedUrl, scanId);
-                                cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
-                                        EXECUTE_VENDOR_RESPONSE_INVESTIGATION_STATUS_NULL_IN_DOMAIN_VALIDATION_DDB);
-                            }
-                        } else {
-                            if (Objects.nonNull(domainValidationItem.getInvestigationId())) {
-                                autoLightOrHeavyWeightScanTask(domainValidationItem,
-                                        subInvestigationType, scanId, scanSpecWithSingleUrl,
-                                        urlVendorReviewScanSpecInput.getRetryCount());
-                            } else {
-                                log.info("InvestigationId is null for clientReferenceGroupId {}, url {}"
-                                         + " and normalizedUrl {} for scanId {}", clientReferenceGroupId,
-                                        domainValidationItem.getUrl(), normalizedUrl, scanId);
-                                cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
-                                        EXECUTE_VENDOR_RESPONSE_INVESTIGATION_ID_NULL_IN_DOMAIN_VALIDATION_DDB);
-                            }
-                        }
-                    });
-                } catch (Exception e) {
-                    if (e instanceof AmazonPayDomainValidationDAORetryableException) {
-                        log.error("DDB Exception received.", e);
-                        urlVendorReviewScanSpecInput.setScanSpecList(Collections.singletonList(scanSpecWithSingleUrl));
-                        sendMessageToErrorQueue(urlVendorReviewScanSpecInput);
+                        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                                EXECUTE_VENDOR_RESPONSE_INVESTIGATION_STATUS_NULL_IN_DOMAIN_VALIDATION_DDB);
+                    }
+                } else {
+                    if (Objects.nonNull(domainValidationItem.getInvestigationId())) {
+                        autoLightOrHeavyWeightScanTask(domainValidationItem,
+                                subInvestigationType, scanId, scanSpecWithSingleUrl,
+                                retryCount);
                     } else {
-                        log.error("Exception received during initateOrResumeURLReviewWorkflow", e);
+                        log.info("InvestigationId is null for clientReferenceGroupId {}, url {}"
+                                 + " and normalizedUrl {} for scanId {}", clientReferenceGroupId,
+                                domainValidationItem.getUrl(), normalizedUrl, scanId);
+                        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                                EXECUTE_VENDOR_RESPONSE_INVESTIGATION_ID_NULL_IN_DOMAIN_VALIDATION_DDB);
                     }
                 }
             });
-        });
+        } catch (Exception e) {
+            if (e instanceof AmazonPayDomainValidationDAORetryableException) {
+                log.error("DDB Exception received.", e);
+                sendMessageToErrorQueue(buildUrlVendorReviewScanSpecInput(scanSpecWithSingleUrl, retryCount));
+            } else {
+                log.error("Exception received during initateOrResumeURLReviewWorkflow", e);
+            }
+        }
+    }
+
+    /**
+     * Items with the same clientReferenceGroupId and normalized url always map to the same lane,
+     * so their conditional updates and workflow calls never run concurrently.
+     */
+    private int getLane(final String clientReferenceGroupId, final String normalizedUrl) {
+        return Math.floorMod(Objects.hash(clientReferenceGroupId, normalizedUrl), laneCount);
+    }
+
+    /**
+     * Runs the lanes concurrently on the callback workflow executor and waits for all of them.
+     * The items of a lane run one after the other in the order they were received.
+     * The calling thread runs the last lane itself, so a callback with a single lane is not handed off.
+     * @param lanes     the scan items partitioned by lane
+     */
+    private void runLanes(final List<List<Runnable>> lanes) {
+        final List<List<Runnable>> nonEmptyLanes = lanes.stream()
+                .filter(CollectionUtils::isNotEmpty)
+                .collect(Collectors.toList());
+        if (nonEmptyLanes.isEmpty()) {
+            return;
+        }
+
+        final List<Future<?>> laneFutures = new ArrayList<>();
+        nonEmptyLanes.subList(0, nonEmptyLanes.size() - 1).forEach(lane ->
+                laneFutures.add(callbackWorkflowExecutorService.submit(() -> lane.forEach(Runnable::run))));
+        RuntimeException laneFailure = null;
+        try {
+            nonEmptyLanes.get(nonEmptyLanes.size() - 1).forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            laneFailure = e;
+        }
+
+        for (Future<?> laneFuture : laneFutures) {
+            try {
+                laneFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmazonPayMerchantURLRetryableException(
+                        "Interrupted while waiting for the callback workflow lanes.", e);
+            } catch (ExecutionException e) {
+                if (laneFailure == null) {
+                    laneFailure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new AmazonPayMerchantURLRetryableException(e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+        if (laneFailure != null) {
+            throw laneFailure;
+        }
     }
 
     //TODO : Remove the below function after de-duping the existing variantURls in DDB
@@ -572,6 +684,52 @@ public class CallbackWorkflowDeterminatorTask {
         }
     }
 
+    /**
+     * Gets the url filter to check the urls of a scan against before looking them up in DDB.
+     * A monitoring scan only runs for a url whose review completed, so its DDB entry is older than the scan.
+     * When the scan was created before the filter was built, allowing for the clock skew between the vendor and
+     * this service, a url missing from the filter has no entry. Any other scan is always looked up.
+     * @param scanSpec      scan spec
+     * @param urlFilter     DomainValidation url filter, null if every url is looked up in DDB
+     * @return the filter, or null if every url of the scan is looked up in DDB
+     */
+    private DomainValidationUrlFilter getUrlFilterOfScan(final ScanSpec scanSpec,
+                                                         final DomainValidationUrlFilter urlFilter) {
+        if (urlFilter == null || scanSpec.getScanType() == null
+                || !isAutoMonitoringScan(scanSpec.getScanType().getSubInvestigationType())) {
+            return null;
+        }
+        final Instant createdDate = parseScanCreatedDate(scanSpec);
+        if (createdDate == null) {
+            // Without a created date the filter is never used, the metric makes a filter left unused visible
+            cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch(
+                    DOMAIN_VALIDATION_URL_FILTER_MISSING_SCAN_CREATED_DATE);
+            return null;
+        }
+        return createdDate.toEpochMilli() + SCAN_CREATED_DATE_CLOCK_SKEW_MILLIS < urlFilter.getBuiltAtMillis()
+                ? urlFilter : null;
+    }
+
+    /**
+     * Parses the created date of the scan, an ISO-8601 instant as sent by the vendor.
+     * @param scanSpec scan spec
+     * @return the created date, or null if it is missing or cannot be parsed
+     */
+    private Instant parseScanCreatedDate(final ScanSpec scanSpec) {
+        final String createdDate = scanSpec.getCreatedDate();
+        if (StringUtils.isBlank(createdDate)) {
+            log.warn("Scan {} has no created date, its urls are all looked up in DDB.", scanSpec.getScanId());
+            return null;
+        }
+        try {
+            return Instant.parse(createdDate);
+        } catch (DateTimeParseException e) {
+            log.warn("Unable to parse created date {} of scan {}, its urls are all looked up in DDB.",
+                    createdDate, scanSpec.getScanId(), e);
+            return null;
+        }
+    }
+
     private boolean isAutoMonitoringScan(final String subInvestigationType) {
         return StringUtils.equals(SubInvestigationType.AUTO_MONITORING.getSubInvestigationType(),
                 subInvestigationType);
@@ -6,12 +6,12 @@ import com.amazon.amazonpaydomainvalidationdao.exceptions.AmazonPayDomainValidat
 import com.amazon.amazonpaydomainvalidationdao.model.UrlInvestigationItem;
 import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.GetAllFailedWorkflowRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponse;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponseItem;
 import com.amazon.amazonpaymerchanturl.utils.HandlersUtil;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazonaws.services.stepfunctions.model.ExecutionListItem;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
@@ -28,10 +28,11 @@ public class GetAllFailedWorkflowsTask extends PostUrlReviewActionBaseTask {
     public GetAllFailedWorkflowsTask(final ObjectMapper objectMapper, final StepFunctionAdapter stepFunctionAdapter,
                                      final DomainValidationDDBAdapter domainValidationDDBAdapter,
                                      final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                     final SNSAdapter snsAdapter, final String urlStatusNotificationTopic,
+                                     final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
+                                     final String urlStatusNotificationTopic,
                                      final Map<String, String> urlReviewWorkflowMap) {
         super(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter, urlInvestigationDDBAdapter,
-                snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlStatusNotificationBatcher, urlStatusNotificationTopic, urlReviewWorkflowMap);
     }
 
     /**
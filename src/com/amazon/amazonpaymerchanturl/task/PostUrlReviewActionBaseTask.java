@@ -13,11 +13,11 @@ import com.amazon.amazonpaymerchanturl.constants.UpdateStatusType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLBaseException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.UrlReviewNotificationMessage;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponse;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponseItem;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazonaws.services.stepfunctions.model.ExecutionListItem;
 import com.amazonaws.services.stepfunctions.model.ExecutionStatus;
 import com.amazonaws.services.stepfunctions.model.ListExecutionsResult;
@@ -32,6 +32,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -52,7 +53,7 @@ public abstract class PostUrlReviewActionBaseTask {
     protected final StepFunctionAdapter stepFunctionAdapter;
     protected final DomainValidationDDBAdapter domainValidationDDBAdapter;
     protected final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter;
-    protected final SNSAdapter snsAdapter;
+    protected final UrlStatusNotificationBatcher urlStatusNotificationBatcher;
     protected final String urlStatusNotificationTopic;
     protected final Map<String, String> urlReviewWorkflowMap;
 
@@ -60,13 +61,14 @@ public abstract class PostUrlReviewActionBaseTask {
                                           final StepFunctionAdapter stepFunctionAdapter,
                                           final DomainValidationDDBAdapter domainValidationDDBAdapter,
                                           final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                          final SNSAdapter snsAdapter, final String urlStatusNotificationTopic,
+                                          final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
+                                          final String urlStatusNotificationTopic,
                                           final Map<String, String> urlReviewWorkflowMap) {
         this.objectMapper = objectMapper;
         this.stepFunctionAdapter = stepFunctionAdapter;
         this.domainValidationDDBAdapter = domainValidationDDBAdapter;
         this.urlInvestigationDDBAdapter = urlInvestigationDDBAdapter;
-        this.snsAdapter = snsAdapter;
+        this.urlStatusNotificationBatcher = urlStatusNotificationBatcher;
         this.urlStatusNotificationTopic = urlStatusNotificationTopic;
         this.urlReviewWorkflowMap = urlReviewWorkflowMap;
     }
@@ -177,12 +179,9 @@ public abstract class PostUrlReviewActionBaseTask {
                     .investigationStatus(investigationStatus)
                     .build());
 
-            if (CollectionUtils.isEmpty(variantUrlList)) {
-                buildAndPublishStatusNotification(clientReferenceGroupId, url, investigationStatus, reviewTime);
-            } else {
-                variantUrlList.forEach(variantUrl -> buildAndPublishStatusNotification(clientReferenceGroupId,
-                        variantUrl, investigationStatus, reviewTime));
-            }
+            buildAndPublishStatusNotifications(clientReferenceGroupId,
+                    CollectionUtils.isEmpty(variantUrlList) ? Collections.singleton(url) : variantUrlList,
+                    investigationStatus, reviewTime);
         } catch (final AmazonPayDomainValidationDAOServiceBaseException e) {
             final String msg = "Exception occur while saving the record in the ddb for clientReferenceGroupId: "
                     + clientReferenceGroupId + " url: " + url;
@@ -191,26 +190,34 @@ public abstract class PostUrlReviewActionBaseTask {
     }
 
     /**
-     * Builds and publishes the review url notification
+     * Builds and publishes the review url notifications of the urls with PublishBatch calls
      */
-    private void buildAndPublishStatusNotification(final String clientReferenceGroupId, final String url,
-                                                   final String reviewStatus, final Long urlReviewTime) {
-        final UrlReviewNotificationMessage urlReviewStatusNotification = UrlReviewNotificationMessage.builder()
-                .clientReferenceGroupId(clientReferenceGroupId)
-                .url(url)
-                .updateStatusType(UpdateStatusType.REVIEW_STATUS)
-                .reviewStatus(reviewStatus)
-                .urlReviewTime(urlReviewTime)
-                .build();
+    private void buildAndPublishStatusNotifications(final String clientReferenceGroupId, final Set<String> urls,
+                                                    final String reviewStatus, final Long urlReviewTime) {
+        final List<String> messages = new ArrayList<>();
         try {
-            log.info("Publishing message to SNS with ClientReferenceGroupId: {}, URL: {}, Status: {}",
-                    clientReferenceGroupId, url, reviewStatus);
-            snsAdapter.publishMessage(objectMapper.writeValueAsString(urlReviewStatusNotification),
-                    urlStatusNotificationTopic);
+            for (String url : urls) {
+                log.info("Publishing message to SNS with ClientReferenceGroupId: {}, URL: {}, Status: {}",
+                        clientReferenceGroupId, url, reviewStatus);
+                messages.add(objectMapper.writeValueAsString(UrlReviewNotificationMessage.builder()
+                        .clientReferenceGroupId(clientReferenceGroupId)
+                        .url(url)
+                        .updateStatusType(UpdateStatusType.REVIEW_STATUS)
+                        .reviewStatus(reviewStatus)
+                        .urlReviewTime(urlReviewTime)
+                        .build()));
+            }
         } catch (final Exception e) {
             log.info("Error publishing message to sns topic {}", urlStatusNotificationTopic, e);
             throw new AmazonPayMerchantURLNonRetryableException("Error occur while publishing the notification", e);
         }
+
+        final List<String> failedMessages = urlStatusNotificationBatcher.publish(urlStatusNotificationTopic, messages);
+        if (!failedMessages.isEmpty()) {
+            log.info("Error publishing {} of {} messages to sns topic {}", failedMessages.size(), messages.size(),
+                    urlStatusNotificationTopic);
+            throw new AmazonPayMerchantURLNonRetryableException("Error occur while publishing the notification");
+        }
     }
 
     @SuppressWarnings("ParameterNumber")
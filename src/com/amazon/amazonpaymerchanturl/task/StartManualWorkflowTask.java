@@ -9,10 +9,10 @@ import com.amazon.amazonpaymerchanturl.constants.SubInvestigationStatus;
 import com.amazon.amazonpaymerchanturl.constants.SubInvestigationType;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLBaseException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponse;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.WorkflowRequestItem;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
@@ -29,10 +29,11 @@ public class StartManualWorkflowTask extends PostUrlReviewActionBaseTask {
     public StartManualWorkflowTask(final ObjectMapper objectMapper, final StepFunctionAdapter stepFunctionAdapter,
                                    final DomainValidationDDBAdapter domainValidationDDBAdapter,
                                    final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                   final SNSAdapter snsAdapter, final String urlStatusNotificationTopic,
+                                   final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
+                                   final String urlStatusNotificationTopic,
                                    final Map<String, String> urlReviewWorkflowMap) {
         super(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter, urlInvestigationDDBAdapter,
-                snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlStatusNotificationBatcher, urlStatusNotificationTopic, urlReviewWorkflowMap);
     }
 
     @Override
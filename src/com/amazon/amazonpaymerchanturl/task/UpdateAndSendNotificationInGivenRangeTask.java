@@ -8,12 +8,12 @@ import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLBaseException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponse;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponseItem;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.UpdateAndSendNotificationRangeRequest;
 import com.amazon.amazonpaymerchanturl.utils.HandlersUtil;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.amazonaws.services.stepfunctions.model.ExecutionListItem;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
@@ -34,11 +34,11 @@ public class UpdateAndSendNotificationInGivenRangeTask extends PostUrlReviewActi
                                                      final StepFunctionAdapter stepFunctionAdapter,
                                                      final DomainValidationDDBAdapter domainValidationDDBAdapter,
                                                      final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                                     final SNSAdapter snsAdapter,
+                                                     final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
                                                      final String urlStatusNotificationTopic,
                                                      final Map<String, String> urlReviewWorkflowMap) {
         super(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter, urlInvestigationDDBAdapter,
-                snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlStatusNotificationBatcher, urlStatusNotificationTopic, urlReviewWorkflowMap);
     }
 
     /**
@@ -8,9 +8,9 @@ import com.amazon.amazonpaymerchanturl.adapter.StepFunctionAdapter;
 import com.amazon.amazonpaymerchanturl.constants.InvestigationStatus;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLBaseException;
 import com.amazon.amazonpaymerchanturl.exceptions.AmazonPayMerchantURLNonRetryableException;
+import com.amazon.amazonpaymerchanturl.helper.UrlStatusNotificationBatcher;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionRequest;
 import com.amazon.amazonpaymerchanturl.model.postUrlReviewAction.PostUrlReviewActionResponse;
-import com.amazon.lambdaskurge.adapter.SNSAdapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
@@ -27,10 +27,11 @@ public class UpdateAndSendNotificationTask extends PostUrlReviewActionBaseTask {
                                          final StepFunctionAdapter stepFunctionAdapter,
                                          final DomainValidationDDBAdapter domainValidationDDBAdapter,
                                          final UrlInvestigationDDBAdapter urlInvestigationDDBAdapter,
-                                         final SNSAdapter snsAdapter, final String urlStatusNotificationTopic,
+                                         final UrlStatusNotificationBatcher urlStatusNotificationBatcher,
+                                         final String urlStatusNotificationTopic,
                                          final Map<String, String> urlReviewWorkflowMap) {
         super(objectMapper, stepFunctionAdapter, domainValidationDDBAdapter, urlInvestigationDDBAdapter,
-                snsAdapter, urlStatusNotificationTopic, urlReviewWorkflowMap);
+                urlStatusNotificationBatcher, urlStatusNotificationTopic, urlReviewWorkflowMap);
     }
 
     /**
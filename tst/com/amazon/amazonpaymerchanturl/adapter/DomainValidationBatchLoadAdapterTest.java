@@ -0,0 +1,164 @@
+package com.amazon.amazonpaymerchanturl.adapter;
+
+import com.amazon.amazonpaydomainvalidationdao.adapter.DomainValidationDDBAdapter;
+import com.amazon.amazonpaydomainvalidationdao.model.AmazonPayDomainValidationItem;
+import com.amazon.amazonpaymerchanturl.helper.CloudWatchMetricsHelper;
+import com.amazon.amazonpaymerchanturl.helper.DomainValidationEntryLookup;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.amazon.amazonpaymerchanturl.constants.MetricConstants.DOMAIN_VALIDATION_DDB_BATCH_LOAD_FAILED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DomainValidationBatchLoadAdapterTest {
+
+    private static final String CLIENT_REFERENCE_GROUP_ID = "clientReferenceGroupId";
+
+    /**
+     * In-memory DomainValidation table, by url.
+     */
+    private final Map<String, AmazonPayDomainValidationItem> table = new HashMap<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<String> singleReads = new ArrayList<>();
+    private int failingBatch = -1;
+
+    private CloudWatchMetricsHelper cloudWatchMetricsHelper;
+    private DomainValidationBatchLoadAdapter domainValidationBatchLoadAdapter;
+
+    @Before
+    public void setUp() {
+        final DynamoDBMapper dynamoDBMapper = mock(DynamoDBMapper.class);
+        doAnswer(invocation -> {
+            final List<Object> keys = invocation.getArgument(0);
+            batchSizes.add(keys.size());
+            if (batchSizes.size() - 1 == failingBatch) {
+                throw new ProvisionedThroughputExceededException("throttled");
+            }
+            final List<Object> items = keys.stream()
+                    .map(key -> table.get(((AmazonPayDomainValidationItem) key).getUrl()))
+                    .filter(item -> item != null)
+                    .collect(Collectors.toList());
+            return Collections.singletonMap("DomainValidation", items);
+        }).when(dynamoDBMapper).batchLoad(anyList());
+
+        final DomainValidationDDBAdapter domainValidationDDBAdapter = mock(DomainValidationDDBAdapter.class);
+        doAnswer(invocation -> {
+            final String url = invocation.getArgument(1);
+            singleReads.add(url);
+            return table.get(url);
+        }).when(domainValidationDDBAdapter).loadEntry(anyString(), anyString());
+
+        cloudWatchMetricsHelper = mock(CloudWatchMetricsHelper.class);
+        domainValidationBatchLoadAdapter = new DomainValidationBatchLoadAdapter(dynamoDBMapper,
+                domainValidationDDBAdapter, cloudWatchMetricsHelper);
+    }
+
+    @Test
+    public void urlsAreBatchLoadedInChunksOf100Keys() {
+        final Map<String, String> canonicalKeysByUrl = urls(250);
+
+        final DomainValidationEntryLookup lookup = domainValidationBatchLoadAdapter.prefetchEntries(
+                CLIENT_REFERENCE_GROUP_ID, canonicalKeysByUrl);
+
+        assertEquals(List.of(100, 100, 50), batchSizes);
+        canonicalKeysByUrl.forEach(lookup::loadEntry);
+        assertEquals(Collections.emptyList(), singleReads);
+    }
+
+    @Test
+    public void urlsOfAFailedChunkAreReadIndividually() {
+        final Map<String, String> canonicalKeysByUrl = urls(150);
+        final String firstChunkUrl = "https://example0.com";
+        final String secondChunkUrl = "https://example120.com";
+        addEntry(firstChunkUrl);
+        addEntry(secondChunkUrl);
+        failingBatch = 0;
+
+        final DomainValidationEntryLookup lookup = domainValidationBatchLoadAdapter.prefetchEntries(
+                CLIENT_REFERENCE_GROUP_ID, canonicalKeysByUrl);
+
+        verify(cloudWatchMetricsHelper).publishRecordCountMetricToCloudWatch(DOMAIN_VALIDATION_DDB_BATCH_LOAD_FAILED);
+        assertSame(table.get(firstChunkUrl), lookup.loadEntry(canonicalKeysByUrl.get(firstChunkUrl),
+                firstChunkUrl));
+        assertSame(table.get(secondChunkUrl), lookup.loadEntry(canonicalKeysByUrl.get(secondChunkUrl),
+                secondChunkUrl));
+        assertNull(lookup.loadEntry(canonicalKeysByUrl.get("https://example1.com"), "https://example1.com"));
+        assertNull(lookup.loadEntry(canonicalKeysByUrl.get("https://example101.com"), "https://example101.com"));
+        assertEquals(List.of(firstChunkUrl, "https://example1.com"), singleReads);
+    }
+
+    @Test
+    public void entriesAreLookedUpByCanonicalKey() {
+        final Map<String, String> canonicalKeysByUrl = new LinkedHashMap<>();
+        canonicalKeysByUrl.put("https://www.example.com", "http://example.com");
+        canonicalKeysByUrl.put("http://example.com", "http://example.com");
+        canonicalKeysByUrl.put("https://other.com", "http://other.com");
+        addEntry("https://www.example.com");
+
+        final DomainValidationEntryLookup lookup = domainValidationBatchLoadAdapter.prefetchEntries(
+                CLIENT_REFERENCE_GROUP_ID, canonicalKeysByUrl);
+
+        assertSame(table.get("https://www.example.com"),
+                lookup.loadEntry("http://example.com", "https://www.example.com"));
+        assertNull(lookup.loadEntry("http://example.com", "http://example.com"));
+        assertNull(lookup.loadEntry("http://other.com", "https://other.com"));
+        assertEquals(Collections.emptyList(), singleReads);
+
+        // A url looked up under another canonical key than it was prefetched with is read from DDB
+        assertSame(table.get("https://www.example.com"),
+                lookup.loadEntry("http://other.com", "https://www.example.com"));
+        assertEquals(List.of("https://www.example.com"), singleReads);
+        verify(cloudWatchMetricsHelper, never()).publishRecordCountMetricToCloudWatch(anyString());
+    }
+
+    @Test
+    public void invalidatedCanonicalKeysAreReadFromDDB() {
+        final Map<String, String> canonicalKeysByUrl = new LinkedHashMap<>();
+        canonicalKeysByUrl.put("https://www.example.com", "http://example.com");
+        canonicalKeysByUrl.put("http://example.com", "http://example.com");
+        canonicalKeysByUrl.put("https://other.com", "http://other.com");
+
+        final DomainValidationEntryLookup lookup = domainValidationBatchLoadAdapter.prefetchEntries(
+                CLIENT_REFERENCE_GROUP_ID, canonicalKeysByUrl);
+        // The entry is written while the first url of the group is processed
+        addEntry("http://example.com");
+        lookup.invalidate("http://example.com");
+
+        assertSame(table.get("http://example.com"), lookup.loadEntry("http://example.com", "http://example.com"));
+        assertNull(lookup.loadEntry("http://other.com", "https://other.com"));
+        assertEquals(List.of("http://example.com"), singleReads);
+    }
+
+    private Map<String, String> urls(final int count) {
+        final Map<String, String> canonicalKeysByUrl = new LinkedHashMap<>();
+        for (int url = 0; url < count; url++) {
+            canonicalKeysByUrl.put("https://example" + url + ".com", "http://example" + url + ".com");
+        }
+        return canonicalKeysByUrl;
+    }
+
+    private void addEntry(final String url) {
+        table.put(url, AmazonPayDomainValidationItem.builder()
+                .clientReferenceGroupId(CLIENT_REFERENCE_GROUP_ID)
+                .url(url)
+                .build());
+    }
+}
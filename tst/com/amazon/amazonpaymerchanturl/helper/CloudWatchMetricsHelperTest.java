@@ -0,0 +1,166 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.lambdaskurge.adapter.MetricsAdapter;
+import com.amazonaws.services.cloudwatch.AbstractAmazonCloudWatch;
+import com.amazonaws.services.cloudwatch.model.InternalServiceException;
+import com.amazonaws.services.cloudwatch.model.MetricDatum;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataResult;
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class CloudWatchMetricsHelperTest {
+
+    private static final String NAMESPACE = "Test/Namespace";
+
+    private MetricsAdapter metricsAdapter;
+    private StubCloudWatch cloudWatch;
+    private CloudWatchMetricsHelper cloudWatchMetricsHelper;
+
+    @Before
+    public void setUp() {
+        metricsAdapter = mock(MetricsAdapter.class);
+        cloudWatch = new StubCloudWatch();
+        cloudWatchMetricsHelper = new CloudWatchMetricsHelper(metricsAdapter, cloudWatch, NAMESPACE);
+    }
+
+    @Test
+    public void countsArePublishedSynchronouslyUnlessBuffering() {
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("Metric");
+
+        verify(metricsAdapter).recordCount("Metric");
+        assertTrue(cloudWatch.requests.isEmpty());
+    }
+
+    @Test
+    public void bufferedCountsAreAggregatedPerMetricName() {
+        cloudWatchMetricsHelper.enableBuffering();
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("First");
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("First");
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("Second", 5);
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("Second", 2);
+        verify(metricsAdapter, never()).recordCount(anyString());
+        verify(metricsAdapter, never()).recordCount(anyString(), anyInt());
+
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+
+        verify(metricsAdapter).recordCount("First", 2);
+        verify(metricsAdapter).recordCount("Second", 7);
+        verifyNoMoreInteractions(metricsAdapter);
+        assertTrue(cloudWatch.requests.isEmpty());
+        assertFalse(cloudWatchMetricsHelper.isBuffering());
+    }
+
+    @Test
+    public void bufferedTimesUseTheNamespaceAndUnitOfUnbufferedTimes() {
+        cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Time", 10);
+        cloudWatchMetricsHelper.enableBuffering();
+        cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Time", 20);
+        cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Time", 30);
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+
+        assertEquals(2, cloudWatch.requests.size());
+        final MetricDatum unbuffered = cloudWatch.requests.get(0).getMetricData().get(0);
+        final MetricDatum buffered = cloudWatch.requests.get(1).getMetricData().get(0);
+        assertEquals(NAMESPACE, cloudWatch.requests.get(0).getNamespace());
+        assertEquals(NAMESPACE, cloudWatch.requests.get(1).getNamespace());
+        assertEquals(unbuffered.getMetricName(), buffered.getMetricName());
+        assertEquals(unbuffered.getUnit(), buffered.getUnit());
+        assertEquals(StandardUnit.Milliseconds.toString(), buffered.getUnit());
+        assertEquals(unbuffered.getDimensions(), buffered.getDimensions());
+        assertEquals(List.of(20.0, 30.0), buffered.getValues());
+    }
+
+    @Test
+    public void bufferedTimesAreChunkedPerRequestAndPerDatum() {
+        cloudWatchMetricsHelper.enableBuffering();
+        for (int metric = 0; metric < 24; metric++) {
+            cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Time" + metric, metric);
+        }
+        for (int value = 0; value < 151; value++) {
+            cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Values", value);
+        }
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+
+        // 24 single value datum and 2 datum of 150 and 1 values, in requests of at most 20 datum
+        assertEquals(2, cloudWatch.requests.size());
+        assertEquals(20, cloudWatch.requests.get(0).getMetricData().size());
+        assertEquals(6, cloudWatch.requests.get(1).getMetricData().size());
+        final List<Integer> valuesPerDatum = new ArrayList<>();
+        cloudWatch.requests.forEach(request -> request.getMetricData().stream()
+                .filter(datum -> "Values".equals(datum.getMetricName()))
+                .forEach(datum -> valuesPerDatum.add(datum.getValues().size())));
+        assertEquals(List.of(150, 1), valuesPerDatum);
+    }
+
+    @Test
+    public void flushSwallowsPublishingFailures() {
+        cloudWatch.failing = true;
+        doThrow(new InternalServiceException("failed")).when(metricsAdapter).recordCount(anyString(), anyInt());
+        cloudWatchMetricsHelper.enableBuffering();
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("Count");
+        for (int metric = 0; metric < 21; metric++) {
+            cloudWatchMetricsHelper.publishTimeMetricToCloudWatch("Time" + metric, metric);
+        }
+
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+
+        // Every chunk is still attempted once a chunk failed
+        assertEquals(2, cloudWatch.requests.size());
+        verify(metricsAdapter).recordCount("Count", 1);
+        assertFalse(cloudWatchMetricsHelper.isBuffering());
+    }
+
+    @Test
+    public void flushDrainsTheBuffer() {
+        cloudWatchMetricsHelper.enableBuffering();
+        cloudWatchMetricsHelper.publishRecordCountMetricToCloudWatch("Count");
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+        cloudWatchMetricsHelper.flushBufferedMetrics();
+
+        verify(metricsAdapter).recordCount("Count", 1);
+        verifyNoMoreInteractions(metricsAdapter);
+    }
+
+    @Test
+    public void bufferingIsNotEnabledWithoutCloudWatchClient() {
+        final CloudWatchMetricsHelper helper = new CloudWatchMetricsHelper(metricsAdapter);
+        helper.enableBuffering();
+        helper.publishRecordCountMetricToCloudWatch("Count");
+
+        assertFalse(helper.isBuffering());
+        verify(metricsAdapter).recordCount("Count");
+    }
+
+    /**
+     * Cloudwatch client recording the PutMetricData requests it receives.
+     */
+    private static final class StubCloudWatch extends AbstractAmazonCloudWatch {
+        private final List<PutMetricDataRequest> requests = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public PutMetricDataResult putMetricData(final PutMetricDataRequest request) {
+            requests.add(request);
+            if (failing) {
+                throw new InternalServiceException("failed");
+            }
+            return new PutMetricDataResult();
+        }
+    }
+}
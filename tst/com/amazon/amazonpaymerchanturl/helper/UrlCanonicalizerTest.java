@@ -0,0 +1,173 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.helper.UrlCanonicalizer.CanonicalUrl;
+import com.amazon.amazonpaymerchanturl.utils.URLCaseSensitivityConvertorUtil;
+import com.amazon.amazonpaymerchanturl.utils.URLStandardizeUtil;
+import org.junit.Test;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class UrlCanonicalizerTest {
+
+    private final List<String> lowercaseConverted = new ArrayList<>();
+    private final List<String> standardized = new ArrayList<>();
+
+    /**
+     * Canonicalizer over recording converters, failing urls containing "invalid".
+     */
+    private UrlCanonicalizer recordingCanonicalizer(final boolean fastPathEnabled) {
+        return new UrlCanonicalizer(url -> {
+            lowercaseConverted.add(url);
+            if (url.contains("invalid")) {
+                throw new MalformedURLException(url);
+            }
+            return "lowercase:" + url;
+        }, url -> {
+            standardized.add(url);
+            return "standardized:" + url;
+        }, fastPathEnabled);
+    }
+
+    @Test
+    public void simpleUrlsAreConvertedWithoutTheConverters() throws Exception {
+        final UrlCanonicalizer urlCanonicalizer = recordingCanonicalizer(true);
+
+        assertEquals(new CanonicalUrl("https://www.example.com", "http://example.com"),
+                urlCanonicalizer.canonicalize("HTTPS://WWW.Example.COM"));
+        assertEquals(new CanonicalUrl("http://example.com", "http://example.com"),
+                urlCanonicalizer.canonicalize("http://example.com"));
+        assertEquals("https://shop.example.com/path/page.html?id=1",
+                urlCanonicalizer.toLowercaseUrl("https://Shop.Example.com/path/page.html?id=1"));
+        assertEquals("http://example.com", urlCanonicalizer.toStandardizedUrl("https://www.example.com"));
+
+        assertEquals(List.of(), lowercaseConverted);
+        assertEquals(List.of(), standardized);
+    }
+
+    @Test
+    public void lowercaseUrlsAreReturnedAsIs() throws Exception {
+        final String url = "https://example.com/path";
+
+        assertSame(url, recordingCanonicalizer(true).toLowercaseUrl(url));
+    }
+
+    @Test
+    public void urlsWithPathAreStandardizedByTheStandardizer() throws Exception {
+        final UrlCanonicalizer urlCanonicalizer = recordingCanonicalizer(true);
+
+        assertEquals(new CanonicalUrl("https://www.example.com/", "standardized:https://www.example.com/"),
+                urlCanonicalizer.canonicalize("https://WWW.example.com/"));
+        assertEquals(List.of(), lowercaseConverted);
+        assertEquals(List.of("https://www.example.com/"), standardized);
+    }
+
+    @Test
+    public void otherUrlsAreConvertedByTheConverters() throws Exception {
+        final List<String> urls = Arrays.asList("ftp://example.com", "example.com", "https://example.com:8443",
+                "https://user@example.com", "https://example.com/Path", "https://example.com/a%20b",
+                "https://exämple.com", "https://example.com?query", "https://", "https://.example.com",
+                "https://www.", "https://www..com", "https://example.com/a b");
+        final UrlCanonicalizer urlCanonicalizer = recordingCanonicalizer(true);
+
+        for (String url : urls) {
+            assertEquals(new CanonicalUrl("lowercase:" + url, "standardized:lowercase:" + url),
+                    urlCanonicalizer.canonicalize(url));
+        }
+        assertEquals(urls, lowercaseConverted);
+    }
+
+    @Test
+    public void urlsAreConvertedByTheConvertersWhenTheFastPathIsDisabled() throws Exception {
+        final UrlCanonicalizer urlCanonicalizer = recordingCanonicalizer(false);
+
+        assertEquals(new CanonicalUrl("lowercase:http://example.com", "standardized:lowercase:http://example.com"),
+                urlCanonicalizer.canonicalize("http://example.com"));
+        assertEquals("lowercase:https://example.com", urlCanonicalizer.toLowercaseUrl("https://example.com"));
+        assertEquals("standardized:https://example.com", urlCanonicalizer.toStandardizedUrl("https://example.com"));
+    }
+
+    @Test
+    public void batchesSkipDuplicateAndInvalidUrls() {
+        final List<String> urls = Arrays.asList("https://Example.com", "ftp://invalid.com", null,
+                "https://Example.com", "ftp://other.com");
+        final UrlCanonicalizer urlCanonicalizer = recordingCanonicalizer(true);
+
+        final Map<String, String> expectedLowercaseUrls = new LinkedHashMap<>();
+        expectedLowercaseUrls.put("https://Example.com", "https://example.com");
+        expectedLowercaseUrls.put("ftp://other.com", "lowercase:ftp://other.com");
+        assertEquals(expectedLowercaseUrls, urlCanonicalizer.toLowercaseUrls(urls));
+
+        final Map<String, CanonicalUrl> expectedCanonicalUrls = new LinkedHashMap<>();
+        expectedCanonicalUrls.put("https://Example.com", new CanonicalUrl("https://example.com", "http://example.com"));
+        expectedCanonicalUrls.put("ftp://other.com", new CanonicalUrl("lowercase:ftp://other.com",
+                "standardized:lowercase:ftp://other.com"));
+        assertEquals(expectedCanonicalUrls, urlCanonicalizer.canonicalize(urls));
+
+        assertEquals(List.of("ftp://invalid.com", "ftp://other.com", "ftp://invalid.com", "ftp://other.com"),
+                lowercaseConverted);
+    }
+
+    /**
+     * Differential test of the fast path against the url utils, every url of the corpus must be converted to the
+     * same lowercase converted and standardized urls, or fail for both.
+     */
+    @Test
+    public void fastPathMatchesTheUrlUtils() {
+        final UrlCanonicalizer urlCanonicalizer = new UrlCanonicalizer(
+                URLCaseSensitivityConvertorUtil::getLowerCaseConvertedURL, URLStandardizeUtil::standardize, true);
+
+        for (String url : corpus()) {
+            final CanonicalUrl expected;
+            try {
+                final String lowercaseUrl = URLCaseSensitivityConvertorUtil.getLowerCaseConvertedURL(url);
+                expected = new CanonicalUrl(lowercaseUrl, URLStandardizeUtil.standardize(lowercaseUrl));
+            } catch (Exception e) {
+                try {
+                    urlCanonicalizer.canonicalize(url);
+                    fail("Expected " + url + " to fail as it fails for the url utils: " + e);
+                } catch (Exception expectedException) {
+                    // Both fail
+                }
+                continue;
+            }
+            try {
+                assertEquals(url, expected, urlCanonicalizer.canonicalize(url));
+                assertEquals(url, expected.getLowercaseUrl(), urlCanonicalizer.toLowercaseUrl(url));
+                assertEquals(url, expected.getStandardizedUrl(),
+                        urlCanonicalizer.toStandardizedUrl(expected.getLowercaseUrl()));
+            } catch (Exception e) {
+                throw new AssertionError("Unexpected failure of " + url, e);
+            }
+        }
+    }
+
+    private static List<String> corpus() {
+        final List<String> schemes = Arrays.asList("http://", "https://", "HTTP://", "Https://", "ftp://", "", "//");
+        final List<String> hosts = Arrays.asList("example.com", "Example.COM", "www.example.com", "WWW.Example.com",
+                "www.www.example.com", "wwwexample.com", "shop.example.co.uk", "my-shop.example.com", "localhost",
+                "127.0.0.1", "www", "www.", ".example.com", "example.com.", "xn--bcher-kva.example", "exämple.com",
+                "user:password@example.com", "example.com:8080", "example.com:", "[::1]", "");
+        final List<String> rests = Arrays.asList("", "/", "/path", "/Path/Page.HTML", "/path/", "/a/b/c?x=1&y=2",
+                "?query", "#fragment", "/path#Fragment", "/a%20b", "/a b", "//double", "/ü", "/%zz", "\\path");
+        final List<String> urls = new ArrayList<>();
+        for (String scheme : schemes) {
+            for (String host : hosts) {
+                for (String rest : rests) {
+                    urls.add(scheme + host + rest);
+                }
+            }
+        }
+        urls.addAll(Arrays.asList("", " ", "http:/example.com", "http:example.com", "https:// example.com",
+                " https://example.com", "https://example.com ", "HTTPS://WWW.EXAMPLE.COM/INDEX.HTML"));
+        return urls;
+    }
+}
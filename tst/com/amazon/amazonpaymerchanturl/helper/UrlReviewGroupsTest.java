@@ -0,0 +1,90 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.helper.UrlReviewGroups.RequestedUrl;
+import com.amazon.amazonpaymerchanturl.helper.UrlReviewGroups.UrlConverter;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UrlReviewGroupsTest {
+
+    private static final UrlConverter TO_LOWERCASE_URL = String::toLowerCase;
+    private static final UrlConverter TO_STANDARDIZED_URL = url -> url.replace("www.", "").replaceAll("/$", "");
+
+    @Test
+    public void duplicateUrlsAreReviewedOnce() {
+        final UrlReviewGroups urlReviewGroups = group(Collections.singletonMap("Primary",
+                Arrays.asList("https://example.com", "https://example.com")));
+
+        final Map<String, List<RequestedUrl>> group = urlReviewGroups.getGroups().get("https://example.com");
+        assertEquals(1, urlReviewGroups.getGroups().size());
+        assertEquals(1, group.size());
+        assertEquals(2, group.get("https://example.com").size());
+    }
+
+    @Test
+    public void caseVariantUrlsShareTheirLowercaseUrl() {
+        final UrlReviewGroups urlReviewGroups = group(Collections.singletonMap("Primary",
+                Arrays.asList("https://Example.com", "https://EXAMPLE.com")));
+
+        final Map<String, List<RequestedUrl>> group = urlReviewGroups.getGroups().get("https://example.com");
+        assertEquals(1, group.size());
+        assertEquals(Arrays.asList(new RequestedUrl("Primary", "https://Example.com"),
+                new RequestedUrl("Primary", "https://EXAMPLE.com")), group.get("https://example.com"));
+    }
+
+    @Test
+    public void urlsWithTheSameStandardizedUrlAreGroupedTogether() {
+        final Map<String, List<String>> urlsByType = new LinkedHashMap<>();
+        urlsByType.put("Primary", Arrays.asList("https://www.example.com/", "https://other.com"));
+        urlsByType.put("Secondary", Collections.singletonList("https://Example.com"));
+        final UrlReviewGroups urlReviewGroups = group(urlsByType);
+
+        assertEquals(2, urlReviewGroups.getGroups().size());
+        final Map<String, List<RequestedUrl>> group = urlReviewGroups.getGroups().get("https://example.com");
+        assertEquals(Arrays.asList("https://www.example.com/", "https://example.com"),
+                Arrays.asList(group.keySet().toArray()));
+        assertEquals(Collections.singletonList(new RequestedUrl("Secondary", "https://Example.com")),
+                group.get("https://example.com"));
+
+        final Map<String, String> standardizedUrls = urlReviewGroups.getStandardizedUrls();
+        assertEquals(3, standardizedUrls.size());
+        assertEquals("https://example.com", standardizedUrls.get("https://www.example.com/"));
+        assertEquals("https://example.com", standardizedUrls.get("https://example.com"));
+        assertEquals("https://other.com", standardizedUrls.get("https://other.com"));
+    }
+
+    @Test
+    public void unconvertedUrlsAreNotGrouped() {
+        final UrlReviewGroups urlReviewGroups = UrlReviewGroups.of(Collections.singletonMap("Primary",
+                Arrays.asList("https://example.com", "invalid", null)), TO_LOWERCASE_URL, url -> {
+                    if ("invalid".equals(url)) {
+                        throw new IllegalArgumentException("invalid url");
+                    }
+                    return url;
+                });
+
+        assertEquals(Collections.singleton("https://example.com"), urlReviewGroups.getGroups().keySet());
+        assertEquals(Arrays.asList(new RequestedUrl("Primary", "invalid"), new RequestedUrl("Primary", null)),
+                urlReviewGroups.getUnconvertedUrls());
+    }
+
+    @Test
+    public void emptyUrlTypesAreIgnored() {
+        final UrlReviewGroups urlReviewGroups = group(Collections.singletonMap("Primary", null));
+
+        assertTrue(urlReviewGroups.getGroups().isEmpty());
+        assertTrue(urlReviewGroups.getUnconvertedUrls().isEmpty());
+    }
+
+    private static UrlReviewGroups group(final Map<String, List<String>> urlsByType) {
+        return UrlReviewGroups.of(urlsByType, TO_LOWERCASE_URL, TO_STANDARDIZED_URL);
+    }
+}
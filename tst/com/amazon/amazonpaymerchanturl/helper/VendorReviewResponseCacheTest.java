@@ -0,0 +1,68 @@
+package com.amazon.amazonpaymerchanturl.helper;
+
+import com.amazon.amazonpaymerchanturl.model.CachedVendorReviewResponse;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VendorReviewResponseCacheTest {
+
+    private static final String KEY = "clientReferenceGroupId-https://www.example.com";
+    private static final Long REVIEW_START_TIME = 1_000L;
+    private static final Long REVIEW_END_TIME = 2_000L;
+
+    private final VendorReviewResponseCache vendorReviewResponseCache = new VendorReviewResponseCache(60, 10);
+
+    @Test
+    public void cachedResponseIsReturnedForTheReviewItWasBuiltFrom() {
+        vendorReviewResponseCache.put(KEY, REVIEW_START_TIME, REVIEW_END_TIME, "{\"status\":\"COMPLIANT\"}");
+
+        final CachedVendorReviewResponse response = vendorReviewResponseCache.get(KEY);
+
+        assertEquals("{\"status\":\"COMPLIANT\"}", response.getResponseBody());
+        assertTrue(vendorReviewResponseCache.isBuiltFrom(response, REVIEW_START_TIME, REVIEW_END_TIME));
+    }
+
+    @Test
+    public void absentKeyIsAMiss() {
+        vendorReviewResponseCache.put(KEY, REVIEW_START_TIME, REVIEW_END_TIME, "{}");
+
+        assertNull(vendorReviewResponseCache.get("clientReferenceGroupId-https://other.example.com"));
+    }
+
+    @Test
+    public void responseOfAnOlderReviewIsNotBuiltFromANewerReview() {
+        vendorReviewResponseCache.put(KEY, REVIEW_START_TIME, REVIEW_END_TIME, "{}");
+        final CachedVendorReviewResponse response = vendorReviewResponseCache.get(KEY);
+
+        // A newer review started, and then completed
+        assertFalse(vendorReviewResponseCache.isBuiltFrom(response, 3_000L, null));
+        assertFalse(vendorReviewResponseCache.isBuiltFrom(response, 3_000L, 4_000L));
+        // The same review completed after the response was cached
+        assertFalse(vendorReviewResponseCache.isBuiltFrom(response, REVIEW_START_TIME, 4_000L));
+    }
+
+    @Test
+    public void responseOfAnInProgressReviewIsOnlyBuiltFromThatReview() {
+        vendorReviewResponseCache.put(KEY, REVIEW_START_TIME, null, "{}");
+        final CachedVendorReviewResponse response = vendorReviewResponseCache.get(KEY);
+
+        assertTrue(vendorReviewResponseCache.isBuiltFrom(response, REVIEW_START_TIME, null));
+        assertFalse(vendorReviewResponseCache.isBuiltFrom(response, REVIEW_START_TIME, REVIEW_END_TIME));
+    }
+
+    @Test
+    public void responseOfANewerReviewReplacesTheCachedResponse() {
+        vendorReviewResponseCache.put(KEY, REVIEW_START_TIME, REVIEW_END_TIME, "{\"status\":\"COMPLIANT\"}");
+        vendorReviewResponseCache.put(KEY, 3_000L, 4_000L, "{\"status\":\"NON_COMPLIANT\"}");
+
+        final CachedVendorReviewResponse response = vendorReviewResponseCache.get(KEY);
+
+        assertEquals("{\"status\":\"NON_COMPLIANT\"}", response.getResponseBody());
+        assertTrue(vendorReviewResponseCache.isBuiltFrom(response, 3_000L, 4_000L));
+        assertFalse(vendorReviewResponseCache.isBuiltFrom(response, REVIEW_START_TIME, REVIEW_END_TIME));
+    }
+}
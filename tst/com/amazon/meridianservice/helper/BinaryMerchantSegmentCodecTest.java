@@ -0,0 +1,124 @@
+package com.amazon.meridianservice.helper;
+
+import com.amazon.meridianservice.exceptions.MeridianServiceNonRetryableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class BinaryMerchantSegmentCodecTest {
+
+    private static final byte[] MAGIC_WITHOUT_COMPRESSION = {'M', 'S', 'C', '1', 0};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryMerchantSegmentCodec codec = new BinaryMerchantSegmentCodec(objectMapper, false);
+    private final BinaryMerchantSegmentCodec compressingCodec = new BinaryMerchantSegmentCodec(objectMapper, true);
+
+    @Test
+    public void segmentRoundTripsWithoutCompression() {
+        final Map<String, List<String>> segment = segment();
+
+        assertEquals(segment, codec.decode(codec.encode(segment)));
+    }
+
+    @Test
+    public void segmentRoundTripsWithCompression() {
+        final Map<String, List<String>> segment = segment();
+        final byte[] content = compressingCodec.encode(segment);
+
+        // The gzip header follows the magic bytes and the flags byte
+        assertEquals((byte) 0x1f, content[MAGIC_WITHOUT_COMPRESSION.length]);
+        assertEquals((byte) 0x8b, content[MAGIC_WITHOUT_COMPRESSION.length + 1]);
+        assertEquals(segment, compressingCodec.decode(content));
+        // The flags byte tells the decoder how the segment was written
+        assertEquals(segment, codec.decode(content));
+        assertEquals(segment, compressingCodec.decode(codec.encode(segment)));
+    }
+
+    @Test
+    public void emptySegmentRoundTrips() {
+        assertEquals(Collections.emptyMap(), codec.decode(codec.encode(Collections.emptyMap())));
+        assertEquals(Collections.emptyMap(), compressingCodec.decode(compressingCodec.encode(Collections.emptyMap())));
+    }
+
+    @Test
+    public void legacyJsonSegmentIsDecoded() throws Exception {
+        final Map<String, List<String>> segment = segment();
+        final byte[] content = objectMapper.writeValueAsBytes(segment);
+
+        assertEquals(segment, codec.decode(content));
+        assertEquals(segment, compressingCodec.decode(content));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void malformedLegacyJsonSegmentIsRejected() {
+        codec.decode("{\"ATVPDKIKX0DER\":".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void truncatedVarintIsRejected() {
+        // A marketplace count with a continuation bit and no following byte
+        codec.decode(content(0x80));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void truncatedSegmentIsRejected() {
+        final byte[] content = codec.encode(segment());
+
+        codec.decode(Arrays.copyOf(content, content.length - 1));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void truncatedCompressedSegmentIsRejected() {
+        final byte[] content = compressingCodec.encode(segment());
+
+        compressingCodec.decode(Arrays.copyOf(content, content.length - 4));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void negativeVarintIsRejected() {
+        // -1 as a 5 byte varint
+        codec.decode(content(0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void varintLongerThanAnIntIsRejected() {
+        codec.decode(content(0x80, 0x80, 0x80, 0x80, 0x80, 0x01));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void countLargerThanTheSegmentIsRejected() {
+        // 1000 marketplaces in a 2 byte payload
+        codec.decode(content(0xE8, 0x07));
+    }
+
+    @Test(expected = MeridianServiceNonRetryableException.class)
+    public void stringLengthLargerThanTheSegmentIsRejected() {
+        // 1 marketplace with an id of 100 bytes
+        codec.decode(content(0x01, 0x64, 'A'));
+    }
+
+    private static Map<String, List<String>> segment() {
+        final Map<String, List<String>> segment = new HashMap<>();
+        segment.put("ATVPDKIKX0DER", Arrays.asList("A1MERCHANT", "A2MERCHANT", "A1MERCHANT"));
+        segment.put("A1F83G8C2ARO7P", Collections.singletonList("A3MERCHANT\u00DC"));
+        segment.put("A1PA6795UKMFR9", Collections.emptyList());
+        return segment;
+    }
+
+    private static byte[] content(final int... payload) {
+        final byte[] content = Arrays.copyOf(MAGIC_WITHOUT_COMPRESSION, MAGIC_WITHOUT_COMPRESSION.length
+                + payload.length);
+        for (int index = 0; index < payload.length; index++) {
+            content[MAGIC_WITHOUT_COMPRESSION.length + index] = (byte) payload[index];
+        }
+        return content;
+    }
+}